@@ -0,0 +1,146 @@
+package com.braithiar.blackjack.bench;
+
+import com.braithiar.blackjack.ByteDeck;
+import com.braithiar.blackjack.Deck;
+import com.braithiar.blackjack.Player;
+import com.braithiar.blackjack.PlayingCard;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+  Measures <code>Deck</code> construction, shuffling, drawing and dealing, with <code>ByteDeck</code> alongside as the primitive reference. Run with <code>-prof gc</code> to see the allocation rate of each operation.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeckBenchmark {
+  private final SplittableRandom rng = new SplittableRandom(42);
+
+  /**
+    Long-lived deck for the shuffle benchmarks. Shuffling never removes cards, so it can be reused.
+  */
+  private final Deck shuffled = new Deck();
+
+  private final ByteDeck byteDeck = new ByteDeck();
+
+  /**
+    Buffer for the opening cards of a full table: seven players and the dealer.
+  */
+  private final byte[] tableHands = new byte[16];
+
+  /**
+    A full deck and empty hands before every call, for the benchmarks that use up cards. It is kept apart from the benchmark's own state so only those benchmarks pay for the per-invocation setup. The deck is reset in place, so the setup allocates nothing that <code>-prof gc</code> would count against them.
+  */
+  @State(Scope.Thread)
+  public static class FreshDeck {
+    private final Deck deck = new Deck();
+
+    private final Player[] players = {
+      new Player(true, "Dealer"), new Player(false, "Player")
+    };
+
+    @Setup(Level.Invocation)
+    public void reset() {
+      for (Player p : this.players) {
+        p.resetHand();
+        p.resetScore();
+      }
+
+      this.deck.reset();
+    }
+  }
+
+  @Benchmark
+  public Deck construct() {
+    return new Deck();
+  }
+
+  @Benchmark
+  public Deck shuffleCollections() {
+    this.shuffled.shuffle();
+
+    return this.shuffled;
+  }
+
+  @Benchmark
+  public Deck shuffleGenerator() {
+    this.shuffled.shuffle(this.rng);
+
+    return this.shuffled;
+  }
+
+  /**
+    Draws all 52 cards from a fresh deck.
+  */
+  @Benchmark
+  public void drawAll(FreshDeck fresh, Blackhole bh) {
+    Deck deck = fresh.deck;
+
+    while (deck.getCardsRemaing() > 0) {
+      PlayingCard card = deck.draw();
+
+      bh.consume(card);
+    }
+  }
+
+  /**
+    Deals the opening two cards to a dealer and one player.
+  */
+  @Benchmark
+  public Player[] dealTwo(FreshDeck fresh) {
+    fresh.deck.deal(fresh.players, 2);
+
+    return fresh.players;
+  }
+
+  @Benchmark
+  public ByteDeck byteDeckResetAndShuffle() {
+    this.byteDeck.reset();
+    this.byteDeck.shuffle(this.rng);
+
+    return this.byteDeck;
+  }
+
+  /**
+    Draws all 52 cards from a <code>ByteDeck</code>, resetting it first.
+  */
+  @Benchmark
+  public int byteDeckDrawAll() {
+    ByteDeck deck = this.byteDeck;
+    int sum = 0;
+
+    deck.reset();
+
+    while (deck.getCardsRemaining() > 0) {
+      sum += deck.draw();
+    }
+
+    return sum;
+  }
+
+  /**
+    Deals the opening two cards to a full table of seven players and the dealer in one batch.
+  */
+  @Benchmark
+  public byte[] byteDeckDealRound() {
+    this.byteDeck.reset();
+    this.byteDeck.dealRound(this.tableHands, 8, 2);
+
+    return this.tableHands;
+  }
+}
@@ -0,0 +1,100 @@
+package com.braithiar.blackjack.bench;
+
+import com.braithiar.blackjack.Deck;
+import com.braithiar.blackjack.HandRenderer;
+import com.braithiar.blackjack.Player;
+import com.braithiar.blackjack.PlayingCard;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+  Measures building, rescoring and printing a <code>Player</code>'s hand, both as a string and through a reused <code>HandRenderer</code>. Run with <code>-prof gc</code> to see the allocation rate of each operation.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PlayerBenchmark {
+  /**
+    Number of face up cards in the hand.
+  */
+  @Param({"2", "5"})
+  private int handSize;
+
+  private PlayingCard[] cards;
+
+  private final Player player = new Player(false, "Player");
+
+  /**
+    Player holding <code>handSize</code> cards for the read-only benchmarks.
+  */
+  private final Player dealt = new Player(false, "Player");
+
+  private final HandRenderer renderer = new HandRenderer();
+
+  private final OutputStream sink = OutputStream.nullOutputStream();
+
+  @Setup
+  public void setUp() {
+    Deck deck = new Deck();
+
+    deck.shuffle(new SplittableRandom(42));
+    this.cards = new PlayingCard[this.handSize];
+
+    for (int i = 0; i < this.handSize; ++i) {
+      this.cards[i] = deck.draw();
+      this.dealt.addToHand(this.cards[i]);
+    }
+  }
+
+  /**
+    Fills an empty hand one card at a time.
+  */
+  @Benchmark
+  public int addToHand() {
+    Player p = this.player;
+
+    p.resetHand();
+    p.resetScore();
+
+    for (PlayingCard c : this.cards) {
+      p.addToHand(c);
+    }
+
+    return p.getScore();
+  }
+
+  @Benchmark
+  public int recalculateScore() {
+    this.dealt.recalculateScore();
+
+    return this.dealt.getScore();
+  }
+
+  @Benchmark
+  public String playerToString() {
+    return this.dealt.toString();
+  }
+
+  @Benchmark
+  public int renderHand() throws IOException {
+    this.renderer.clear().appendPlayer(this.dealt).writeTo(this.sink);
+
+    return this.renderer.length();
+  }
+}
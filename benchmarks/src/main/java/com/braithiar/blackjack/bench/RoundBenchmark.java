@@ -0,0 +1,106 @@
+package com.braithiar.blackjack.bench;
+
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import com.braithiar.blackjack.sim.BatchSimulation;
+import com.braithiar.blackjack.sim.FastSimulationEngine;
+import com.braithiar.blackjack.sim.Outcome;
+import com.braithiar.blackjack.sim.PlayerStrategy;
+import com.braithiar.blackjack.sim.SimulationEngine;
+import com.braithiar.blackjack.sim.SimulationResult;
+import com.braithiar.blackjack.sim.Table;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+  Measures complete headless rounds: deal, player turn, dealer turn and settlement. Run with <code>-prof gc</code> to compare the per-round allocation of the object and primitive engines.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoundBenchmark {
+  private final SimulationEngine objectEngine =
+    new SimulationEngine(PlayerStrategy.mimicDealer(), new SplittableRandom(42));
+
+  private final FastSimulationEngine fastEngine =
+    new FastSimulationEngine(PlayerStrategy.mimicDealer(), new SplittableRandom(42));
+
+  private final FastSimulationEngine shoeEngine =
+    new FastSimulationEngine(PlayerStrategy.mimicDealer(), new Shoe(6, 0.75, new SplittableRandom(42)));
+
+  private final BatchSimulation batch =
+    new BatchSimulation(PlayerStrategy.mimicDealer(), rng -> new Shoe(6, 0.75, rng), Rules.CLASSIC, new SplittableRandom(42));
+
+  private final Table fullTable = newFullTable(Rules.CLASSIC);
+
+  private final Table standardTable = newFullTable(Rules.STANDARD.withSurrender(true));
+
+  @Benchmark
+  public Outcome objectRound() {
+    return this.objectEngine.playRound();
+  }
+
+  @Benchmark
+  public Outcome fastRound() {
+    return this.fastEngine.playRound();
+  }
+
+  /**
+    Six-deck shoe dealt to 75% penetration, so the shuffle is paid once per shoe instead of once per round.
+  */
+  @Benchmark
+  public Outcome shoeRound() {
+    return this.shoeEngine.playRound();
+  }
+
+  /**
+    The same six-deck shoe rounds played a batch of lanes at a time; one operation is one lane's round.
+  */
+  @Benchmark
+  @OperationsPerInvocation(BatchSimulation.DEFAULT_LANES)
+  public SimulationResult batchRound() {
+    return this.batch.run(BatchSimulation.DEFAULT_LANES);
+  }
+
+  /**
+    Seven seats and the dealer from one six-deck shoe; one operation is a round of seven hands.
+  */
+  @Benchmark
+  public Outcome fullTableRound() {
+    this.fullTable.playRound();
+
+    return this.fullTable.getOutcome(Table.MAX_SEATS - 1);
+  }
+
+  /**
+    The same full table played by casino rules with naturals, doubling, splitting and surrender all offered.
+  */
+  @Benchmark
+  public Outcome standardRulesRound() {
+    this.standardTable.playRound();
+
+    return this.standardTable.getOutcome(Table.MAX_SEATS - 1);
+  }
+
+  private static Table newFullTable(Rules rules) {
+    PlayerStrategy[] seats = new PlayerStrategy[Table.MAX_SEATS];
+
+    Arrays.fill(seats, PlayerStrategy.mimicDealer());
+
+    return new Table(seats, new Shoe(6, 0.75, new SplittableRandom(42)), rules);
+  }
+}
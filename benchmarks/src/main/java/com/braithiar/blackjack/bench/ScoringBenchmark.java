@@ -0,0 +1,118 @@
+package com.braithiar.blackjack.bench;
+
+import com.braithiar.blackjack.Deck;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+  Compares the original string-switch scoring of <code>Player.assignScore</code>, rerun over the whole hand after every draw, with the ordinal-indexed <code>Rank.getPoints()</code> table feeding an incremental <code>HandTotal</code>.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ScoringBenchmark {
+  /**
+    Number of face up cards in the scored hand.
+  */
+  @Param({"2", "3", "5"})
+  private int handSize;
+
+  private PlayingCard[] hand;
+
+  private final HandTotal total = new HandTotal();
+
+  @Setup
+  public void setUp() {
+    Deck deck = new Deck();
+
+    deck.shuffle(new SplittableRandom(42));
+    this.hand = new PlayingCard[this.handSize];
+
+    for (int i = 0; i < this.handSize; ++i) {
+      this.hand[i] = deck.draw();
+    }
+  }
+
+  /**
+    Original behavior: every draw is followed by <code>recalculateScore</code>, which rescores the whole hand through the string switch.
+  */
+  @Benchmark
+  public int stringSwitchRecalculate() {
+    int score = 0;
+
+    for (int drawn = 1; drawn <= this.hand.length; ++drawn) {
+      score = 0;
+
+      for (int i = 0; i < drawn; ++i) {
+        score = legacyAssignScore(score, this.hand[i]);
+      }
+    }
+
+    return score;
+  }
+
+  /**
+    New behavior: every draw adds one table lookup to the running total.
+  */
+  @Benchmark
+  public int rankTableIncremental() {
+    HandTotal total = this.total;
+
+    total.reset();
+
+    for (PlayingCard c : this.hand) {
+      total.add(c.getRank());
+    }
+
+    return total.getScore();
+  }
+
+  /**
+    Copy of the string switch <code>Player.assignScore</code> used before the rank value table.
+  */
+  private static int legacyAssignScore(int score, PlayingCard card) {
+    switch (card.getRankAsString()) {
+      case "King":
+      case "Queen":
+      case "Jack":
+      case "Ten":
+        return score + 10;
+      case "Nine":
+        return score + 9;
+      case "Eight":
+        return score + 8;
+      case "Seven":
+        return score + 7;
+      case "Six":
+        return score + 6;
+      case "Five":
+        return score + 5;
+      case "Four":
+        return score + 4;
+      case "Three":
+        return score + 3;
+      case "Two":
+        return score + 2;
+      case "Ace":
+        return score <= 10 ? score + 11 : score + 1;
+      default:
+        return score;
+    }
+  }
+}
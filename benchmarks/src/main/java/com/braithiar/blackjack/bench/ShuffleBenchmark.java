@@ -0,0 +1,63 @@
+package com.braithiar.blackjack.bench;
+
+import com.braithiar.blackjack.Shoe;
+import com.braithiar.blackjack.ShuffleMode;
+import com.braithiar.blackjack.random.RandomAlgorithm;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+  Measures the cost of reshuffling a shoe and dealing a typical round's worth of cards from it, for each generator and shuffle mode.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ShuffleBenchmark {
+  /**
+    Cards dealt after each reshuffle; five is about what a heads-up round uses.
+  */
+  private static final int CARDS_PER_ROUND = 5;
+
+  @Param({"SPLITTABLE", "XOSHIRO", "PCG"})
+  private RandomAlgorithm algorithm;
+
+  @Param({"EAGER", "LAZY"})
+  private ShuffleMode mode;
+
+  @Param({"1", "6"})
+  private int decks;
+
+  private Shoe shoe;
+
+  @Setup
+  public void setUp() {
+    this.shoe = new Shoe(this.decks, 0.0, this.algorithm.create(42), this.mode);
+  }
+
+  @Benchmark
+  public int reshuffleAndDeal() {
+    Shoe shoe = this.shoe;
+    int sum = 0;
+
+    shoe.shuffle();
+
+    for (int i = 0; i < CARDS_PER_ROUND; ++i) {
+      sum += shoe.draw();
+    }
+
+    return sum;
+  }
+}
@@ -0,0 +1,145 @@
+package com.braithiar.blackjack.bench;
+
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.analysis.CompiledStrategy;
+import com.braithiar.blackjack.analysis.StrategyChart;
+import com.braithiar.blackjack.sim.Action;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+  Measures one basic strategy decision, read from the chart's text the way the console reads a player's command and from the compiled lookup array, over a fixed mix of dealt hands.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StrategyBenchmark {
+  /**
+    Number of hands decided per invocation.
+  */
+  private static final int HANDS = 1024;
+
+  private static final Rules RULES = Rules.STANDARD.withSurrender(true);
+
+  private final HandTotal[] hands = new HandTotal[HANDS];
+  private final PlayingCard.Rank[] upCards = new PlayingCard.Rank[HANDS];
+  private final int[] options = new int[HANDS];
+
+  private StrategyChart chart;
+  private CompiledStrategy compiled;
+
+  @Setup
+  public void setUp() {
+    SplittableRandom rng = new SplittableRandom(42);
+    PlayingCard.Rank[] ranks = PlayingCard.Rank.values();
+    int offered = Action.ALWAYS | Action.DOUBLE.bit() | Action.SURRENDER.bit();
+
+    this.chart = StrategyChart.basic();
+    this.compiled = this.chart.compile(RULES);
+
+    for (int i = 0; i < HANDS; ++i) {
+      PlayingCard.Rank first = ranks[rng.nextInt(ranks.length)];
+      PlayingCard.Rank second = ranks[rng.nextInt(ranks.length)];
+
+      this.hands[i] = new HandTotal();
+      this.hands[i].add(first);
+      this.hands[i].add(second);
+      this.upCards[i] = ranks[rng.nextInt(ranks.length)];
+      this.options[i] = first.getPoints() == second.getPoints() ? offered | Action.SPLIT.bit() : offered;
+    }
+  }
+
+  /**
+    Builds the row label, looks the cell up by name and switches on its code.
+  */
+  @Benchmark
+  @OperationsPerInvocation(HANDS)
+  public int chartText() {
+    int sum = 0;
+
+    for (int i = 0; i < HANDS; ++i) {
+      sum += this.decideFromText(this.hands[i], this.upCards[i], this.options[i]).ordinal();
+    }
+
+    return sum;
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(HANDS)
+  public int compiled() {
+    int sum = 0;
+
+    for (int i = 0; i < HANDS; ++i) {
+      sum += this.compiled.decide(this.hands[i], this.upCards[i], null, this.options[i]).ordinal();
+    }
+
+    return sum;
+  }
+
+  private Action decideFromText(HandTotal hand, PlayingCard.Rank upCard, int options) {
+    String code = null;
+
+    if (Action.SPLIT.isAllowed(options)) {
+      code = this.chart.getCode("P" + (hand.isSoft() ? "A" : Integer.toString(hand.getScore() / 2)), upCard);
+    }
+
+    if (code == null) {
+      code = this.totalCode(hand, upCard);
+    }
+
+    switch (code.toLowerCase()) {
+      case "h":
+        return Action.HIT;
+      case "s":
+        return Action.STAND;
+      case "d":
+        return Action.DOUBLE.isAllowed(options) ? Action.DOUBLE : Action.HIT;
+      case "ds":
+        return Action.DOUBLE.isAllowed(options) ? Action.DOUBLE : Action.STAND;
+      case "p":
+        return Action.SPLIT;
+      case "ph":
+        return RULES.isDoubleAfterSplit() ? Action.SPLIT : this.totalAction(hand, upCard, options);
+      case "rh":
+        return Action.SURRENDER.isAllowed(options) ? Action.SURRENDER : Action.HIT;
+      case "rs":
+        return Action.SURRENDER.isAllowed(options) ? Action.SURRENDER : Action.STAND;
+      default:
+        return Action.SURRENDER.isAllowed(options) ? Action.SURRENDER : Action.SPLIT;
+    }
+  }
+
+  private Action totalAction(HandTotal hand, PlayingCard.Rank upCard, int options) {
+    switch (this.totalCode(hand, upCard).toLowerCase()) {
+      case "h":
+      case "rh":
+        return Action.HIT;
+      case "d":
+        return Action.DOUBLE.isAllowed(options) ? Action.DOUBLE : Action.HIT;
+      default:
+        return Action.STAND;
+    }
+  }
+
+  private String totalCode(HandTotal hand, PlayingCard.Rank upCard) {
+    int score = Math.max(hand.getScore(), hand.isSoft() ? 13 : 5);
+
+    return this.chart.getCode((hand.isSoft() ? "S" : "H") + score, upCard);
+  }
+}
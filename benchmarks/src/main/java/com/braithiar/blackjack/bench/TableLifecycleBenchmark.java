@@ -0,0 +1,102 @@
+package com.braithiar.blackjack.bench;
+
+import com.braithiar.blackjack.Deck;
+import com.braithiar.blackjack.ObjectPool;
+import com.braithiar.blackjack.Player;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+  Measures a round of the console game, where both hands play to 17, with the table's objects built fresh each round, reset in place or taken from an <code>ObjectPool</code>. Run with <code>-prof gc</code> to check that the reused tables allocate nothing per round.
+*/
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TableLifecycleBenchmark {
+  private static final int STAND = 17;
+
+  private final SplittableRandom rng = new SplittableRandom(42);
+
+  private final Deck deck = new Deck();
+
+  private final Player[] players = {
+    new Player(true, "Dealer"), new Player(false, "Player")
+  };
+
+  private final ObjectPool<Deck> decks = new ObjectPool<>(Deck::new, Deck::reset, 1);
+
+  /**
+    Builds a new deck and players for the round, as the console game used to.
+  */
+  @Benchmark
+  public int newPerRound() {
+    Player[] table = {
+      new Player(true, "Dealer"), new Player(false, "Player")
+    };
+
+    return this.play(table, new Deck());
+  }
+
+  /**
+    Resets the table's deck and hands in place, as the console game and each server session do between rounds.
+  */
+  @Benchmark
+  public int resetInPlace() {
+    for (Player p : this.players) {
+      p.resetHand();
+      p.resetScore();
+    }
+
+    this.deck.reset();
+
+    return this.play(this.players, this.deck);
+  }
+
+  /**
+    Takes the deck from a pool and returns it after a single round, as a server session does when a player connects, plays one round and leaves. This is the most a session can churn the pool. A session that stays keeps its deck and pays only what <code>resetInPlace</code> does each round.
+  */
+  @Benchmark
+  public int pooled() {
+    Deck d = this.decks.acquire();
+
+    for (Player p : this.players) {
+      p.resetHand();
+      p.resetScore();
+    }
+
+    int result = this.play(this.players, d);
+
+    this.decks.release(d);
+
+    return result;
+  }
+
+  private int play(Player[] table, Deck d) {
+    d.shuffle(this.rng);
+    d.deal(table, 2);
+
+    while (table[1].getScore() < STAND) {
+      table[1].addToHand(d.draw());
+    }
+
+    table[0].dealerReveal();
+
+    while (table[0].getScore() < STAND) {
+      table[0].addToHand(d.draw());
+    }
+
+    return Integer.compare(table[1].getScore(), table[0].getScore());
+  }
+}
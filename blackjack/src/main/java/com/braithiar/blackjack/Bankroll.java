@@ -0,0 +1,138 @@
+package com.braithiar.blackjack;
+
+/**
+  A player's chips. Amounts are kept in <code>Rules.TENTHS</code> of a unit so that 3:2 and 6:5 payouts and surrendered half bets stay exact. A bet is taken out of the bankroll when it is placed, and whatever the hand returns (nothing, the stake, or the stake plus winnings) is paid back in when it is settled.
+  <p>
+  A bankroll belongs to one player and is not thread-safe; aggregate results across tables belong in a <code>Ledger</code>.
+  */
+public final class Bankroll {
+  /**
+    The chips a player sits down with at the console or server table.
+  */
+  public static final long DEFAULT_UNITS = 100;
+
+  /**
+    The bet the console and server tables place for the player each round.
+  */
+  public static final int TABLE_BET = 1;
+
+  /**
+    Chips not on the table, in tenths.
+  */
+  private long balanceTenths;
+
+  /**
+    Chips bet on the hand in play, in tenths.
+  */
+  private long stakeTenths;
+
+  /**
+    Constructs a <code>Bankroll</code> holding <code>units</code> chips.
+
+    @param units the starting balance, at least 0.
+  */
+  public Bankroll(long units) {
+    if (units < 0) {
+      throw buildIllegalAmountException(units);
+    }
+
+    this.balanceTenths = units * Rules.TENTHS;
+    this.stakeTenths = 0;
+  }
+
+  /**
+    Returns true if the balance covers a bet of <code>units</code>.
+
+    @param units the size of the bet.
+    @return true if the bet can be placed.
+  */
+  public boolean canCover(int units) {
+    return units >= 0 && (long) units * Rules.TENTHS <= this.balanceTenths;
+  }
+
+  /**
+    Moves <code>units</code> from the balance onto the hand in play. Doubling down places a second bet the same way.
+
+    @param units the size of the bet.
+  */
+  public void placeBet(int units) {
+    if (units < 1) {
+      throw buildIllegalAmountException(units);
+    }
+
+    if (!this.canCover(units)) {
+      throw buildInsufficientFundsException(units, this.balanceTenths);
+    }
+
+    this.balanceTenths -= (long) units * Rules.TENTHS;
+    this.stakeTenths += (long) units * Rules.TENTHS;
+  }
+
+  /**
+    Settles the hand in play, paying <code>returnTenths</code> back into the balance. A loss returns 0, a push returns the stake, and a win returns the stake plus the winnings.
+
+    @param returnTenths what the hand pays back, in tenths.
+    @return the net result of the hand, in tenths.
+  */
+  public long settle(long returnTenths) {
+    if (returnTenths < 0) {
+      throw buildIllegalAmountException(returnTenths);
+    }
+
+    long net = returnTenths - this.stakeTenths;
+
+    this.balanceTenths += returnTenths;
+    this.stakeTenths = 0;
+
+    return net;
+  }
+
+  /**
+    Returns the chips not on the table, in tenths.
+
+    @return the balance in tenths.
+  */
+  public long getBalanceTenths() {
+    return this.balanceTenths;
+  }
+
+  /**
+    Returns the chips not on the table.
+
+    @return the balance in units.
+  */
+  public double getBalance() {
+    return (double) this.balanceTenths / Rules.TENTHS;
+  }
+
+  /**
+    Returns the chips bet on the hand in play, in tenths.
+
+    @return the stake in tenths.
+  */
+  public long getStakeTenths() {
+    return this.stakeTenths;
+  }
+
+  /**
+    Converts <code>Bankroll</code> to its balance, with the stake in play if there is one.
+  */
+  @Override
+  public String toString() {
+    String s = "Chips: " + this.getBalance();
+
+    if (this.stakeTenths > 0) {
+      s += " (Bet: " + (double) this.stakeTenths / Rules.TENTHS + ")";
+    }
+
+    return s;
+  }
+
+  private static final IllegalArgumentException buildIllegalAmountException(long amount) {
+    return new IllegalArgumentException(amount + " is not a valid amount. Bets must be at least 1 and balances and returns at least 0.");
+  }
+
+  private static final IllegalStateException buildInsufficientFundsException(int units, long balanceTenths) {
+    return new IllegalStateException("A bet of " + units + " cannot be placed with only " + (double) balanceTenths / Rules.TENTHS + " chips remaining.");
+  }
+}
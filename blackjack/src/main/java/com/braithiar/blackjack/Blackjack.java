@@ -1,11 +1,40 @@
 package com.braithiar.blackjack;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
 import java.util.Scanner;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 
 class Blackjack {
+  /**
+    The pause in milliseconds after each step of the dealer's turn when none is given.
+  */
+  private static final long DEFAULT_DEALER_PACING_MILLIS = 2000;
+
+  /**
+    Renders the hands shown between turns, encoded the same way as <code>System.out</code>.
+  */
+  private static final HandRenderer RENDERER = new HandRenderer(consoleCharset());
+
   public static void main(String[] args) {
     boolean displayMenu = true;
     Scanner input = new Scanner(System.in);
+    long dealerPacingMillis = args.length > 0 ? Long.parseLong(args[0]) : DEFAULT_DEALER_PACING_MILLIS;
+
+    if (dealerPacingMillis < 0) {
+      throw buildIllegalPacingException(dealerPacingMillis);
+    }
+
+    //A daemon thread, so the game still exits if it ends with an exception.
+    ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "dealer-pacing");
+
+      t.setDaemon(true);
+
+      return t;
+    });
     
     printBanner();
     
@@ -14,7 +43,7 @@ class Blackjack {
 
       switch (option) {
         case "1":
-          playBlackjack(input);
+          playBlackjack(input, scheduler, dealerPacingMillis);
           break;
         case "2":
           printRules();
@@ -26,6 +55,7 @@ class Blackjack {
       
     } while (displayMenu);
 
+    scheduler.shutdown();
     input.close();
   }
 
@@ -40,17 +70,16 @@ class Blackjack {
     boolean invalid = true;
     
     do {      
-      System.out.println("  \nSelect one of the following options: " + 
-                          "1) Start Game\t 2) Rule\t 3) Exit");
+      System.out.println(GameText.MENU);
 
-      System.out.print("-->");      
+      System.out.print(GameText.PROMPT);      
        
       userOption = input.nextLine();      
 
       if (userOption.matches("1|2|3")) {
         invalid = false;
       } else {
-        System.out.println("\nPlease select option 1), 2), or 3). Please, try again...\n");
+        System.out.println(GameText.INVALID_MENU_OPTION);
       }
     } while (invalid);
 
@@ -61,53 +90,38 @@ class Blackjack {
     Prints the BLACKJACK game banner when the game starts.
   */
   private static void printBanner() {
-    System.out.println(
-      "\n     _______________\n\n" +
-      "        BLACKJACK   \n" +
-      "     _______________\n" +
-      "\n\nLet's play some Blackjack!\n"
-      
-    );
+    System.out.println(GameText.BANNER);
   }
 
   /**
     Prints the rules for this version of blackjack.
   */
   private static void printRules() {
-    System.out.println("\n\n     ___________\n\n" + 
-                       "        RULES   \n     ___________\n\n" + 
-                       "\tYou will play against the dealer. Both of you will be dealt " +
-                      "2 cards; yours will be face up. While only one of the dealer's " +
-                      "cards will be face up for you to see.\n\n" +
-                      "\tThe goal of the game is to get as close to a score of 21" +
-                      " without going over. You will go first. You can either hit, " +
-                      "to draw another card, or stay, to keep your current hand. " +
-                      "Then the dealer will then take their turn. " +
-                       "The dealer will always stay on a 17 or great" +
-                       "er. Going over 21 is an instant loss for you" +
-                       "or the dealer.\n\n" +
-                      "\tCard values are as follows:\n" +
-                      "\t\t*All face cards are 10 points\n" +
-                      "\t\t*Aces are worth either 1 or 11 points\n" +
-                      "\t\t*All other cards are worth their value in points");               
+    System.out.println(GameText.RULES);
   }
 
   /**
     Game logic for a game of blackjack.
 
     @param input the input <code>Scanner</code> to be used for the game.
+    @param scheduler the scheduler pacing the dealer's turn.
+    @param dealerPacingMillis the pause after each step of the dealer's turn.
   */
-  private static void playBlackjack(Scanner input) {
+  private static void playBlackjack(Scanner input, ScheduledExecutorService scheduler, long dealerPacingMillis) {
     Player[] players = {
-      new Player(true, "Dealer"), new Player(false, "Player")
+      new Player(true, "Dealer"), new Player(false, "Player", new Bankroll(Bankroll.DEFAULT_UNITS))
     };
+    Deck deck = new Deck();
     boolean playing = true;
     
     do {
-      //Make new deck and shuffle.
-      Deck deck = new Deck();
-      
-      deck.shuffle();
+      //Place the table bet, or stop if the player can't cover it.
+      if (!players[1].getBankroll().canCover(Bankroll.TABLE_BET)) {
+        System.out.println(GameText.OUT_OF_CHIPS);
+        break;
+      }
+
+      players[1].placeBet(Bankroll.TABLE_BET);
 
       //Clear the players' hands and scores if this isn't the first game.
       if (players[0].getHandSize() > 0 || players[1].getHandSize() > 0) {
@@ -116,6 +130,10 @@ class Blackjack {
           p.resetScore();
         }        
       }
+
+      //Put the deck back together and shuffle.
+      deck.reset();
+      deck.shuffle();
       
       //Deal
       deck.deal(players, 2);
@@ -124,11 +142,7 @@ class Blackjack {
       playerTurn(players, deck, input);
 
       //Dealer's turn
-      try {
-        dealerTurn(players, deck, input);
-      } catch (InterruptedException ie) {
-        ie.printStackTrace();
-      }
+      dealerTurn(players, deck, scheduler, dealerPacingMillis);
 
       //Determine winner
       playing = settleGame(players, input);
@@ -143,7 +157,7 @@ class Blackjack {
     @return true if the player has exceeded 21.
   */
   private static boolean isBust(Player p) {
-    if (p.getScore() > 21) {
+    if (p.getScore() > HandTotal.MAX_SCORE) {
       return true;
     }
 
@@ -159,8 +173,8 @@ class Blackjack {
   private static String getPlayerInput(Scanner input) {
     String in = "";    
     
-    System.out.println("\n\n(H)it or (S)tay?\n");
-    System.out.print("-->");
+    System.out.println(GameText.HIT_OR_STAY);
+    System.out.print(GameText.PROMPT);
         
     in = input.nextLine();  
     
@@ -182,8 +196,7 @@ class Blackjack {
       case "stay":
          return true;
       default:
-         System.out.println("\nThat was not one of the options. " + 
-                            "Please, try again...");
+         System.out.println(GameText.INVALID_HIT_OR_STAY);
          return false;
     }
   }
@@ -210,7 +223,6 @@ class Blackjack {
           case "hit":
             System.out.println("\n" + players[1].getName() + " hits!");
             players[1].addToHand(deck.draw());
-            players[1].recalculateScore(); //In case value of Ace changed.
             if (isBust(players[1])) {
               playerTurn = false;
               System.out.println("\nUh oh!\n");
@@ -227,52 +239,45 @@ class Blackjack {
   }
 
   /**
-    Game logic for the dealer's turn. Stays on 17 or higher.
+    Game logic for the dealer's turn. Stays on 17 or higher. The turn is planned as a <code>DealerTimeline</code> and replayed with <code>dealerPacingMillis</code> between steps; the pauses wait on <code>scheduler</code>, so no thread sleeps through them.
 
     @param players the array of players in the game.
     @param deck the deck being used for the game.
-    @param input the input <code>Scanner</code> to be used.
-    @throws InterruptedException if Thread.sleep() is interrupted.
+    @param scheduler the scheduler pacing the dealer's turn.
+    @param dealerPacingMillis the pause after each step of the dealer's turn; 0 plays it straight through.
   */
-  private static void dealerTurn(Player[] players, Deck deck, Scanner input) throws InterruptedException {
-    boolean dealerTurn = true;
+  private static void dealerTurn(Player[] players, Deck deck, ScheduledExecutorService scheduler, long dealerPacingMillis) {
     //Get out of method if player already lost.
     if (isBust(players[1])) {
       printHands(players);
       return;
     }
-    
-    //Reveal dealer's hidden card
-    System.out.println("\nDealer reveals his card...\n");
-    players[0].dealerReveal();
-    players[0].recalculateScore(); //In case value of Ace changed
 
-    Thread.sleep(2000);
-    
-    while (dealerTurn && !isBust(players[0]) && !isBust(players[1])) {
-      int count = 0;
+    DealerTimeline.plan(players[0], deck)
+                  .replay(scheduler, dealerPacingMillis, (event, dealer) -> printDealerEvent(players, event))
+                  .join();
+  }
 
-      printHands(players);
+  /**
+    Prints one step of the dealer's turn.
 
-      Thread.sleep(2000);
-      
-      if (players[0].getScore() <= 16) {
-        if (count == 1) {
-          System.out.println("\n" + players[0].getName() + " wants another card!\n");
-        } else if (count > 1) {
-          System.out.println("\n" + players[0].getName() + "hits, again!\n");
-        } else {
-          System.out.println("\n" + players[0].getName() + " hits!");
-        }
-        players[0].addToHand(deck.draw());
-        players[0].recalculateScore();
-        ++count;
-      } else {
+    @param players the array of players in the game.
+    @param event the step of the dealer's turn that just happened.
+  */
+  private static void printDealerEvent(Player[] players, DealerTimeline.Event event) {
+    switch (event) {
+      case REVEAL:
+        System.out.println("\nDealer reveals his card...\n");
+        break;
+      case SHOW_HANDS:
+        printHands(players);
+        break;
+      case HIT:
+        System.out.println("\n" + players[0].getName() + " hits!");
+        break;
+      case STAY:
         System.out.println("\nDealer stays!");
-        dealerTurn = false;
-      }
-
-      Thread.sleep(2000);
+        break;
     }
   }
 
@@ -283,20 +288,28 @@ class Blackjack {
     @param input the input <code>Scanner</code> to be used.
   */
   private static boolean settleGame(Player[] players, Scanner input) {
+    long stake = players[1].getBankroll().getStakeTenths();
+
     if (isBust(players[1])) {
       System.out.println("\nBust! " + players[1].getName() + " Loses!\n");
       players[0].addWin();
+      players[1].settleBet(0);
     } else if (isBust(players[0])) {
       System.out.println("\nBust! " + players[0].getName() + " Loses!\n");
       players[1].addWin();
+      players[1].settleBet(stake * 2);
     } else if (players[0].getScore() > players[1].getScore()) {
       System.out.println("\n" + players[0].getName() + " Wins!\n");
       players[0].addWin();
+      players[1].settleBet(0);
     } else if (players[0].getScore() < players[1].getScore()) {
       System.out.println("\n" + players[1].getName() + " Wins!\n");
       players[1].addWin();
+      players[1].settleBet(stake * 2);
     } else if (players[0].getScore() == players[1].getScore()) {
       System.out.println("\nIt's a draw!\n");
+      players[1].addPush();
+      players[1].settleBet(stake);
     } else {
       System.out.println("...Something went wrong...");
     }
@@ -315,10 +328,9 @@ class Blackjack {
     boolean playing = true;
     
     do {      
-      System.out.println("  \nPlay again?: " + 
-                          "(Y)es or (N)o");
+      System.out.println(GameText.PLAY_AGAIN);
   
-      System.out.print("-->");
+      System.out.print(GameText.PROMPT);
       
       userOption = input.nextLine();      
   
@@ -334,7 +346,7 @@ class Blackjack {
           playing = false;
           break;
         default:
-          System.out.println("\nThat was neither yes, nor no. Please try again...");
+          System.out.println(GameText.INVALID_PLAY_AGAIN);
       }
     } while (invalid);
   
@@ -342,15 +354,30 @@ class Blackjack {
   }
 
   /**
-    Prints the players' hands.
+    Prints the players' hands as one frame, in a single write.
 
     @param players the array of players in the game.   
   */
   private static void printHands(Player[] players) {
-      System.out.println("\n\n\n");
-      for (Player p : players) {
-        p.showHand();
-      }
-      System.out.println("\n");
-      }
+    try {
+      RENDERER.renderHands(players).writeTo(System.out);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+    Returns the charset <code>System.out</code> encodes with: the console's, when the JVM was given one, otherwise the default.
+
+    @return the charset of <code>System.out</code>.
+  */
+  private static Charset consoleCharset() {
+    String encoding = System.getProperty("sun.stdout.encoding");
+
+    return encoding != null ? Charset.forName(encoding) : Charset.defaultCharset();
+  }
+
+  private static final IllegalArgumentException buildIllegalPacingException(long pacing) {
+    return new IllegalArgumentException(pacing + " is not a valid dealer pacing. It must be at least 0 milliseconds.");
+  }
 }
\ No newline at end of file
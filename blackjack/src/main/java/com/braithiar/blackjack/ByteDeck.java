@@ -0,0 +1,243 @@
+package com.braithiar.blackjack;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+  Allocation-free counterpart of <code>Deck</code>. Cards are encoded as bytes (see <code>Cards</code>) in a fixed array and dealt from a cursor, so a single <code>ByteDeck</code> can be reset and reshuffled for every round without creating any objects. The remaining count of every rank and the running count are updated as each card is drawn.
+*/
+public class ByteDeck implements Composition {
+  /**
+    The encoded cards of this deck. Cards before <code>cursor</code> have been drawn.
+  */
+  protected final byte[] cards;
+
+  /**
+    Index of the next card to draw.
+  */
+  protected int cursor;
+
+  /**
+    Remaining cards of each rank, indexed by <code>Rank.ordinal()</code>.
+  */
+  private final int[] rankCounts;
+
+  /**
+    The count of each rank in a full deck.
+  */
+  private final int fullRankCount;
+
+  /**
+    The counting system the running count is kept in.
+  */
+  private CountingSystem countingSystem;
+
+  /**
+    Tags of <code>countingSystem</code>, indexed by <code>Rank.ordinal()</code>.
+  */
+  private int[] countTags;
+
+  /**
+    Sum of the tags of every card drawn since the last reset.
+  */
+  private int runningCount;
+
+  /**
+    Constructs a <code>ByteDeck</code> of size <code>Deck.DECK_SIZE</code> in the same order as <code>Deck()</code>.
+  */
+  public ByteDeck() {
+    this(1);
+  }
+
+  /**
+    Constructor for invocation by subclass constructors. Builds <code>numDecks</code> standard decks back to back, each in the same order as <code>Deck()</code>.
+
+    @param numDecks the number of standard decks to combine.
+  */
+  protected ByteDeck(int numDecks) {
+    this.cards = new byte[numDecks * Deck.DECK_SIZE];
+    this.cursor = 0;
+    this.rankCounts = new int[PlayingCard.Rank.values().length];
+    this.fullRankCount = numDecks * PlayingCard.Suit.values().length;
+    this.countingSystem = CountingSystem.HI_LO;
+    this.countTags = CountingSystem.HI_LO.tags;
+    this.runningCount = 0;
+
+    Arrays.fill(this.rankCounts, this.fullRankCount);
+    fillInOrder();
+  }
+
+  /**
+    Draws a card from the top of this deck.
+
+    @return the drawn card, encoded as in <code>Cards</code>.
+  */
+  public byte draw() {
+    if (this.cursor < this.cards.length) {
+      return recordDrawn(this.cards[this.cursor++]);
+    } else {
+      throw buildEmptyDeckException();
+    }
+  }
+
+  /**
+    Draws <code>count</code> cards from the top of this deck into <code>dest</code>. The bounds are checked once, then the cards are copied in a single block.
+
+    @param dest the buffer to fill.
+    @param offset the index in <code>dest</code> of the first drawn card.
+    @param count the number of cards to draw.
+  */
+  public void draw(byte[] dest, int offset, int count) {
+    if (count < 0 || count > this.getCardsRemaining()) {
+      throw buildIllegalNumberOfCardsException(count);
+    }
+
+    System.arraycopy(this.cards, this.cursor, dest, offset, count);
+    this.cursor += count;
+
+    for (int i = offset, end = offset + count; i < end; ++i) {
+      recordDrawn(dest[i]);
+    }
+  }
+
+  /**
+    Deals the opening cards of a round to <code>seats</code> seats in one pass, in the same order as <code>Deck.deal</code>: one card to every seat, then the next. The cards are written round-major, so card <code>k</code> of seat <code>s</code> lands at <code>hands[k * seats + s]</code>.
+
+    @param hands the buffer to fill; it needs room for <code>seats * cardsEach</code> cards.
+    @param seats the number of seats, including the dealer's if the caller treats one seat as the dealer.
+    @param cardsEach the number of cards dealt to every seat.
+  */
+  public void dealRound(byte[] hands, int seats, int cardsEach) {
+    if (seats < 0 || cardsEach < 0) {
+      throw buildIllegalNumberOfCardsException(seats < 0 ? seats : cardsEach);
+    }
+
+    draw(hands, 0, seats * cardsEach);
+  }
+
+  /**
+    Returns every drawn card to this deck. The order of the cards is left as it was, so call <code>shuffle</code> afterwards to start a new round.
+  */
+  public void reset() {
+    this.cursor = 0;
+    this.runningCount = 0;
+    Arrays.fill(this.rankCounts, this.fullRankCount);
+  }
+
+  /**
+    Returns every drawn card to this deck and puts the cards back in the order they were constructed in, so that shuffling afterwards with a generator in a given state always produces the same order.
+  */
+  public void restoreOrder() {
+    reset();
+    fillInOrder();
+  }
+
+  /**
+    Shuffles the cards remaining in this deck in place with a Fisher-Yates pass driven by <code>rng</code>.
+
+    @param rng the random number generator to shuffle with.
+  */
+  public void shuffle(RandomGenerator rng) {
+    Shuffler.shuffle(this.cards, this.cursor, this.cards.length, rng);
+  }
+
+  @Override
+  public int getCardsRemaining() {
+    return this.cards.length - this.cursor;
+  }
+
+  /**
+    Returns the total number of cards in this deck, drawn or not.
+
+    @return this deck's size.
+  */
+  public int getSize() {
+    return this.cards.length;
+  }
+
+  @Override
+  public int getRemaining(PlayingCard.Rank rank) {
+    return this.rankCounts[rank.ordinal()];
+  }
+
+  /**
+    Returns the number of cards of the rank with the given ordinal left to deal, without going through the enum.
+
+    @param rankOrdinal the <code>Rank.ordinal()</code> to count.
+    @return the remaining number of cards of that rank.
+  */
+  public int getRemaining(int rankOrdinal) {
+    return this.rankCounts[rankOrdinal];
+  }
+
+  @Override
+  public CountingSystem getCountingSystem() {
+    return this.countingSystem;
+  }
+
+  /**
+    Switches the counting system the running count is kept in, recounting the cards already drawn.
+
+    @param countingSystem the new counting system.
+  */
+  public void setCountingSystem(CountingSystem countingSystem) {
+    this.countingSystem = countingSystem;
+    this.countTags = countingSystem.tags;
+    recount();
+  }
+
+  @Override
+  public int getRunningCount() {
+    return this.runningCount;
+  }
+
+  /**
+    Updates the rank index and running count for a card leaving the deck.
+
+    @param card the drawn card.
+    @return <code>card</code>, for chaining.
+  */
+  protected final byte recordDrawn(byte card) {
+    int rank = Cards.rankOrdinal(card);
+
+    --this.rankCounts[rank];
+    this.runningCount += this.countTags[rank];
+
+    return card;
+  }
+
+  /**
+    Rebuilds the rank index and running count from the cards before <code>cursor</code>, for subclasses that move drawn cards around.
+  */
+  protected final void recount() {
+    Arrays.fill(this.rankCounts, this.fullRankCount);
+    this.runningCount = 0;
+
+    for (int i = 0; i < this.cursor; ++i) {
+      recordDrawn(this.cards[i]);
+    }
+  }
+
+  /**
+    Lays the cards out as back to back standard decks, each in the same order as <code>Deck()</code>.
+  */
+  private void fillInOrder() {
+    int i = 0;
+
+    while (i < this.cards.length) {
+      for (PlayingCard.Suit s : PlayingCard.Suit.values()) {
+        for (PlayingCard.Rank r : PlayingCard.Rank.values()) {
+          this.cards[i++] = Cards.encode(r, s);
+        }
+      }
+    }
+  }
+
+  private static final IndexOutOfBoundsException buildEmptyDeckException() {
+    return new IndexOutOfBoundsException("There were no more cards to draw from the deck!");
+  }
+
+  private static final IllegalArgumentException buildIllegalNumberOfCardsException(int num) {
+    return new IllegalArgumentException(num + " is not a valid number of cards. It must be at least 0, and there must be enough cards remaining to deal it.");
+  }
+}
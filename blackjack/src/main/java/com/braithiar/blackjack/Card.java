@@ -0,0 +1,27 @@
+package com.braithiar.blackjack;
+
+/**
+<code>Card</code> is an abstracted class that specifies the minimum state and behaviors of a <code>Card</code>. A card is immutable and has no face up or face down state of its own: whether a card is showing belongs to the hand holding it, so one card object can be shared by any number of decks, shoes and tables.
+*/
+public abstract class Card {
+/**
+  This <code>Card</code>'s name.
+*/
+private final String cardName;
+
+/**
+  Constructor for invocation by subclass constructors.
+  @param name the name of the <code>Card</code>.
+*/
+protected Card(String name) { 
+  this.cardName = name;
+}
+
+/**
+  Returns the name of the card as set in <code>Card(String)</code>.
+  @return the name of the card.
+*/
+public String getCardName() {
+  return cardName;
+}
+}
\ No newline at end of file
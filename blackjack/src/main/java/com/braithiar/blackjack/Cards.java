@@ -0,0 +1,138 @@
+package com.braithiar.blackjack;
+
+/**
+  Static helpers for the primitive card encoding used on the simulation hot path. A card is a <code>byte</code> in the range 0-51 holding <code>rank.ordinal() &lt;&lt; 2 | suit.ordinal()</code>, so it can be stored in arrays and passed around without allocating a <code>PlayingCard</code>. <code>PlayingCard</code> and its <code>Rank</code>/<code>Suit</code> enums remain the display view of a card.
+*/
+public final class Cards {
+  /**
+    The number of distinct encoded cards.
+  */
+  public static final int CARD_COUNT = 52;
+
+  /**
+    Number of low bits holding the suit.
+  */
+  private static final int SUIT_BITS = 2;
+
+  /**
+    Mask selecting the suit bits.
+  */
+  private static final int SUIT_MASK = (1 << SUIT_BITS) - 1;
+
+  /**
+    Cached <code>Rank.values()</code>, so decoding never clones the enum array.
+  */
+  private static final PlayingCard.Rank[] RANKS = PlayingCard.Rank.values();
+
+  /**
+    Cached <code>Suit.values()</code>, so decoding never clones the enum array.
+  */
+  private static final PlayingCard.Suit[] SUITS = PlayingCard.Suit.values();
+
+  /**
+    Display names indexed by encoded card, built once so lookups do not concatenate.
+  */
+  private static final String[] NAMES = new String[CARD_COUNT];
+
+  static {
+    for (PlayingCard.Rank r : RANKS) {
+      for (PlayingCard.Suit s : SUITS) {
+        NAMES[encode(r, s)] = r.getRankValue() + " of " + s.getSuitSymbol();
+      }
+    }
+  }
+
+  private Cards() {
+  }
+
+  /**
+    Encodes a rank and suit as a primitive card.
+
+    @param rank the <code>Rank</code> of the card.
+    @param suit the <code>Suit</code> of the card.
+    @return the encoded card.
+  */
+  public static byte encode(PlayingCard.Rank rank, PlayingCard.Suit suit) {
+    return (byte) (rank.ordinal() << SUIT_BITS | suit.ordinal());
+  }
+
+  /**
+    Encodes <code>card</code> as a primitive card.
+
+    @param card the card to encode.
+    @return the encoded card.
+  */
+  public static byte encode(PlayingCard card) {
+    return encode(card.getRank(), card.getSuit());
+  }
+
+  /**
+    Returns the <code>Rank</code> ordinal of an encoded card: 0 for Ace through 12 for King.
+
+    @param card the encoded card.
+    @return the rank ordinal.
+  */
+  public static int rankOrdinal(byte card) {
+    return card >> SUIT_BITS;
+  }
+
+  /**
+    Returns the <code>Suit</code> ordinal of an encoded card.
+
+    @param card the encoded card.
+    @return the suit ordinal.
+  */
+  public static int suitOrdinal(byte card) {
+    return card & SUIT_MASK;
+  }
+
+  /**
+    Returns the <code>Rank</code> of an encoded card.
+
+    @param card the encoded card.
+    @return the card's rank.
+  */
+  public static PlayingCard.Rank getRank(byte card) {
+    return RANKS[rankOrdinal(card)];
+  }
+
+  /**
+    Returns the <code>Suit</code> of an encoded card.
+
+    @param card the encoded card.
+    @return the card's suit.
+  */
+  public static PlayingCard.Suit getSuit(byte card) {
+    return SUITS[suitOrdinal(card)];
+  }
+
+  /**
+    Returns true if the encoded card is an Ace.
+
+    @param card the encoded card.
+    @return true if the card is an Ace.
+  */
+  public static boolean isAce(byte card) {
+    return rankOrdinal(card) == 0;
+  }
+
+  /**
+    Returns the display name of an encoded card in the same "Rank of Suit" form as <code>Card.getCardName()</code>.
+
+    @param card the encoded card.
+    @return the card's name.
+  */
+  public static String getName(byte card) {
+    return NAMES[card];
+  }
+
+  /**
+    Returns the shared <code>PlayingCard</code> of an encoded card for display.
+
+    @param card the encoded card.
+    @return the <code>PlayingCard</code> of the same rank and suit.
+  */
+  public static PlayingCard toPlayingCard(byte card) {
+    return PlayingCard.of(getRank(card), getSuit(card));
+  }
+}
@@ -0,0 +1,71 @@
+package com.braithiar.blackjack;
+
+/**
+  Read-only view of the cards left in a deck or shoe. Implementations keep the per-rank counts and the running count up to date as cards are drawn, so every query is O(1) rather than a scan of the remaining cards.
+*/
+public interface Composition {
+  /**
+    Returns the number of cards left to deal.
+
+    @return the remaining number of cards.
+  */
+  int getCardsRemaining();
+
+  /**
+    Returns the number of cards of <code>rank</code> left to deal.
+
+    @param rank the rank to count.
+    @return the remaining number of cards of that rank.
+  */
+  int getRemaining(PlayingCard.Rank rank);
+
+  /**
+    Returns the counting system the running count is kept in.
+
+    @return the counting system.
+  */
+  CountingSystem getCountingSystem();
+
+  /**
+    Returns the sum of the counting system's tags over every card dealt since the last shuffle.
+
+    @return the running count.
+  */
+  int getRunningCount();
+
+  /**
+    Returns the number of decks left to deal, as a fraction.
+
+    @return the remaining number of decks.
+  */
+  default double getDecksRemaining() {
+    return getCardsRemaining() / (double) Deck.DECK_SIZE;
+  }
+
+  /**
+    Returns the running count divided by the number of decks left to deal.
+
+    @return the true count, or 0 if no cards are left.
+  */
+  default double getTrueCount() {
+    double decks = getDecksRemaining();
+
+    return decks > 0.0 ? getRunningCount() / decks : 0.0;
+  }
+
+  /**
+    Returns a snapshot of the remaining cards of every rank.
+
+    @return the remaining number of cards of each rank, indexed by <code>Rank.ordinal()</code>.
+  */
+  default int[] getRankCounts() {
+    PlayingCard.Rank[] ranks = PlayingCard.Rank.values();
+    int[] counts = new int[ranks.length];
+
+    for (PlayingCard.Rank r : ranks) {
+      counts[r.ordinal()] = getRemaining(r);
+    }
+
+    return counts;
+  }
+}
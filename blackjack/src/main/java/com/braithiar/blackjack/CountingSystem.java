@@ -0,0 +1,50 @@
+package com.braithiar.blackjack;
+
+/**
+  Balanced card counting systems. Each assigns a tag to every rank; the running count is the sum of the tags of every card that has left the shoe, and the true count divides it by the decks still to be dealt.
+*/
+public enum CountingSystem {
+  /**
+    Hi-Lo: 2-6 are +1, 7-9 are 0, tens and Aces are -1.
+  */
+  HI_LO (-1, 1, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1),
+
+  /**
+    Hi-Opt I: 3-6 are +1, tens are -1, Aces and everything else are 0.
+  */
+  HI_OPT_I (0, 0, 1, 1, 1, 1, 0, 0, 0, -1, -1, -1, -1),
+
+  /**
+    Hi-Opt II: 2, 3, 6 and 7 are +1, 4 and 5 are +2, tens are -2, Aces and 8-9 are 0.
+  */
+  HI_OPT_II (0, 1, 1, 2, 2, 1, 1, 0, 0, -2, -2, -2, -2),
+
+  /**
+    Omega II: 2, 3 and 7 are +1, 4-6 are +2, 9 is -1, tens are -2, Aces and 8 are 0.
+  */
+  OMEGA_II (0, 1, 1, 2, 2, 2, 1, 0, -1, -2, -2, -2, -2),
+
+  /**
+    Zen Count: 2, 3 and 7 are +1, 4-6 are +2, Aces are -1, tens are -2, 8-9 are 0.
+  */
+  ZEN (-1, 1, 1, 2, 2, 2, 1, 0, 0, -2, -2, -2, -2);
+
+  /**
+    Tags indexed by <code>Rank.ordinal()</code>. Shared with the decks in this package, which must not modify it.
+  */
+  final int[] tags;
+
+  private CountingSystem(int... tags) {
+    this.tags = tags;
+  }
+
+  /**
+    Returns the tag this system gives to <code>rank</code>.
+
+    @param rank the rank of the card.
+    @return the card's tag.
+  */
+  public int getTag(PlayingCard.Rank rank) {
+    return this.tags[rank.ordinal()];
+  }
+}
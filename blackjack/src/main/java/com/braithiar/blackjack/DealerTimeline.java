@@ -0,0 +1,247 @@
+package com.braithiar.blackjack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+  The dealer's turn as a list of events, planned in one go and then replayed at whatever pace suits the front end. The dealer has no choices to make, so every card the dealer will take is drawn while planning; replaying the timeline applies each event to the dealer's hand in order and reports it to a <code>Listener</code>.
+  <p>
+  A paced replay waits between events on a <code>ScheduledExecutorService</code> rather than sleeping, so no thread is held while the dealer pauses. A replay with no pacing runs every event straight through on the calling thread.
+  */
+public final class DealerTimeline {
+  /**
+    Something that happens during the dealer's turn.
+  */
+  public enum Event {
+    /**
+      The dealer's hidden card is turned face up.
+    */
+    REVEAL,
+    /**
+      The hands are shown before the dealer decides.
+    */
+    SHOW_HANDS,
+    /**
+      The dealer takes a card.
+    */
+    HIT,
+    /**
+      The dealer stays.
+    */
+    STAY
+  }
+
+  /**
+    Told of each event as it is replayed, after it has been applied to the dealer's hand.
+  */
+  @FunctionalInterface
+  public interface Listener {
+    /**
+      Reports one event of the dealer's turn.
+
+      @param event the event that just happened.
+      @param dealer the dealer, with the event applied.
+    */
+    void onEvent(Event event, Player dealer);
+  }
+
+  private final Player dealer;
+  private final Event[] events;
+
+  /**
+    The card taken by each <code>HIT</code> event, and <code>null</code> for every other event.
+  */
+  private final PlayingCard[] cards;
+
+  private DealerTimeline(Player dealer, Event[] events, PlayingCard[] cards) {
+    this.dealer = dealer;
+    this.events = events;
+    this.cards = cards;
+  }
+
+  /**
+    Plans the dealer's turn by <code>Rules.CLASSIC</code>, staying on all 17s.
+
+    @param dealer the dealer, holding their opening hand.
+    @param deck the deck the dealer draws from.
+    @return the dealer's turn, ready to replay.
+  */
+  public static DealerTimeline plan(Player dealer, Deck deck) {
+    return plan(dealer, deck, Rules.CLASSIC);
+  }
+
+  /**
+    Plans the dealer's turn: the dealer reveals their hidden card, then shows the hands and hits as <code>rules</code> say until staying or going bust. The cards are drawn from <code>deck</code> now but only reach the dealer's hand when the timeline is replayed.
+
+    @param dealer the dealer, holding their opening hand.
+    @param deck the deck the dealer draws from.
+    @param rules the rules deciding when the dealer hits.
+    @return the dealer's turn, ready to replay.
+  */
+  public static DealerTimeline plan(Player dealer, Deck deck, Rules rules) {
+    List<Event> events = new ArrayList<>();
+    List<PlayingCard> cards = new ArrayList<>();
+    HandTotal total = new HandTotal();
+
+    for (int i = 0; i < dealer.getHandSize(); ++i) {
+      total.add(dealer.getCard(i).getRank());
+    }
+
+    events.add(Event.REVEAL);
+    cards.add(null);
+
+    while (true) {
+      events.add(Event.SHOW_HANDS);
+      cards.add(null);
+
+      if (!rules.dealerHits(total)) {
+        events.add(Event.STAY);
+        cards.add(null);
+        break;
+      }
+
+      PlayingCard card = deck.draw();
+
+      total.add(card.getRank());
+      events.add(Event.HIT);
+      cards.add(card);
+
+      if (total.isBust()) {
+        break;
+      }
+    }
+
+    return new DealerTimeline(dealer, events.toArray(new Event[0]), cards.toArray(new PlayingCard[0]));
+  }
+
+  /**
+    Returns the events of the dealer's turn, in order.
+
+    @return an unmodifiable view of the events.
+  */
+  public List<Event> getEvents() {
+    return Collections.unmodifiableList(Arrays.asList(this.events));
+  }
+
+  /**
+    Replays every event straight through on the calling thread.
+
+    @param listener told of each event.
+  */
+  public void replay(Listener listener) {
+    for (int i = 0; i < this.events.length; ++i) {
+      this.apply(i, listener);
+    }
+  }
+
+  /**
+    Replays the events <code>pacingMillis</code> apart. The first event happens right away on the calling thread, each later one on <code>scheduler</code>'s thread, and the returned future completes one pause after the last.
+
+    @param scheduler the scheduler timing the pauses.
+    @param pacingMillis the pause after each event; 0 replays the timeline straight through on the calling thread.
+    @param listener told of each event.
+    @return a future completing when the dealer's turn is over. Cancelling it stops the replay.
+  */
+  public CompletableFuture<Void> replay(ScheduledExecutorService scheduler, long pacingMillis, Listener listener) {
+    return this.replay(scheduler, scheduler, pacingMillis, listener);
+  }
+
+  /**
+    Replays the events <code>pacingMillis</code> apart. The first event happens right away on the calling thread, and each later one runs on <code>executor</code> once its pause has passed on <code>scheduler</code>. Handing the events to another executor keeps a slow listener from holding up the scheduler's other timelines.
+
+    @param scheduler the scheduler timing the pauses.
+    @param executor the executor running each event.
+    @param pacingMillis the pause after each event; 0 replays the timeline straight through on the calling thread.
+    @param listener told of each event.
+    @return a future completing when the dealer's turn is over, or exceptionally if the listener fails. Cancelling it stops the replay.
+  */
+  public CompletableFuture<Void> replay(ScheduledExecutorService scheduler, Executor executor, long pacingMillis, Listener listener) {
+    CompletableFuture<Void> done = new CompletableFuture<>();
+
+    if (pacingMillis <= 0) {
+      try {
+        this.replay(listener);
+        done.complete(null);
+      } catch (RuntimeException e) {
+        done.completeExceptionally(e);
+      }
+    } else {
+      new Replay(scheduler, executor, pacingMillis, listener, done).run();
+    }
+
+    return done;
+  }
+
+  /**
+    Applies event <code>index</code> to the dealer's hand and reports it.
+  */
+  private void apply(int index, Listener listener) {
+    switch (this.events[index]) {
+      case REVEAL:
+        this.dealer.dealerReveal();
+        break;
+      case HIT:
+        this.dealer.addToHand(this.cards[index]);
+        break;
+      default:
+        break;
+    }
+
+    listener.onEvent(this.events[index], this.dealer);
+  }
+
+  /**
+    A paced replay in progress. Each run applies the next event and schedules the following one.
+  */
+  private final class Replay implements Runnable {
+    private final ScheduledExecutorService scheduler;
+    private final Executor executor;
+    private final long pacingMillis;
+    private final Listener listener;
+    private final CompletableFuture<Void> done;
+    private int next;
+
+    private Replay(ScheduledExecutorService scheduler, Executor executor, long pacingMillis, Listener listener, CompletableFuture<Void> done) {
+      this.scheduler = scheduler;
+      this.executor = executor;
+      this.pacingMillis = pacingMillis;
+      this.listener = listener;
+      this.done = done;
+      this.next = 0;
+    }
+
+    @Override
+    public void run() {
+      if (this.done.isDone()) {
+        return;
+      }
+
+      if (this.next == DealerTimeline.this.events.length) {
+        this.done.complete(null);
+        return;
+      }
+
+      try {
+        DealerTimeline.this.apply(this.next++, this.listener);
+        this.scheduler.schedule(this::handOff, this.pacingMillis, TimeUnit.MILLISECONDS);
+      } catch (RuntimeException e) {
+        this.done.completeExceptionally(e);
+      }
+    }
+
+    private void handOff() {
+      try {
+        this.executor.execute(this);
+      } catch (RejectedExecutionException e) {
+        this.done.completeExceptionally(e);
+      }
+    }
+  }
+}
@@ -0,0 +1,275 @@
+package com.braithiar.blackjack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
+
+/**
+  A standard deck of <code>PlayingCard</code>s. The remaining count of every rank and the running count are kept up to date as cards are drawn, so the deck can be queried as a <code>Composition</code> without scanning it.
+  <p>
+  A deck can be played round after round: <code>reset()</code> puts every card back in place, so a long-running table shuffles the same deck again instead of building a new one, and allocates nothing once the deck is made. The cards themselves are the shared <code>PlayingCard</code>s, so decks hold no cards of their own.
+  */
+public class Deck implements Composition {
+  /**
+    Defines a standard deck size without Jokers: 52.
+  */
+  protected static final int DECK_SIZE = 52;
+
+  /**
+    Every card in the order a new deck is made, shared by every deck so <code>reset()</code> can put the drawn ones back.
+  */
+  private static final PlayingCard[] NEW_DECK_ORDER = new PlayingCard[DECK_SIZE];
+
+  static {
+    int i = 0;
+
+    for (PlayingCard.Suit s : PlayingCard.Suit.values()) {
+      for (PlayingCard.Rank r : PlayingCard.Rank.values()) {
+        NEW_DECK_ORDER[i++] = PlayingCard.of(r, s);
+      }
+    }
+  }
+  
+  /**
+    ArrayList holding the <code>PlayingCard</code> objects for this deck.
+  */
+  private ArrayList<PlayingCard> deck;
+
+  /**
+    The total number of cards drawn from this deck.
+  */
+  private int numCardsUsed;
+
+  /**
+    Remaining cards of each rank, indexed by <code>Rank.ordinal()</code>.
+  */
+  private final int[] rankCounts;
+
+  /**
+    The counting system the running count is kept in.
+  */
+  private CountingSystem countingSystem;
+
+  /**
+    Sum of the counting system's tags over every card drawn from this deck.
+  */
+  private int runningCount;
+
+  /**
+    Constructs a <code>Deck</code> object of size <code>DECK_SIZE</code> with <code>PlayingCard</code>s having rank & suit as defined in a standard deck of cards.
+  */
+  public Deck() {
+    this.deck = new ArrayList<>(Deck.DECK_SIZE);
+    this.numCardsUsed = 0;
+    this.rankCounts = new int[PlayingCard.Rank.values().length];
+    this.countingSystem = CountingSystem.HI_LO;
+    this.runningCount = 0;
+
+    Arrays.fill(this.rankCounts, PlayingCard.Suit.values().length);
+
+    for (PlayingCard card : NEW_DECK_ORDER) {
+      this.deck.add(card);
+    }
+  }
+
+  /**
+    Returns every drawn card to this deck, in the order the deck was made, and clears the counts, keeping the counting system. Nothing is allocated, so a table can reset and shuffle one deck every round. Cards still held in a hand are taken back as well, so reset the players' hands first.
+  */
+  public void reset() {
+    this.deck.clear();
+
+    for (PlayingCard card : NEW_DECK_ORDER) {
+      this.deck.add(card);
+    }
+
+    this.numCardsUsed = 0;
+    this.runningCount = 0;
+    Arrays.fill(this.rankCounts, PlayingCard.Suit.values().length);
+  }
+  
+  /**
+    Draws a card from the top of this deck.
+
+    @return the drawn card.
+  */
+  public PlayingCard draw() {
+    if (this.numCardsUsed < Deck.DECK_SIZE) {
+      return this.take(deck.size() - 1);
+    } else {
+      throw buildEmptyDeckException();
+    }
+  }
+
+  /**
+    Draws <code>numToDraw</code> cards from the top of this deck. The count is validated once up front, so the cards are taken without any further checks.
+
+    @param numToDraw the number of cards to draw.
+    @return the drawn cards, in the order they were drawn.
+  */
+  public PlayingCard[] draw(int numToDraw) {
+    if (numToDraw < 0 || numToDraw > this.getCardsRemaing()) {
+      throw buildIllegalNumberOfCardsException(numToDraw);
+    }
+
+    PlayingCard[] drawn = new PlayingCard[numToDraw];
+
+    for (int i = 0; i < numToDraw; ++i) {
+      drawn[i] = this.take(deck.size() - 1);
+    }
+
+    return drawn;
+  }
+
+  /**
+    Draws <code>numToDraw</code> cards from random positions in this deck, using a thread-local generator.
+
+    @param numToDraw the number of cards to draw.
+    @return the drawn cards, in the order they were drawn.
+  */
+  public PlayingCard[] drawRandom(int numToDraw) {
+    return this.drawRandom(numToDraw, ThreadLocalRandom.current());
+  }
+
+  /**
+    Draws <code>numToDraw</code> cards from random positions in this deck. Each chosen card is swapped to the top before it is taken, so no card behind it has to move.
+
+    @param numToDraw the number of cards to draw.
+    @param rng the generator choosing the positions.
+    @return the drawn cards, in the order they were drawn.
+  */
+  public PlayingCard[] drawRandom(int numToDraw, RandomGenerator rng) {
+    if (numToDraw < 0 || numToDraw > this.getCardsRemaing()) {
+      throw buildIllegalNumberOfCardsException(numToDraw);
+    }
+
+    PlayingCard[] drawn = new PlayingCard[numToDraw];
+
+    for (int i = 0; i < numToDraw; ++i) {
+      int top = deck.size() - 1;
+
+      Collections.swap(this.deck, top, rng.nextInt(top + 1));
+      drawn[i] = this.take(top);
+    }
+
+    return drawn;
+  }
+
+  /**
+    Removes the card at <code>index</code> and updates the remaining counts. The caller has already checked that the card exists.
+
+    @param index the position of the card in <code>deck</code>.
+    @return the drawn card.
+  */
+  private PlayingCard take(int index) {
+    PlayingCard card = deck.remove(index);
+    int rank = card.getRank().ordinal();
+
+    ++this.numCardsUsed;
+    --this.rankCounts[rank];
+    this.runningCount += this.countingSystem.tags[rank];
+
+    return card;
+  }
+ 
+  /**
+    Shuffles the deck using <code>Collections.shuffle</code>.
+  */
+  public void shuffle() {
+    Collections.shuffle(this.deck);
+  }
+
+  /**
+    Shuffles the deck with a Fisher-Yates pass driven by <code>rng</code> instead of the shared default <code>Random</code>. The same generator state always produces the same order.
+
+    @param rng the random number generator to shuffle with.
+  */
+  public void shuffle(RandomGenerator rng) {
+    for (int i = this.deck.size() - 1; i > 0; --i) {
+      Collections.swap(this.deck, i, rng.nextInt(i + 1));
+    }
+  }
+
+  /**
+    Returns the remaining number of cards in this deck.
+
+    @return this deck's remaining number of cards.
+  */
+  public int getCardsRemaing() {
+    return Deck.DECK_SIZE - this.numCardsUsed;
+  }
+
+  @Override
+  public int getCardsRemaining() {
+    return getCardsRemaing();
+  }
+
+  @Override
+  public int getRemaining(PlayingCard.Rank rank) {
+    return this.rankCounts[rank.ordinal()];
+  }
+
+  @Override
+  public int[] getRankCounts() {
+    return this.rankCounts.clone();
+  }
+
+  @Override
+  public CountingSystem getCountingSystem() {
+    return this.countingSystem;
+  }
+
+  /**
+    Switches the counting system the running count is kept in, recounting the cards already drawn.
+
+    @param countingSystem the new counting system.
+  */
+  public void setCountingSystem(CountingSystem countingSystem) {
+    int full = PlayingCard.Suit.values().length;
+
+    this.countingSystem = countingSystem;
+    this.runningCount = 0;
+
+    for (int r = 0; r < this.rankCounts.length; ++r) {
+      this.runningCount += countingSystem.tags[r] * (full - this.rankCounts[r]);
+    }
+  }
+
+  @Override
+  public int getRunningCount() {
+    return this.runningCount;
+  }
+  
+  /**
+    Deals <code>numCards</code> to each player in <code>players</code>, one card to each player per pass. Each card is dealt face up, as per the rules of blackjack, except for the dealer's first card. It is dealt face down with <code>addFaceDown()</code> and remains hidden until <code>dealerReveal()</code> is used. There must be enough cards for every player; this is checked once before anything is dealt.
+
+    @param players an array of players to be dealt to.
+    @param numCards the number of cards to be dealt to each player.
+  */
+  public void deal(Player[] players, int numCards) {
+    if (numCards < 0 || (long) numCards * players.length > this.getCardsRemaing()) {
+      throw buildIllegalNumberOfCardsException(numCards);
+    }
+
+    for (int n = 0; n < numCards; ++n) {
+      for (Player p : players) {
+        PlayingCard card = this.take(deck.size() - 1);
+
+        if (p.isDealer() && p.getHandSize() < 1) {
+          p.addFaceDown(card);
+        } else {
+          p.addToHand(card);
+        }
+      }
+    }
+  }
+  
+  private static final IndexOutOfBoundsException buildEmptyDeckException() {
+    return new IndexOutOfBoundsException("There were no more cards to draw from the deck!");
+  }
+
+  private static final IllegalArgumentException buildIllegalNumberOfCardsException(int num) {
+    return new IllegalArgumentException(num + " is not a valid number of cards. It must be at least 0, and there must be enough cards remaining to deal it.");
+  }
+}
\ No newline at end of file
@@ -0,0 +1,82 @@
+package com.braithiar.blackjack;
+
+/**
+  The text shown to a player of the game, shared by the console game and the game server so both front ends read the same.
+  */
+public final class GameText {
+  /**
+    The BLACKJACK game banner shown when the game starts.
+  */
+  public static final String BANNER =
+    "\n     _______________\n\n" +
+    "        BLACKJACK   \n" +
+    "     _______________\n" +
+    "\n\nLet's play some Blackjack!\n";
+
+  /**
+    The rules for this version of blackjack.
+  */
+  public static final String RULES =
+    "\n\n     ___________\n\n" +
+    "        RULES   \n     ___________\n\n" +
+    "\tYou will play against the dealer. Both of you will be dealt " +
+    "2 cards; yours will be face up. While only one of the dealer's " +
+    "cards will be face up for you to see.\n\n" +
+    "\tThe goal of the game is to get as close to a score of 21" +
+    " without going over. You will go first. You can either hit, " +
+    "to draw another card, or stay, to keep your current hand. " +
+    "Then the dealer will then take their turn. " +
+    "The dealer will always stay on a 17 or great" +
+    "er. Going over 21 is an instant loss for you" +
+    "or the dealer.\n\n" +
+    "\tCard values are as follows:\n" +
+    "\t\t*All face cards are 10 points\n" +
+    "\t\t*Aces are worth either 1 or 11 points\n" +
+    "\t\t*All other cards are worth their value in points";
+
+  /**
+    The game menu.
+  */
+  public static final String MENU = "  \nSelect one of the following options: " +
+                                     "1) Start Game\t 2) Rule\t 3) Exit";
+
+  /**
+    Shown when a menu option is not one of the three offered.
+  */
+  public static final String INVALID_MENU_OPTION = "\nPlease select option 1), 2), or 3). Please, try again...\n";
+
+  /**
+    Asks the player to hit or stay.
+  */
+  public static final String HIT_OR_STAY = "\n\n(H)it or (S)tay?\n";
+
+  /**
+    Shown when the player answers neither hit nor stay.
+  */
+  public static final String INVALID_HIT_OR_STAY = "\nThat was not one of the options. " +
+                                                   "Please, try again...";
+
+  /**
+    Asks the player if they would like to play another game.
+  */
+  public static final String PLAY_AGAIN = "  \nPlay again?: " +
+                                          "(Y)es or (N)o";
+
+  /**
+    Shown when the player answers neither yes nor no.
+  */
+  public static final String INVALID_PLAY_AGAIN = "\nThat was neither yes, nor no. Please try again...";
+
+  /**
+    Shown when the player cannot cover the table bet.
+  */
+  public static final String OUT_OF_CHIPS = "\nYou're out of chips! Thanks for playing.\n";
+
+  /**
+    The prompt printed before reading the player's input.
+  */
+  public static final String PROMPT = "-->";
+
+  private GameText() {
+  }
+}
@@ -0,0 +1,317 @@
+package com.braithiar.blackjack;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+  Renders the table's hands into one reusable frame and writes it out in a single call, in the same text as <code>Player.toString()</code>. Every card's text is built once up front and copied into the frame, numbers are written digit by digit, and the frame's buffers only grow, so rendering a frame allocates nothing once the buffers are big enough.
+  <p>
+  A frame is written to a <code>Writer</code> as characters, or encoded to bytes in the renderer's charset and written to an <code>OutputStream</code>. A renderer is not thread-safe; give each console or session its own.
+  */
+public final class HandRenderer {
+  /**
+    The text of every face up card, indexed by its <code>Cards</code> encoding.
+  */
+  private static final char[][] FACE_UP = new char[Cards.CARD_COUNT][];
+
+  /**
+    The text of a face down card.
+  */
+  private static final char[] FACE_DOWN = PlayingCard.FACE_DOWN_TEXT.toCharArray();
+
+  static {
+    for (PlayingCard.Rank r : PlayingCard.Rank.values()) {
+      for (PlayingCard.Suit s : PlayingCard.Suit.values()) {
+        FACE_UP[Cards.encode(r, s)] = ("[" + r.getRankValue() + " of " + s.getSuitSymbol() + "]").toCharArray();
+      }
+    }
+  }
+
+  private final CharsetEncoder encoder;
+
+  /**
+    The frame being rendered; only the first <code>length</code> chars are used.
+  */
+  private char[] chars;
+  private int length;
+
+  /**
+    A view of <code>chars</code> for the encoder, rewrapped only when <code>chars</code> grows.
+  */
+  private CharBuffer charView;
+
+  /**
+    The encoded frame, allocated on the first write to an <code>OutputStream</code>, so a renderer that only ever writes to a <code>Writer</code> never holds one.
+  */
+  private ByteBuffer bytes;
+
+  /**
+    Constructs a <code>HandRenderer</code> that encodes frames in UTF-8.
+  */
+  public HandRenderer() {
+    this(StandardCharsets.UTF_8);
+  }
+
+  /**
+    Constructs a <code>HandRenderer</code>. Characters <code>charset</code> cannot encode, such as the suit symbols on some consoles, are replaced the same way a <code>PrintStream</code> replaces them.
+
+    @param charset the charset frames are encoded in for an <code>OutputStream</code>.
+  */
+  public HandRenderer(Charset charset) {
+    this.encoder = charset.newEncoder()
+                          .onMalformedInput(CodingErrorAction.REPLACE)
+                          .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    this.chars = new char[512];
+    this.charView = CharBuffer.wrap(this.chars);
+    this.length = 0;
+  }
+
+  /**
+    Renders the frame shown between turns: a gap, then every player's hand in turn, the same text the console game has always printed.
+
+    @param players the players at the table, in the order they are shown.
+    @return this renderer, holding the new frame.
+  */
+  public HandRenderer renderHands(Player[] players) {
+    this.clear();
+    this.append("\n\n\n\n");
+
+    for (Player p : players) {
+      this.appendPlayer(p);
+      this.append('\n');
+    }
+
+    this.append("\n\n");
+
+    return this;
+  }
+
+  /**
+    Empties the frame.
+
+    @return this renderer.
+  */
+  public HandRenderer clear() {
+    this.length = 0;
+
+    return this;
+  }
+
+  /**
+    Appends a player's hand to the frame in the same text as <code>Player.toString()</code>.
+
+    @param player the player to render.
+    @return this renderer.
+  */
+  public HandRenderer appendPlayer(Player player) {
+    this.append('\n').append(player.getName()).append("'s Hand:\n");
+
+    for (int i = 0, n = player.getHandSize(); i < n; ++i) {
+      if (player.isFaceUp(i)) {
+        this.appendCard(player.getCard(i));
+      } else {
+        this.append(FACE_DOWN);
+      }
+
+      this.append(' ');
+    }
+
+    this.append("    Value: ").append(player.getScore()).append(" | Wins: ").append(player.getWins());
+
+    if (!player.isDealer()) {
+      Bankroll bankroll = player.getBankroll();
+
+      this.append(" | Chips: ").appendTenths(bankroll.getBalanceTenths());
+
+      if (bankroll.getStakeTenths() > 0) {
+        this.append(" (Bet: ").appendTenths(bankroll.getStakeTenths()).append(')');
+      }
+    }
+
+    return this.append('\n');
+  }
+
+  /**
+    Appends a card to the frame as <code>PlayingCard.toString()</code> shows it.
+
+    @param card the card to render.
+    @return this renderer.
+  */
+  public HandRenderer appendCard(PlayingCard card) {
+    return this.append(FACE_UP[Cards.encode(card)]);
+  }
+
+  /**
+    Appends text to the frame.
+
+    @param s the text to append.
+    @return this renderer.
+  */
+  public HandRenderer append(String s) {
+    int n = s.length();
+
+    this.ensureCapacity(n);
+    s.getChars(0, n, this.chars, this.length);
+    this.length += n;
+
+    return this;
+  }
+
+  /**
+    Appends a character to the frame.
+
+    @param c the character to append.
+    @return this renderer.
+  */
+  public HandRenderer append(char c) {
+    this.ensureCapacity(1);
+    this.chars[this.length++] = c;
+
+    return this;
+  }
+
+  /**
+    Appends a whole number to the frame.
+
+    @param value the number to append.
+    @return this renderer.
+  */
+  public HandRenderer append(long value) {
+    if (value < 0) {
+      this.append('-');
+
+      if (value == Long.MIN_VALUE) {
+        return this.append("9223372036854775808");
+      }
+
+      value = -value;
+    }
+
+    int digits = 1;
+
+    for (long v = value; v >= 10; v /= 10) {
+      ++digits;
+    }
+
+    this.ensureCapacity(digits);
+
+    for (int i = this.length + digits - 1; i >= this.length; --i) {
+      this.chars[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+
+    this.length += digits;
+
+    return this;
+  }
+
+  /**
+    Appends an amount kept in <code>Rules.TENTHS</code> as units with one decimal place, the way <code>Bankroll</code> shows chips.
+
+    @param tenths the amount in tenths.
+    @return this renderer.
+  */
+  public HandRenderer appendTenths(long tenths) {
+    if (tenths < 0) {
+      this.append('-');
+      tenths = -tenths;
+    }
+
+    return this.append(tenths / Rules.TENTHS).append('.').append((char) ('0' + tenths % Rules.TENTHS));
+  }
+
+  /**
+    Returns the number of characters in the frame.
+
+    @return the frame's length.
+  */
+  public int length() {
+    return this.length;
+  }
+
+  /**
+    Writes the frame to <code>out</code> in a single call. The writer is not flushed.
+
+    @param out the writer to write to.
+    @throws IOException if the frame cannot be written.
+  */
+  public void writeTo(Writer out) throws IOException {
+    out.write(this.chars, 0, this.length);
+  }
+
+  /**
+    Encodes the frame and writes it to <code>out</code> in a single call, then flushes <code>out</code>.
+
+    @param out the stream to write to.
+    @throws IOException if the frame cannot be written.
+  */
+  public void writeTo(OutputStream out) throws IOException {
+    ByteBuffer encoded = this.encode();
+
+    out.write(encoded.array(), 0, encoded.position());
+    out.flush();
+  }
+
+  /**
+    Converts the frame to a <code>String</code>.
+  */
+  @Override
+  public String toString() {
+    return new String(this.chars, 0, this.length);
+  }
+
+  /**
+    Encodes the frame into <code>bytes</code>, growing it until the whole frame fits.
+  */
+  private ByteBuffer encode() {
+    if (this.bytes == null) {
+      this.bytes = ByteBuffer.allocate(1024);
+    }
+
+    while (true) {
+      CharBuffer in = this.charView;
+
+      in.clear().limit(this.length);
+      this.bytes.clear();
+      this.encoder.reset();
+
+      CoderResult result = this.encoder.encode(in, this.bytes, true);
+
+      if (!result.isOverflow()) {
+        result = this.encoder.flush(this.bytes);
+      }
+
+      if (!result.isOverflow()) {
+        return this.bytes;
+      }
+
+      this.bytes = ByteBuffer.allocate(this.bytes.capacity() * 2);
+    }
+  }
+
+  private HandRenderer append(char[] text) {
+    this.ensureCapacity(text.length);
+    System.arraycopy(text, 0, this.chars, this.length, text.length);
+    this.length += text.length;
+
+    return this;
+  }
+
+  private void ensureCapacity(int more) {
+    if (this.length + more > this.chars.length) {
+      char[] grown = new char[Math.max(this.chars.length * 2, this.length + more)];
+
+      System.arraycopy(this.chars, 0, grown, 0, this.length);
+      this.chars = grown;
+      this.charView = CharBuffer.wrap(this.chars);
+    }
+  }
+}
@@ -0,0 +1,140 @@
+package com.braithiar.blackjack;
+
+/**
+  Incremental blackjack hand total. Every card is added to a hard total with Aces counted as 1, and the number of Aces is kept alongside it. One Ace is promoted to 11 whenever that does not bust the hand, so the score is correct with any number of Aces and does not depend on the order the cards arrived in. Every query is O(1).
+*/
+public final class HandTotal {
+  /**
+    Scores above this value bust.
+  */
+  public static final int MAX_SCORE = 21;
+
+  /**
+    The extra points an Ace is worth when it counts as 11 instead of 1.
+  */
+  private static final int SOFT_BONUS = 10;
+
+  /**
+    Sum of the cards in the hand, with every Ace counted as 1.
+  */
+  private int hard;
+
+  /**
+    Number of Aces in the hand.
+  */
+  private int softAces;
+
+  /**
+    Constructs an empty <code>HandTotal</code>.
+  */
+  public HandTotal() {
+    this.hard = 0;
+    this.softAces = 0;
+  }
+
+  /**
+    Adds a card with the given point value, where an Ace is 1.
+
+    @param points the card's point value, as returned by <code>Rank.getPoints()</code>.
+  */
+  public void add(int points) {
+    this.hard += points;
+
+    if (points == 1) {
+      ++this.softAces;
+    }
+  }
+
+  /**
+    Adds a card of the given <code>Rank</code>.
+
+    @param rank the rank of the card.
+  */
+  public void add(PlayingCard.Rank rank) {
+    add(rank.getPoints());
+  }
+
+  /**
+    Adds an encoded card.
+
+    @param card the card, encoded as in <code>Cards</code>.
+  */
+  public void add(byte card) {
+    add(PlayingCard.Rank.getPoints(Cards.rankOrdinal(card)));
+  }
+
+  /**
+    Removes every card from this total.
+  */
+  public void reset() {
+    this.hard = 0;
+    this.softAces = 0;
+  }
+
+  /**
+    Returns the total with every Ace counted as 1.
+
+    @return the hard total.
+  */
+  public int getHard() {
+    return this.hard;
+  }
+
+  /**
+    Returns the number of Aces in the hand.
+
+    @return the number of Aces.
+  */
+  public int getSoftAces() {
+    return this.softAces;
+  }
+
+  /**
+    Returns true if an Ace in the hand is currently counted as 11.
+
+    @return true if the hand is soft.
+  */
+  public boolean isSoft() {
+    return isSoft(this.hard, this.softAces);
+  }
+
+  /**
+    Returns the best score of the hand: the hard total, plus 10 if the hand is soft.
+
+    @return the hand's score.
+  */
+  public int getScore() {
+    return score(this.hard, this.softAces);
+  }
+
+  /**
+    Returns true if the hand is over 21 even with every Ace counted as 1.
+
+    @return true if the hand has bust.
+  */
+  public boolean isBust() {
+    return this.hard > MAX_SCORE;
+  }
+
+  /**
+    Returns true if a hand with the given hard total and number of Aces counts an Ace as 11, for engines that keep hands in arrays instead of <code>HandTotal</code>s.
+
+    @param hard the hand's total with every Ace counted as 1.
+    @param softAces the number of Aces in the hand.
+    @return true if the hand is soft.
+  */
+  public static boolean isSoft(int hard, int softAces) {
+    return softAces > 0 && hard + SOFT_BONUS <= MAX_SCORE;
+  }
+
+  /**
+    Returns the best score of a hand with the given hard total and number of Aces, the same as <code>getScore()</code>.
+
+    @param hard the hand's total with every Ace counted as 1.
+    @param softAces the number of Aces in the hand.
+    @return the hand's score.
+  */
+  public static int score(int hard, int softAces) {
+    return isSoft(hard, softAces) ? hard + SOFT_BONUS : hard;
+  }
+}
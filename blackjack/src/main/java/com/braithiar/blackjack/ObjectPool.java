@@ -0,0 +1,107 @@
+package com.braithiar.blackjack;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+  A pool of reusable objects, such as the <code>Deck</code>s of a server's tables. An object is reset in place when it is released and handed out again by the next <code>acquire()</code>, so a steady stream of tables coming and going builds nothing new once the pool has warmed up. Up to <code>capacity</code> idle objects are kept; any released beyond that are left to the garbage collector.
+  <p>
+  The idle objects are kept on an array stack, so neither acquiring nor releasing allocates. Thread-safe.
+
+  @param <T> the type of object pooled.
+*/
+public final class ObjectPool<T> {
+  /**
+    Makes a new object when the pool is empty.
+  */
+  private final Supplier<? extends T> factory;
+
+  /**
+    Puts a released object back in its starting state.
+  */
+  private final Consumer<? super T> reset;
+
+  /**
+    The idle objects, with the most recently released on top.
+  */
+  private final Object[] idle;
+
+  /**
+    The number of idle objects.
+  */
+  private int size;
+
+  /**
+    Constructs an empty <code>ObjectPool</code>.
+
+    @param factory makes a new object when the pool is empty.
+    @param reset puts a released object back in the state <code>factory</code> makes it in.
+    @param capacity the most idle objects to keep.
+  */
+  public ObjectPool(Supplier<? extends T> factory, Consumer<? super T> reset, int capacity) {
+    if (capacity < 0) {
+      throw buildIllegalCapacityException(capacity);
+    }
+
+    this.factory = factory;
+    this.reset = reset;
+    this.idle = new Object[capacity];
+  }
+
+  /**
+    Takes an idle object from the pool, or makes a new one if there is none.
+
+    @return an object in its starting state.
+  */
+  @SuppressWarnings("unchecked")
+  public T acquire() {
+    synchronized (this) {
+      if (this.size > 0) {
+        T t = (T) this.idle[--this.size];
+
+        this.idle[this.size] = null;
+
+        return t;
+      }
+    }
+
+    return this.factory.get();
+  }
+
+  /**
+    Resets <code>t</code> and returns it to the pool. The caller must not use it afterwards.
+
+    @param t the object to return, taken from <code>acquire()</code>.
+  */
+  public void release(T t) {
+    this.reset.accept(t);
+
+    synchronized (this) {
+      if (this.size < this.idle.length) {
+        this.idle[this.size++] = t;
+      }
+    }
+  }
+
+  /**
+    Returns the number of idle objects waiting in the pool.
+
+    @return the number of idle objects.
+  */
+  public synchronized int getIdle() {
+    return this.size;
+  }
+
+  /**
+    Returns the most idle objects this pool keeps.
+
+    @return the pool's capacity.
+  */
+  public int getCapacity() {
+    return this.idle.length;
+  }
+
+  private static final IllegalArgumentException buildIllegalCapacityException(int capacity) {
+    return new IllegalArgumentException(capacity + " is not a valid pool capacity. It must be at least 0.");
+  }
+}
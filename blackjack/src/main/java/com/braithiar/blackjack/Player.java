@@ -0,0 +1,320 @@
+package com.braithiar.blackjack;
+
+import java.util.ArrayList;
+import java.util.Objects;
+
+public class Player {
+  /**
+    The most cards a hand can hold: eleven cards make at most 21 (four Aces, four Twos and three Threes), and the console game lets a player hit on 21, so a twelfth card can still be dealt before the hand busts. The hand's buffer is made this big up front, so it never grows while cards are dealt.
+  */
+  public static final int MAX_HAND_SIZE = 12;
+
+  /**
+    Stores if this player is a dealer.
+  */
+  private final boolean dealer;
+  
+  /**
+    This player's name.
+  */
+  private final String name;
+  
+  /**
+    The total wins for this player.
+  */
+  private int wins = 0;
+
+  /**
+    The total drawn games for this player.
+  */
+  private int pushes = 0;
+
+  /**
+    This player's chips.
+  */
+  private final Bankroll bankroll;
+  
+  /**
+    The score of this player's current hand.
+  */
+  private final HandTotal score = new HandTotal();
+  
+  /**
+    This player's current hand.
+  */
+  private ArrayList<PlayingCard> hand;
+
+  /**
+    Which cards of this hand are face down, one bit per position in <code>hand</code>. Cards are shared and carry no state of their own, so whether each one is showing is kept here.
+  */
+  private int faceDown;
+
+  /**
+    Constructs a <code>Player</code> object.
+
+    @param dealer true if this player is the dealer.
+    @param name this player's name.
+  */
+  public Player(boolean dealer, String name) {
+    this(dealer, name, new Bankroll(0));
+  }
+
+  /**
+    Constructs a <code>Player</code> object with chips to bet.
+
+    @param dealer true if this player is the dealer.
+    @param name this player's name.
+    @param bankroll this player's chips.
+  */
+  public Player(boolean dealer, String name, Bankroll bankroll) {
+    this.dealer = dealer;
+    this.name = name;
+    this.bankroll = bankroll;
+    hand = new ArrayList<>(MAX_HAND_SIZE);
+  }
+
+  /**
+    Returns true if this player is dealer.
+
+    @return true if player is dealer.
+  */
+  public boolean isDealer() {
+    return this.dealer;
+  }
+  
+  /**
+    Increments this player's number of wins.
+  */
+  public void addWin() {
+    ++wins;
+  }
+
+  /**
+    Increments this player's number of drawn games.
+  */
+  public void addPush() {
+    ++pushes;
+  }
+
+  /**
+    Bets <code>units</code> of this player's chips on the current hand.
+
+    @param units the size of the bet.
+  */
+  public void placeBet(int units) {
+    this.bankroll.placeBet(units);
+  }
+
+  /**
+    Settles this player's bet on the current hand, paying <code>returnTenths</code> back into their chips.
+
+    @param returnTenths what the hand pays back, in <code>Rules.TENTHS</code>.
+    @return the net result of the hand, in tenths.
+  */
+  public long settleBet(long returnTenths) {
+    return this.bankroll.settle(returnTenths);
+  }
+
+  /**
+    Sets this players hand score back to zero.
+  */
+  public void resetScore() {
+    this.score.reset();
+  }
+
+  /**
+    Reveals this players hidden card, if isDealer() returns true and the card is still face down, and adds it to the hand score. Otherwise, has no effect.
+  */
+  public void dealerReveal() {
+    if (!this.isDealer() || this.isFaceUp(0)) {
+      return;
+    }
+
+    this.faceDown &= ~1;
+
+    this.assignScore(this.hand.get(0));
+  }
+  
+  /**
+    Adds a <code>PlayingCard</code> object to this player's hand face up and updates the hand score.
+
+    @param card the <code>PlayingCard</code> to add to this hand.
+  */
+  public void addToHand(PlayingCard card) {
+    this.hand.add(card);
+    this.assignScore(card);
+  }
+
+  /**
+    Adds a <code>PlayingCard</code> object to this player's hand face down. It is not scored until it is revealed.
+
+    @param card the <code>PlayingCard</code> to add to this hand.
+  */
+  public void addFaceDown(PlayingCard card) {
+    int index = this.hand.size();
+
+    if (index >= Integer.SIZE) {
+      throw buildTooManyFaceDownException(index);
+    }
+
+    this.hand.add(card);
+    this.faceDown |= 1 << index;
+  }
+
+  /**
+    Returns true if the card at <code>index</code> in this player's hand is face up.
+
+    @param index the position of the card in this hand.
+    @return true if the card is showing.
+  */
+  public boolean isFaceUp(int index) {
+    Objects.checkIndex(index, this.hand.size());
+
+    return index >= Integer.SIZE || (this.faceDown & 1 << index) == 0;
+  }
+
+  /**
+    Assigns the value of <code>PlayingCard</code> to this player's hand score. The caller has already checked that the card is face up. Values come from <code>Rank.getPoints()</code>, and <code>HandTotal</code> counts an Ace as 11 while that does not bust the hand, otherwise 1.
+
+    @param card the <code>PlayingCard</code> to have its value added to this hand's score.
+  */
+  private void assignScore(PlayingCard card) {
+    this.score.add(card.getRank());
+  }
+  
+  /**
+    Removes all cards from this hand, keeping its buffer for the next one.
+  */
+  public void resetHand() {
+    this.hand.clear();
+    this.faceDown = 0;
+  }
+
+  /**
+    Prints current hand to console. 
+  */
+  public void showHand() {
+    System.out.println(this);
+  }
+
+   /**
+    Returns this hand's size.
+
+    @return the number of cards in this player's hand.
+  */
+  public int getHandSize() {
+    return this.hand.size();
+  }
+
+  /**
+    Returns the card at <code>index</code> in this player's hand, in the order it was dealt.
+
+    @param index the position of the card in this hand.
+    @return the card at that position.
+  */
+  public PlayingCard getCard(int index) {
+    return this.hand.get(index);
+  }
+
+  /**
+    Returns the value of this player's hand.
+
+    @return the player's hand score.
+  */
+  public int getScore() {
+    return this.score.getScore();
+  }
+
+  /**
+    Returns the live total of this player's face up cards. It is owned by this player and must not be modified.
+
+    @return this player's hand total.
+  */
+  public HandTotal getHandTotal() {
+    return this.score;
+  }
+
+  /**
+    Rescores every face up card in this hand. Scoring does not depend on the order cards were added, so this is only needed after the score has been reset while keeping the hand.
+  */
+  public void recalculateScore() {
+    this.resetScore();
+    
+    for (int i = 0, n = this.hand.size(); i < n; ++i) {
+      if (this.isFaceUp(i)) {
+        this.assignScore(this.hand.get(i));
+      }
+    }
+  }
+  
+  /**
+    Returns this player's name.
+
+    @return this player's name.
+  */
+  public String getName() {
+    return this.name;
+  }
+
+  /**
+    Returns this player's total wins.
+
+    @return this player's total wins.
+  */
+  public int getWins() {
+    return this.wins;
+  }
+
+  /**
+    Returns this player's total drawn games.
+
+    @return this player's total pushes.
+  */
+  public int getPushes() {
+    return this.pushes;
+  }
+
+  /**
+    Returns this player's chips.
+
+    @return this player's bankroll.
+  */
+  public Bankroll getBankroll() {
+    return this.bankroll;
+  }
+
+  /**
+    Returns true if this hand has an Ace and it's value is 11.
+
+    @return true if this hand has an Ace and it's value is 11.
+  */
+  public boolean isSoft() {
+    return this.score.isSoft();
+  }
+  
+  /**
+    Converts <code>Player</code> to a string, including: this hand's cards, their summed score, this player's total wins and, for anyone but the dealer, their chips.
+  */
+  @Override
+  public String toString() {
+    StringBuilder cardsInHand = new StringBuilder(64 + this.hand.size() * 20);
+
+    cardsInHand.append('\n').append(this.name).append("'s Hand:\n");
+
+    for (int i = 0, n = this.hand.size(); i < n; ++i) {
+      cardsInHand.append(this.isFaceUp(i) ? this.hand.get(i).toString() : PlayingCard.FACE_DOWN_TEXT).append(' ');
+    }
+
+    cardsInHand.append("    Value: ").append(this.score.getScore()).append(" | Wins: ").append(this.wins);
+
+    if (!this.dealer) {
+      cardsInHand.append(" | ").append(this.bankroll);
+    }
+
+    return cardsInHand.append('\n').toString();
+  }
+
+  private static final IllegalStateException buildTooManyFaceDownException(int index) {
+    return new IllegalStateException("Card " + index + " cannot be dealt face down. Only the first " + Integer.SIZE + " cards of a hand can be.");
+  }
+}
\ No newline at end of file
@@ -0,0 +1,165 @@
+package com.braithiar.blackjack;
+
+public class PlayingCard extends Card {
+	  /**
+	    This <code>PlayingCard</code>'s value as defined by the <code>Rank</code> enum.
+	  */
+	  private final Rank rank;
+
+	  /**
+	    Defines the available card ranks for use in <code>PlayingCard(Rank, Suit)</code>.
+	  */
+	  public enum Rank {
+	    ACE ("Ace"),
+			TWO ("Two"),
+			THREE ("Three"),
+			FOUR ("Four"),
+			FIVE ("Five"),
+			SIX ("Six"),
+			SEVEN ("Seven"),
+			EIGHT ("Eight"),
+			NINE ("Nine"),
+			TEN ("Ten"),
+			JACK ("Jack"),
+			QUEEN ("Queen"),
+			KING ("King");
+
+	    private final String rankValue;
+
+	    private Rank(String rankValue) { this.rankValue = rankValue; }
+	    String getRankValue() { return this.rankValue; }
+
+	    /**
+	      Point values indexed by <code>ordinal()</code>, so scoring is a single array load. Aces are listed as 1; <code>HandTotal</code> decides when one counts as 11.
+	    */
+	    private static final int[] POINTS = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 10, 10, 10};
+
+	    /**
+	      Returns this rank's point value, counting an Ace as 1.
+
+	      @return this rank's point value.
+	    */
+	    public int getPoints() { return POINTS[this.ordinal()]; }
+
+	    /**
+	      Returns the point value of the rank with the given ordinal, counting an Ace as 1.
+
+	      @param ordinal the <code>ordinal()</code> of the rank.
+	      @return the rank's point value.
+	    */
+	    public static int getPoints(int ordinal) { return POINTS[ordinal]; }
+	  }
+
+	  /**
+	    This <code>PlayingCard</code>'s suit as defined by the <code>Suit</code> enum.
+	  */
+	  private final Suit suit;
+
+	  /**
+	    Defines the available suits (as unicode symbols) for use in <code>PlayingCard(Rank, Suit)</code>.
+	  */
+	  public enum Suit {
+	    CLUBS ("\u2667"),
+			SPADES ("\u2664"),
+			DIAMONDS ("\u2662"),
+			HEARTS ("\u2661");
+
+	    private final String suitSymbol;
+
+	    private Suit(String suitSymbol) { this.suitSymbol = suitSymbol; }
+	    String getSuitSymbol() { return this.suitSymbol; }
+	  }
+
+	  /**
+	    What <code>toString()</code> shows, built once so that showing a card allocates nothing.
+	  */
+	  private final String text;
+
+	  /**
+	    What a face down card shows in a hand.
+	  */
+	  static final String FACE_DOWN_TEXT = "[CARD]";
+
+	  /**
+	    The only <code>PlayingCard</code> of each rank and suit, indexed by <code>Cards.encode(Rank, Suit)</code>. Cards are immutable, so every deck, shoe and thread shares these 52.
+	  */
+	  private static final PlayingCard[] CARDS = new PlayingCard[Cards.CARD_COUNT];
+
+	  static {
+	    for (Rank r : Rank.values()) {
+	      for (Suit s : Suit.values()) {
+	        CARDS[Cards.encode(r, s)] = new PlayingCard(r, s);
+	      }
+	    }
+	  }
+
+	  /**
+	    Constructs the <code>PlayingCard</code> with the specified <code>Rank</code> and <code>Suit</code>. Only used to build <code>CARDS</code>; everyone else gets cards from <code>of(Rank, Suit)</code>.
+
+	    @param rank the <code>Rank</code> of the playing card.
+	    @param suit the <code>Suit</code> of the playing card.
+	  */
+	  private PlayingCard(Rank rank, Suit suit) {
+	    super(rank.getRankValue() + " of " + suit.getSuitSymbol());
+	    this.rank = rank;
+	    this.suit = suit;
+	    this.text = "[" + getCardName() + "]";
+	  }
+
+	  /**
+	    Returns the <code>PlayingCard</code> with the specified <code>Rank</code> and <code>Suit</code>. There is one card of each, so cards can be compared with <code>==</code>.
+
+	    @param rank the <code>Rank</code> of the playing card.
+	    @param suit the <code>Suit</code> of the playing card.
+	    @return the shared card.
+	  */
+	  public static PlayingCard of(Rank rank, Suit suit) {
+	    return CARDS[Cards.encode(rank, suit)];
+	  }
+
+	  /**
+	    Returns this card's <code>Rank</code>.
+
+	    @return this card's <code>Rank</code>.
+	  */
+	  public Rank getRank() {
+	    return this.rank;
+	  }
+
+	  /**
+	    Returns this card's <code>Rank</code> as a string.
+
+	    @retrun this card's value as a string.
+	  */
+	  public String getRankAsString() {
+	    return this.rank.getRankValue();
+	  }
+
+	  /**
+	    Gets this card's <code>Suit</code>.
+
+	    @return this card's <code>Suit</code>.
+	  */
+	  public Suit getSuit() {
+	    return this.suit;
+	  }
+
+	  /**
+	    Returns this card's <code>Suit</code> as a unicode symbol.
+
+	    @retrun this card's <code>Suit</code> as a unicode symbol for card suits.
+	  */
+	  public String getSuitAsString() {
+	    return this.suit.getSuitSymbol();
+	  }
+	  
+	  /**
+	    Returns the name of the <code>PlayingCard</code> object in the form of "[<code>Rank</code> of <code>Suit</code>]". A hand shows its face down cards as [CARD] instead.
+
+	    @return the name of the playing card.
+	  */
+	  @Override
+	  public String toString() {
+	    return this.text;
+	  }
+	}
\ No newline at end of file
@@ -0,0 +1,346 @@
+package com.braithiar.blackjack;
+
+/**
+  An immutable set of table rules: when the dealer stays, what a natural blackjack pays, and whether the player may double, split or surrender. Variants are made from the constants with the <code>withX</code> methods, each of which returns a new <code>Rules</code> and leaves the original alone, so one rule set can be shared by any number of tables and threads.
+  <p>
+  The dealer's hit or stay decision for every score is worked out once when the rules are made, so the engines look it up per card instead of re-evaluating the rules.
+  */
+public final class Rules {
+  /**
+    The most hands a player can split into.
+  */
+  public static final int MAX_SPLIT_HANDS = 4;
+
+  /**
+    Net results are kept in tenths of a bet so that payouts such as 3:2 and 6:5 stay exact.
+  */
+  public static final int TENTHS = 10;
+
+  /**
+    The rules of the console game: the dealer stays on all 17s, a natural is just another 21, and the player can only hit or stay.
+  */
+  public static final Rules CLASSIC = new Rules(17, false, false, 1, 1, false, false, 1, false);
+
+  /**
+    Common casino rules: the dealer stays on all 17s and peeks for blackjack, naturals pay 3:2, and the player may double on any two cards, double after splitting, and split up to four hands.
+  */
+  public static final Rules STANDARD = CLASSIC.withNaturals(true)
+                                              .withBlackjackPayout(3, 2)
+                                              .withDoubleDown(true)
+                                              .withDoubleAfterSplit(true)
+                                              .withMaxSplitHands(MAX_SPLIT_HANDS);
+
+  /**
+    Offset of the soft scores in <code>dealerHits</code>. It is above any score the dealer can bust with, so a bust hand needs no check of its own.
+  */
+  private static final int SOFT = 32;
+
+  private final int dealerStandScore;
+  private final boolean dealerHitsSoftStand;
+  private final boolean naturals;
+  private final int payoutNumerator;
+  private final int payoutDenominator;
+  private final boolean doubleDown;
+  private final boolean doubleAfterSplit;
+  private final int maxSplitHands;
+  private final boolean surrender;
+
+  /**
+    Whether the dealer hits, indexed by score for hard hands and by <code>SOFT</code> plus score for soft hands.
+  */
+  private final boolean[] dealerHits;
+
+  private Rules(int dealerStandScore, boolean dealerHitsSoftStand, boolean naturals, int payoutNumerator, int payoutDenominator,
+                boolean doubleDown, boolean doubleAfterSplit, int maxSplitHands, boolean surrender) {
+    if (dealerStandScore < 2 || dealerStandScore > HandTotal.MAX_SCORE) {
+      throw buildIllegalStandScoreException(dealerStandScore);
+    }
+
+    if (payoutNumerator < 1 || payoutDenominator < 1 || (payoutNumerator * TENTHS) % payoutDenominator != 0) {
+      throw buildIllegalPayoutException(payoutNumerator, payoutDenominator);
+    }
+
+    if (maxSplitHands < 1 || maxSplitHands > MAX_SPLIT_HANDS) {
+      throw buildIllegalSplitHandsException(maxSplitHands);
+    }
+
+    this.dealerStandScore = dealerStandScore;
+    this.dealerHitsSoftStand = dealerHitsSoftStand;
+    this.naturals = naturals;
+    this.payoutNumerator = payoutNumerator;
+    this.payoutDenominator = payoutDenominator;
+    this.doubleDown = doubleDown;
+    this.doubleAfterSplit = doubleAfterSplit;
+    this.maxSplitHands = maxSplitHands;
+    this.surrender = surrender;
+    this.dealerHits = new boolean[SOFT * 2];
+
+    for (int score = 0; score < SOFT; ++score) {
+      this.dealerHits[score] = score < dealerStandScore;
+      this.dealerHits[SOFT + score] = score < dealerStandScore || (dealerHitsSoftStand && score == dealerStandScore);
+    }
+  }
+
+  /**
+    Returns whether the dealer takes another card on <code>dealer</code>.
+
+    @param dealer the dealer's hand total.
+    @return true if the dealer hits.
+  */
+  public boolean dealerHits(HandTotal dealer) {
+    return this.dealerHits[dealer.isSoft() ? SOFT + dealer.getScore() : dealer.getScore()];
+  }
+
+  /**
+    Returns the lowest score the dealer stays on.
+
+    @return the dealer's stand score.
+  */
+  public int getDealerStandScore() {
+    return this.dealerStandScore;
+  }
+
+  /**
+    Returns whether the dealer hits a soft hand on the stand score, i.e. hits soft 17 (H17) rather than staying on it (S17).
+
+    @return true if the dealer hits soft stand scores.
+  */
+  public boolean isDealerHitsSoftStand() {
+    return this.dealerHitsSoftStand;
+  }
+
+  /**
+    Returns whether a two-card 21 is a natural blackjack, paid at the blackjack payout and checked for by the dealer before anyone plays.
+
+    @return true if naturals are recognised.
+  */
+  public boolean isNaturals() {
+    return this.naturals;
+  }
+
+  /**
+    Returns the numerator of the blackjack payout, e.g. 3 for 3:2.
+
+    @return the payout numerator.
+  */
+  public int getPayoutNumerator() {
+    return this.payoutNumerator;
+  }
+
+  /**
+    Returns the denominator of the blackjack payout, e.g. 2 for 3:2.
+
+    @return the payout denominator.
+  */
+  public int getPayoutDenominator() {
+    return this.payoutDenominator;
+  }
+
+  /**
+    Returns what a natural blackjack wins on a bet of 1, in <code>TENTHS</code>.
+
+    @return the blackjack payout in tenths.
+  */
+  public int getBlackjackPayoutTenths() {
+    return this.payoutNumerator * TENTHS / this.payoutDenominator;
+  }
+
+  /**
+    Returns whether the player may double down on their first two cards.
+
+    @return true if doubling is allowed.
+  */
+  public boolean isDoubleDown() {
+    return this.doubleDown;
+  }
+
+  /**
+    Returns whether the player may double down on a hand made by splitting.
+
+    @return true if doubling after a split is allowed.
+  */
+  public boolean isDoubleAfterSplit() {
+    return this.doubleAfterSplit;
+  }
+
+  /**
+    Returns the most hands a player can split into; 1 means no splitting.
+
+    @return the most hands per player.
+  */
+  public int getMaxSplitHands() {
+    return this.maxSplitHands;
+  }
+
+  /**
+    Returns whether the player may give up half their bet instead of playing their first two cards. This is late surrender; when naturals are recognised, the dealer has already checked for blackjack.
+
+    @return true if surrender is allowed.
+  */
+  public boolean isSurrender() {
+    return this.surrender;
+  }
+
+  /**
+    Returns these rules with the dealer staying on <code>dealerStandScore</code>.
+
+    @param dealerStandScore the lowest score the dealer stays on.
+    @return the changed rules.
+  */
+  public Rules withDealerStandScore(int dealerStandScore) {
+    return new Rules(dealerStandScore, this.dealerHitsSoftStand, this.naturals, this.payoutNumerator, this.payoutDenominator,
+                     this.doubleDown, this.doubleAfterSplit, this.maxSplitHands, this.surrender);
+  }
+
+  /**
+    Returns these rules with the dealer hitting or staying on a soft stand score.
+
+    @param dealerHitsSoftStand true for H17, false for S17.
+    @return the changed rules.
+  */
+  public Rules withDealerHitsSoftStand(boolean dealerHitsSoftStand) {
+    return new Rules(this.dealerStandScore, dealerHitsSoftStand, this.naturals, this.payoutNumerator, this.payoutDenominator,
+                     this.doubleDown, this.doubleAfterSplit, this.maxSplitHands, this.surrender);
+  }
+
+  /**
+    Returns these rules with natural blackjacks recognised or not.
+
+    @param naturals true to recognise naturals.
+    @return the changed rules.
+  */
+  public Rules withNaturals(boolean naturals) {
+    return new Rules(this.dealerStandScore, this.dealerHitsSoftStand, naturals, this.payoutNumerator, this.payoutDenominator,
+                     this.doubleDown, this.doubleAfterSplit, this.maxSplitHands, this.surrender);
+  }
+
+  /**
+    Returns these rules with naturals paying <code>numerator</code>:<code>denominator</code>. The payout must come to a whole number of tenths.
+
+    @param numerator the payout numerator, e.g. 6 for 6:5.
+    @param denominator the payout denominator, e.g. 5 for 6:5.
+    @return the changed rules.
+  */
+  public Rules withBlackjackPayout(int numerator, int denominator) {
+    return new Rules(this.dealerStandScore, this.dealerHitsSoftStand, this.naturals, numerator, denominator,
+                     this.doubleDown, this.doubleAfterSplit, this.maxSplitHands, this.surrender);
+  }
+
+  /**
+    Returns these rules with doubling down allowed or not.
+
+    @param doubleDown true to allow doubling.
+    @return the changed rules.
+  */
+  public Rules withDoubleDown(boolean doubleDown) {
+    return new Rules(this.dealerStandScore, this.dealerHitsSoftStand, this.naturals, this.payoutNumerator, this.payoutDenominator,
+                     doubleDown, this.doubleAfterSplit, this.maxSplitHands, this.surrender);
+  }
+
+  /**
+    Returns these rules with doubling after a split allowed or not.
+
+    @param doubleAfterSplit true to allow doubling after a split.
+    @return the changed rules.
+  */
+  public Rules withDoubleAfterSplit(boolean doubleAfterSplit) {
+    return new Rules(this.dealerStandScore, this.dealerHitsSoftStand, this.naturals, this.payoutNumerator, this.payoutDenominator,
+                     this.doubleDown, doubleAfterSplit, this.maxSplitHands, this.surrender);
+  }
+
+  /**
+    Returns these rules with splitting allowed up to <code>maxSplitHands</code> hands.
+
+    @param maxSplitHands the most hands per player, from 1 (no splitting) to <code>MAX_SPLIT_HANDS</code>.
+    @return the changed rules.
+  */
+  public Rules withMaxSplitHands(int maxSplitHands) {
+    return new Rules(this.dealerStandScore, this.dealerHitsSoftStand, this.naturals, this.payoutNumerator, this.payoutDenominator,
+                     this.doubleDown, this.doubleAfterSplit, maxSplitHands, this.surrender);
+  }
+
+  /**
+    Returns these rules with surrender allowed or not.
+
+    @param surrender true to allow surrender.
+    @return the changed rules.
+  */
+  public Rules withSurrender(boolean surrender) {
+    return new Rules(this.dealerStandScore, this.dealerHitsSoftStand, this.naturals, this.payoutNumerator, this.payoutDenominator,
+                     this.doubleDown, this.doubleAfterSplit, this.maxSplitHands, surrender);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+
+    if (!(o instanceof Rules)) {
+      return false;
+    }
+
+    Rules other = (Rules) o;
+
+    return this.dealerStandScore == other.dealerStandScore && this.dealerHitsSoftStand == other.dealerHitsSoftStand &&
+           this.naturals == other.naturals && this.getBlackjackPayoutTenths() == other.getBlackjackPayoutTenths() &&
+           this.doubleDown == other.doubleDown && this.doubleAfterSplit == other.doubleAfterSplit &&
+           this.maxSplitHands == other.maxSplitHands && this.surrender == other.surrender;
+  }
+
+  @Override
+  public int hashCode() {
+    int hash = this.dealerStandScore;
+
+    hash = hash * 31 + (this.dealerHitsSoftStand ? 1 : 0);
+    hash = hash * 31 + (this.naturals ? 1 : 0);
+    hash = hash * 31 + this.getBlackjackPayoutTenths();
+    hash = hash * 31 + (this.doubleDown ? 1 : 0);
+    hash = hash * 31 + (this.doubleAfterSplit ? 1 : 0);
+    hash = hash * 31 + this.maxSplitHands;
+    hash = hash * 31 + (this.surrender ? 1 : 0);
+
+    return hash;
+  }
+
+  /**
+    Converts <code>Rules</code> to a short description such as <code>S17, BJ 3:2, DA2, DAS, SP4</code>.
+  */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+
+    sb.append(this.dealerHitsSoftStand ? 'H' : 'S').append(this.dealerStandScore);
+    sb.append(this.naturals ? ", BJ " + this.payoutNumerator + ":" + this.payoutDenominator : ", no BJ");
+
+    if (this.doubleDown) {
+      sb.append(", DA2");
+    }
+
+    if (this.doubleAfterSplit) {
+      sb.append(", DAS");
+    }
+
+    if (this.maxSplitHands > 1) {
+      sb.append(", SP").append(this.maxSplitHands);
+    }
+
+    if (this.surrender) {
+      sb.append(", LS");
+    }
+
+    return sb.toString();
+  }
+
+  private static final IllegalArgumentException buildIllegalStandScoreException(int score) {
+    return new IllegalArgumentException(score + " is not a valid dealer stand score. It must be from 2 to " + HandTotal.MAX_SCORE + ".");
+  }
+
+  private static final IllegalArgumentException buildIllegalPayoutException(int numerator, int denominator) {
+    return new IllegalArgumentException(numerator + ":" + denominator + " is not a valid blackjack payout. Both sides must be positive and it must come to a whole number of tenths.");
+  }
+
+  private static final IllegalArgumentException buildIllegalSplitHandsException(int hands) {
+    return new IllegalArgumentException(hands + " is not a valid number of split hands. It must be from 1 to " + MAX_SPLIT_HANDS + ".");
+  }
+}
@@ -0,0 +1,381 @@
+package com.braithiar.blackjack;
+
+import com.braithiar.blackjack.metrics.Metrics;
+import com.braithiar.blackjack.random.RandomAlgorithm;
+import java.util.random.RandomGenerator;
+
+/**
+  A dealing shoe of 1 to <code>MAX_DECKS</code> standard decks with a cut card. Rounds are dealt from the same shoe until the cut card comes out; the next round then starts by reshuffling the same backing array in place, so an unseeded shoe never allocates after construction.
+
+  <p>A shoe in <code>ShuffleMode.LAZY</code> skips the up front shuffle and instead picks each card at random as it is drawn, so a reshuffle costs nothing and only dealt cards pay for randomness.</p>
+
+  <p>A seeded shoe starts every shuffle from the same order with a fresh generator whose seed is derived from the shoe's seed and the shuffle's number. Shuffle <code>n</code> then always deals the same way, so any shoe of a game can be dealt again from the seed alone with <code>shuffleTo(n)</code>. A seeded shoe creates one generator per shuffle and nothing else.</p>
+
+  <p>Call <code>startRound()</code> before dealing each round. If a round runs the shoe dry before the cut card is acted on, the discards from earlier rounds are reshuffled and dealing carries on, leaving the cards on the table untouched. A single round cannot use more cards than the shoe holds: if every card is already on the table, as can happen with one deck, a full table and splits, drawing throws <code>IllegalStateException</code>.</p>
+*/
+public class Shoe extends ByteDeck {
+  /**
+    The most decks a shoe can hold.
+  */
+  public static final int MAX_DECKS = 8;
+
+  /**
+    The number of decks in this shoe.
+  */
+  private final int numDecks;
+
+  /**
+    Index of the cut card. Once <code>cursor</code> reaches it the shoe is reshuffled before the next round.
+  */
+  private final int cutCard;
+
+  /**
+    The generator used for every reshuffle of this shoe, or of the current shuffle if this shoe is seeded.
+  */
+  private RandomGenerator rng;
+
+  /**
+    The algorithm each shuffle's generator is created with, or <code>null</code> if this shoe is not seeded.
+  */
+  private final RandomAlgorithm algorithm;
+
+  /**
+    The seed every shuffle's seed is derived from, if this shoe is seeded.
+  */
+  private final long seed;
+
+  /**
+    True if this shoe shuffles incrementally as cards are drawn.
+  */
+  private final boolean lazy;
+
+  /**
+    Index of the first card dealt in the current round.
+  */
+  private int roundStart;
+
+  /**
+    The number of full shuffles since this shoe was made, counting the one it was made with.
+  */
+  private int shuffleCount;
+
+  /**
+    Constructs a shuffled <code>Shoe</code> that shuffles eagerly.
+
+    @param numDecks the number of decks in the shoe, from 1 to <code>MAX_DECKS</code>.
+    @param penetration the fraction of the shoe dealt before the cut card, from 0 up to but not including 1. A penetration of 0 reshuffles before every round.
+    @param rng the generator used for every shuffle of this shoe.
+  */
+  public Shoe(int numDecks, double penetration, RandomGenerator rng) {
+    this(numDecks, penetration, rng, ShuffleMode.EAGER);
+  }
+
+  /**
+    Constructs a shuffled <code>Shoe</code>.
+
+    @param numDecks the number of decks in the shoe, from 1 to <code>MAX_DECKS</code>.
+    @param penetration the fraction of the shoe dealt before the cut card, from 0 up to but not including 1. A penetration of 0 reshuffles before every round.
+    @param rng the generator used for every shuffle of this shoe.
+    @param mode whether the shoe is shuffled up front or as cards are drawn.
+  */
+  public Shoe(int numDecks, double penetration, RandomGenerator rng, ShuffleMode mode) {
+    this(numDecks, penetration, rng, null, 0, mode);
+  }
+
+  /**
+    Constructs a seeded <code>Shoe</code> that shuffles eagerly.
+
+    @param numDecks the number of decks in the shoe, from 1 to <code>MAX_DECKS</code>.
+    @param penetration the fraction of the shoe dealt before the cut card, from 0 up to but not including 1. A penetration of 0 reshuffles before every round.
+    @param algorithm the algorithm each shuffle's generator is created with.
+    @param seed the seed that determines every shuffle of this shoe.
+  */
+  public Shoe(int numDecks, double penetration, RandomAlgorithm algorithm, long seed) {
+    this(numDecks, penetration, algorithm, seed, ShuffleMode.EAGER);
+  }
+
+  /**
+    Constructs a seeded <code>Shoe</code>.
+
+    @param numDecks the number of decks in the shoe, from 1 to <code>MAX_DECKS</code>.
+    @param penetration the fraction of the shoe dealt before the cut card, from 0 up to but not including 1. A penetration of 0 reshuffles before every round.
+    @param algorithm the algorithm each shuffle's generator is created with.
+    @param seed the seed that determines every shuffle of this shoe.
+    @param mode whether the shoe is shuffled up front or as cards are drawn.
+  */
+  public Shoe(int numDecks, double penetration, RandomAlgorithm algorithm, long seed, ShuffleMode mode) {
+    this(numDecks, penetration, null, algorithm, seed, mode);
+  }
+
+  private Shoe(int numDecks, double penetration, RandomGenerator rng, RandomAlgorithm algorithm, long seed, ShuffleMode mode) {
+    super(validateDecks(numDecks));
+
+    if (!(penetration >= 0.0 && penetration < 1.0)) {
+      throw buildIllegalPenetrationException(penetration);
+    }
+
+    this.numDecks = numDecks;
+    this.cutCard = (int) (penetration * this.cards.length);
+    this.rng = rng;
+    this.algorithm = algorithm;
+    this.seed = seed;
+    this.lazy = mode == ShuffleMode.LAZY;
+
+    shuffle();
+  }
+
+  /**
+    Returns every card to the shoe and shuffles it in place. A lazy shoe defers the shuffle to <code>draw()</code>.
+  */
+  public void shuffle() {
+    long start = Metrics.ENABLED ? System.nanoTime() : 0;
+
+    if (this.algorithm != null) {
+      restoreOrder();
+      this.rng = this.algorithm.create(RandomAlgorithm.deriveSeed(this.seed, this.shuffleCount + 1));
+    } else {
+      reset();
+    }
+
+    if (!this.lazy) {
+      shuffle(this.rng);
+    }
+
+    this.roundStart = 0;
+    ++this.shuffleCount;
+
+    if (Metrics.ENABLED) {
+      Metrics.SHUFFLE_NANOS.record(System.nanoTime() - start);
+    }
+  }
+
+  /**
+    Shuffles a seeded shoe the same way as its <code>shuffleNumber</code>th shuffle, without going through the ones before it.
+
+    @param shuffleNumber the shuffle to deal from next, counting the one the shoe was made with as 1.
+  */
+  public void shuffleTo(int shuffleNumber) {
+    if (this.algorithm == null) {
+      throw buildNotSeededException();
+    }
+
+    if (shuffleNumber < 1) {
+      throw buildIllegalShuffleNumberException(shuffleNumber);
+    }
+
+    this.shuffleCount = shuffleNumber - 1;
+    shuffle();
+  }
+
+  /**
+    Prepares the shoe for a new round, reshuffling first if the cut card has been reached.
+
+    @return true if the shoe was reshuffled.
+  */
+  public boolean startRound() {
+    boolean reshuffled = isCutCardReached();
+
+    if (reshuffled) {
+      shuffle();
+    }
+
+    this.roundStart = this.cursor;
+
+    return reshuffled;
+  }
+
+  /**
+    Returns true if the cut card has come out and the shoe will be reshuffled before the next round.
+
+    @return true if the cut card has been reached.
+  */
+  public boolean isCutCardReached() {
+    return this.cursor >= this.cutCard;
+  }
+
+  /**
+    Draws a card from the shoe. If the shoe is empty, the discards from earlier rounds are reshuffled first.
+
+    @return the drawn card, encoded as in <code>Cards</code>.
+    @throws IllegalStateException if the current round already holds every card in the shoe.
+  */
+  @Override
+  public byte draw() {
+    if (this.cursor == this.cards.length) {
+      reshuffleDiscards();
+    }
+
+    if (this.lazy && this.cursor < this.cards.length) {
+      return recordDrawn(Shuffler.drawLazy(this.cards, this.cursor++, this.cards.length, this.rng));
+    }
+
+    return super.draw();
+  }
+
+  /**
+    Draws <code>count</code> cards into <code>dest</code>. When the shoe holds enough cards they are taken in one block, otherwise this falls back to <code>draw()</code>, which reshuffles the discards when the shoe runs dry.
+
+    @param dest the buffer to fill.
+    @param offset the index in <code>dest</code> of the first drawn card.
+    @param count the number of cards to draw.
+    @throws IllegalStateException if the current round would need more cards than the shoe holds.
+  */
+  @Override
+  public void draw(byte[] dest, int offset, int count) {
+    if (count > this.getCardsRemaining()) {
+      for (int i = offset, end = offset + count; i < end; ++i) {
+        dest[i] = this.draw();
+      }
+    } else if (this.lazy) {
+      for (int i = offset, end = offset + count; i < end; ++i) {
+        dest[i] = recordDrawn(Shuffler.drawLazy(this.cards, this.cursor++, this.cards.length, this.rng));
+      }
+    } else {
+      super.draw(dest, offset, count);
+    }
+  }
+
+  /**
+    Returns how this shoe is shuffled.
+
+    @return the shuffle mode.
+  */
+  public ShuffleMode getShuffleMode() {
+    return this.lazy ? ShuffleMode.LAZY : ShuffleMode.EAGER;
+  }
+
+  /**
+    Returns the number of full shuffles since this shoe was made, counting the one it was made with. Reshuffling the discards mid-round does not count.
+
+    @return the number of shuffles.
+  */
+  public int getShuffleCount() {
+    return this.shuffleCount;
+  }
+
+  /**
+    Returns the index of the first card dealt in the current round.
+
+    @return the round's starting position in the shoe.
+  */
+  public int getRoundStart() {
+    return this.roundStart;
+  }
+
+  /**
+    Returns the number of cards dealt since the current round started, including any dealt after the discards were reshuffled mid-round.
+
+    @return the cards dealt in the round.
+  */
+  public int getRoundCards() {
+    return this.cursor - this.roundStart;
+  }
+
+  /**
+    Returns true if every shuffle of this shoe is determined by its seed.
+
+    @return true if this shoe is seeded.
+  */
+  public boolean isSeeded() {
+    return this.algorithm != null;
+  }
+
+  /**
+    Returns the algorithm each shuffle's generator is created with.
+
+    @return the algorithm, or <code>null</code> if this shoe is not seeded.
+  */
+  public RandomAlgorithm getRandomAlgorithm() {
+    return this.algorithm;
+  }
+
+  /**
+    Returns the seed every shuffle of this shoe is derived from.
+
+    @return the seed, or 0 if this shoe is not seeded.
+  */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+    Returns the number of decks in this shoe.
+
+    @return the number of decks.
+  */
+  public int getNumDecks() {
+    return this.numDecks;
+  }
+
+  /**
+    Returns the number of cards dealt before the cut card.
+
+    @return the cut card's position.
+  */
+  public int getCutCard() {
+    return this.cutCard;
+  }
+
+  /**
+    Moves the cards of the current round to the front of the shoe and reshuffles the discards behind them.
+  */
+  private void reshuffleDiscards() {
+    int inPlay = this.cards.length - this.roundStart;
+
+    if (this.roundStart == 0) {
+      //Every card in the shoe is on the table, so there are no discards to deal on with.
+      throw buildRoundExhaustedException(this.cards.length);
+    }
+
+    //Rotate cards[roundStart, length) to the front with three reversals.
+    reverse(0, this.roundStart);
+    reverse(this.roundStart, this.cards.length);
+    reverse(0, this.cards.length);
+
+    this.roundStart = 0;
+    this.cursor = inPlay;
+    //Only the cards on the table are still out of the shoe.
+    recount();
+
+    if (!this.lazy) {
+      Shuffler.shuffle(this.cards, inPlay, this.cards.length, this.rng);
+    }
+  }
+
+  private void reverse(int from, int to) {
+    for (int i = from, j = to - 1; i < j; ++i, --j) {
+      byte swap = this.cards[i];
+
+      this.cards[i] = this.cards[j];
+      this.cards[j] = swap;
+    }
+  }
+
+  private static int validateDecks(int numDecks) {
+    if (numDecks < 1 || numDecks > MAX_DECKS) {
+      throw buildIllegalNumberOfDecksException(numDecks);
+    }
+
+    return numDecks;
+  }
+
+  private static final IllegalArgumentException buildIllegalNumberOfDecksException(int num) {
+    return new IllegalArgumentException(num + " is not a valid number of decks. It must be from 1 to " + MAX_DECKS + ".");
+  }
+
+  private static final IllegalStateException buildRoundExhaustedException(int shoeSize) {
+    return new IllegalStateException("The round has used all " + shoeSize + " cards in the shoe, so there are no discards to reshuffle. Use more decks for tables this large.");
+  }
+
+  private static final IllegalStateException buildNotSeededException() {
+    return new IllegalStateException("Only a seeded shoe can be shuffled to a given shuffle.");
+  }
+
+  private static final IllegalArgumentException buildIllegalShuffleNumberException(int shuffleNumber) {
+    return new IllegalArgumentException(shuffleNumber + " is not a valid shuffle number. Shuffles are counted from 1.");
+  }
+
+  private static final IllegalArgumentException buildIllegalPenetrationException(double penetration) {
+    return new IllegalArgumentException(penetration + " is not a valid penetration. It must be at least 0 and less than 1.");
+  }
+}
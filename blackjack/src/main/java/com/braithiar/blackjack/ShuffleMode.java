@@ -0,0 +1,16 @@
+package com.braithiar.blackjack;
+
+/**
+  Defines when a <code>Shoe</code> pays for its shuffle.
+*/
+public enum ShuffleMode {
+  /**
+    The whole shoe is shuffled up front whenever it is reshuffled.
+  */
+  EAGER,
+
+  /**
+    Reshuffling only returns the cards to the shoe. Each <code>draw()</code> then swaps a random undealt card into place, an incremental Fisher-Yates shuffle that only pays for the cards actually dealt.
+  */
+  LAZY
+}
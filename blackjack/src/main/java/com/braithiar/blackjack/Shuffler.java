@@ -0,0 +1,70 @@
+package com.braithiar.blackjack;
+
+import java.util.random.RandomGenerator;
+
+/**
+  Static Fisher-Yates helpers over primitive card arrays. Bounded indexes are taken with Lemire's multiply-shift method, which needs one 32-bit output and, almost always, no division.
+*/
+public final class Shuffler {
+  private Shuffler() {
+  }
+
+  /**
+    Shuffles <code>cards[from, to)</code> in place.
+
+    @param cards the array holding the cards.
+    @param from the first index to shuffle.
+    @param to one past the last index to shuffle.
+    @param rng the random number generator to shuffle with.
+  */
+  public static void shuffle(byte[] cards, int from, int to, RandomGenerator rng) {
+    for (int i = to - 1; i > from; --i) {
+      swap(cards, i, from + nextIndex(rng, i - from + 1));
+    }
+  }
+
+  /**
+    Performs one step of an incremental Fisher-Yates shuffle: moves a uniformly chosen card from <code>cards[from, to)</code> to <code>cards[from]</code> and returns it. Calling this for <code>from</code>, <code>from + 1</code>, ... deals the cards in a uniformly random order while only paying for the cards actually dealt.
+
+    @param cards the array holding the cards.
+    @param from the index of the next card to deal.
+    @param to one past the last undealt card.
+    @param rng the random number generator to shuffle with.
+    @return the card now at <code>cards[from]</code>.
+  */
+  public static byte drawLazy(byte[] cards, int from, int to, RandomGenerator rng) {
+    swap(cards, from, from + nextIndex(rng, to - from));
+
+    return cards[from];
+  }
+
+  /**
+    Returns a uniformly distributed index in <code>[0, bound)</code>.
+
+    @param rng the random number generator to draw from.
+    @param bound the exclusive upper bound. Must be positive.
+    @return the random index.
+  */
+  public static int nextIndex(RandomGenerator rng, int bound) {
+    long product = (rng.nextInt() & 0xFFFFFFFFL) * bound;
+    int low = (int) product;
+
+    if (Integer.compareUnsigned(low, bound) < 0) {
+      int threshold = Integer.remainderUnsigned(-bound, bound);
+
+      while (Integer.compareUnsigned(low, threshold) < 0) {
+        product = (rng.nextInt() & 0xFFFFFFFFL) * bound;
+        low = (int) product;
+      }
+    }
+
+    return (int) (product >>> 32);
+  }
+
+  private static void swap(byte[] cards, int i, int j) {
+    byte swap = cards[i];
+
+    cards[i] = cards[j];
+    cards[j] = swap;
+  }
+}
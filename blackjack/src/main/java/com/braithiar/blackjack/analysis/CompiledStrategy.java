@@ -0,0 +1,165 @@
+package com.braithiar.blackjack.analysis;
+
+import com.braithiar.blackjack.Composition;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.sim.Action;
+import com.braithiar.blackjack.sim.PlayerStrategy;
+
+/**
+  A <code>StrategyChart</code> compiled for one set of <code>Rules</code>. Every play and its fallbacks are worked out up front for every combination of offered double, split and surrender, so a decision is a little index arithmetic and a single load from a dense byte array, with no branches on the chart's codes.
+  <p>
+  The array is indexed by <code>((soft &lt;&lt; 5 | score) * 10 + up card points - 1) &lt;&lt; 3 | offered</code>, where <code>offered</code> holds the <code>DOUBLE</code>, <code>SPLIT</code> and <code>SURRENDER</code> bits of the options. The <code>Table</code> only offers <code>SPLIT</code> on a pair, so that bit also says the hand is a pair. Entries for hands that cannot occur are filled in all the same, so any index in range is a valid play.
+  */
+public final class CompiledStrategy implements PlayerStrategy {
+  /**
+    Shift taking the double, split and surrender bits of an options mask to the bottom.
+  */
+  private static final int OFFERED_SHIFT = Integer.numberOfTrailingZeros(Action.DOUBLE.bit());
+
+  /**
+    Number of combinations of the double, split and surrender bits.
+  */
+  private static final int OFFERED = 1 << 3;
+
+  /**
+    Scores per soft or hard half of the array; a score below 21 fits in 5 bits.
+  */
+  private static final int SCORES = 1 << 5;
+
+  private static final Action[] ACTIONS = Action.values();
+
+  /**
+    Action ordinals by index; see the class comment for the layout.
+  */
+  private final byte[] actions;
+
+  /**
+    The rules the strategy was compiled for.
+  */
+  private final Rules rules;
+
+  /**
+    Constructs a <code>CompiledStrategy</code> from <code>chart</code>. Use <code>StrategyChart.compile</code>.
+  */
+  CompiledStrategy(StrategyChart chart, Rules rules) {
+    this.rules = rules;
+    this.actions = new byte[2 * SCORES * StrategyChart.UP_CARDS * OFFERED];
+
+    for (int soft = 0; soft < 2; ++soft) {
+      for (int score = 0; score < SCORES; ++score) {
+        for (PlayingCard.Rank up : PlayingCard.Rank.values()) {
+          for (int offered = 0; offered < OFFERED; ++offered) {
+            int options = Action.ALWAYS | offered << OFFERED_SHIFT;
+
+            this.actions[index(soft, score, up.getPoints(), options)] = (byte) this.resolve(chart, soft == 1, score, up, options).ordinal();
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public Action decide(HandTotal hand, PlayingCard.Rank dealerUpCard, Composition shoe, int options) {
+    return ACTIONS[this.actions[index(hand.isSoft() ? 1 : 0, hand.getScore(), dealerUpCard.getPoints(), options)]];
+  }
+
+  /**
+    Returns the action for a hand without going through a <code>HandTotal</code>.
+
+    @param score the hand's score, from 0 to 21.
+    @param isSoft true if the score counts an Ace as 11.
+    @param upCard the dealer's face up card.
+    @param options the actions offered, as a mask of <code>Action.bit()</code> values. <code>SPLIT</code> is only offered on a pair.
+    @return one of the offered actions.
+  */
+  public Action getAction(int score, boolean isSoft, PlayingCard.Rank upCard, int options) {
+    if (score < 0 || score > HandTotal.MAX_SCORE) {
+      throw buildIllegalScoreException(score);
+    }
+
+    return ACTIONS[this.actions[index(isSoft ? 1 : 0, score, upCard.getPoints(), options | Action.ALWAYS)]];
+  }
+
+  @Override
+  public boolean shouldHit(int score, PlayingCard.Rank dealerUpCard) {
+    return this.getAction(score, false, dealerUpCard, Action.ALWAYS) == Action.HIT;
+  }
+
+  @Override
+  public boolean shouldHit(HandTotal hand, PlayingCard.Rank dealerUpCard) {
+    return this.getAction(hand.getScore(), hand.isSoft(), dealerUpCard, Action.ALWAYS) == Action.HIT;
+  }
+
+  /**
+    Returns the rules the strategy was compiled for.
+
+    @return the rules.
+  */
+  public Rules getRules() {
+    return this.rules;
+  }
+
+  private static int index(int soft, int score, int upPoints, int options) {
+    return ((soft << 5 | score) * StrategyChart.UP_CARDS + upPoints - 1) << 3 | (options >>> OFFERED_SHIFT & (OFFERED - 1));
+  }
+
+  /**
+    Works out the chart's play and its fallbacks for one entry.
+  */
+  private Action resolve(StrategyChart chart, boolean isSoft, int score, PlayingCard.Rank up, int options) {
+    int total = Math.min(score, HandTotal.MAX_SCORE);
+
+    if (isSoft) {
+      total = Math.max(total, StrategyTable.MIN_SOFT);
+    } else {
+      total = Math.max(total, StrategyTable.MIN_HARD);
+    }
+
+    StrategyChart.Play byTotal = chart.getPlay(total, isSoft, up);
+
+    if (Action.SPLIT.isAllowed(options)) {
+      //A pair of Aces is the only pair that is soft.
+      PlayingCard.Rank pair = isSoft ? PlayingCard.Rank.ACE : PlayingCard.Rank.values()[Math.min(total / 2, PlayingCard.Rank.TEN.getPoints()) - 1];
+      StrategyChart.Play byPair = chart.getPairPlay(pair, up);
+
+      if (byPair != null) {
+        return this.resolve(byPair, byTotal, options);
+      }
+    }
+
+    return this.resolve(byTotal, byTotal, options);
+  }
+
+  private Action resolve(StrategyChart.Play play, StrategyChart.Play byTotal, int options) {
+    boolean canDouble = Action.DOUBLE.isAllowed(options);
+    boolean canSplit = Action.SPLIT.isAllowed(options);
+    boolean canSurrender = Action.SURRENDER.isAllowed(options);
+
+    switch (play) {
+      case H:
+        return Action.HIT;
+      case S:
+        return Action.STAND;
+      case D:
+        return canDouble ? Action.DOUBLE : Action.HIT;
+      case DS:
+        return canDouble ? Action.DOUBLE : Action.STAND;
+      case P:
+        return canSplit ? Action.SPLIT : this.resolve(byTotal, byTotal, options);
+      case PH:
+        return canSplit && this.rules.isDoubleDown() && this.rules.isDoubleAfterSplit() ? Action.SPLIT : this.resolve(byTotal, byTotal, options);
+      case RH:
+        return canSurrender ? Action.SURRENDER : Action.HIT;
+      case RS:
+        return canSurrender ? Action.SURRENDER : Action.STAND;
+      default:
+        return canSurrender ? Action.SURRENDER : this.resolve(StrategyChart.Play.P, byTotal, options);
+    }
+  }
+
+  private static final IllegalArgumentException buildIllegalScoreException(int score) {
+    return new IllegalArgumentException(score + " is not a valid score. It must be from 0 to " + HandTotal.MAX_SCORE + ".");
+  }
+}
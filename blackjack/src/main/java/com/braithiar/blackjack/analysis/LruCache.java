@@ -0,0 +1,28 @@
+package com.braithiar.blackjack.analysis;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+  Bounded map that evicts the least recently used entry once it holds more than <code>maxEntries</code>. Not thread-safe.
+*/
+final class LruCache<K, V> extends LinkedHashMap<K, V> {
+  private static final long serialVersionUID = 1L;
+
+  private final int maxEntries;
+
+  /**
+    Constructs an empty <code>LruCache</code>.
+
+    @param maxEntries the most entries kept before the oldest is evicted.
+  */
+  LruCache(int maxEntries) {
+    super(16, 0.75f, true);
+    this.maxEntries = maxEntries;
+  }
+
+  @Override
+  protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+    return size() > this.maxEntries;
+  }
+}
@@ -0,0 +1,355 @@
+package com.braithiar.blackjack.analysis;
+
+import com.braithiar.blackjack.Composition;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.Shoe;
+import java.util.Arrays;
+
+/**
+  Exact combinatorial analysis of the game played by <code>Blackjack</code>: the dealer stays on any 17 or greater and hits otherwise, and a player may hit or stay. Given the cards remaining in a deck or shoe, it computes the dealer's final-total distribution for each up card and the expected value of hitting and staying for every player total, by recursing over every card that can come out.
+
+  <p>The remaining cards are tracked as counts per point value and encoded as a single mixed-radix <code>long</code>, which is updated in O(1) as cards are removed and restored. Dealer and player states are memoized under that encoding in bounded least-recently-used caches, so repeated sub-states are only solved once.</p>
+
+  <p>The analysis is total-dependent: the player's first two cards are not removed from the composition, since the table covers every way of making a total. Cards drawn while hitting, the dealer's up card and the dealer's draws are removed exactly. A calculator is not thread-safe.</p>
+*/
+public class StrategyCalculator {
+  /**
+    The dealer stays on this score or greater.
+  */
+  public static final int DEALER_STAND_SCORE = 17;
+
+  /**
+    Default maximum number of memoized states in each cache.
+  */
+  public static final int DEFAULT_CACHE_SIZE = 1 << 20;
+
+  /**
+    Index of the bust probability in a dealer distribution; indexes 0-21 hold the probability of finishing on that score.
+  */
+  public static final int BUST = HandTotal.MAX_SCORE + 1;
+
+  /**
+    Number of distinct point values: Ace (1) through ten-valued cards (10).
+  */
+  private static final int VALUES = 10;
+
+  /**
+    Mixed-radix weight of each point value in a composition key. Every count gets enough room for a full <code>Shoe.MAX_DECKS</code> shoe.
+  */
+  private static final long[] WEIGHTS = new long[VALUES];
+
+  static {
+    long weight = 1;
+
+    for (int i = 0; i < VALUES; ++i) {
+      WEIGHTS[i] = weight;
+      weight *= maxCount(i + 1) + 1;
+    }
+  }
+
+  /**
+    Memoized dealer distributions keyed by composition and dealer hand.
+  */
+  private final LruCache<Long, double[]> dealerCache;
+
+  /**
+    Memoized hit values keyed by composition, player hand and dealer up card.
+  */
+  private final LruCache<Long, Double> playerCache;
+
+  /**
+    The working composition: remaining cards by point value, index <code>points - 1</code>.
+  */
+  private final int[] counts = new int[VALUES];
+
+  /**
+    Total number of cards in the working composition.
+  */
+  private int remaining;
+
+  /**
+    Mixed-radix encoding of the working composition.
+  */
+  private long compositionKey;
+
+  /**
+    Constructs a <code>StrategyCalculator</code> with caches of <code>DEFAULT_CACHE_SIZE</code> entries.
+  */
+  public StrategyCalculator() {
+    this(DEFAULT_CACHE_SIZE);
+  }
+
+  /**
+    Constructs a <code>StrategyCalculator</code>.
+
+    @param maxCacheEntries the most states kept in each memo cache before the least recently used is evicted.
+  */
+  public StrategyCalculator(int maxCacheEntries) {
+    if (maxCacheEntries < 1) {
+      throw buildIllegalCacheSizeException(maxCacheEntries);
+    }
+
+    this.dealerCache = new LruCache<>(maxCacheEntries);
+    this.playerCache = new LruCache<>(maxCacheEntries);
+  }
+
+  /**
+    Builds the hit/stay table for the cards remaining in a deck or shoe.
+
+    @param shoe the deck or shoe whose remaining cards are analyzed.
+    @return the expected values of every decision.
+  */
+  public StrategyTable analyze(Composition shoe) {
+    return analyze(shoe.getRankCounts());
+  }
+
+  /**
+    Builds the hit/stay table for the given remaining cards.
+
+    @param rankCounts the number of remaining cards of each rank, indexed by <code>Rank.ordinal()</code>.
+    @return the expected values of every decision.
+  */
+  public StrategyTable analyze(int[] rankCounts) {
+    double[][][] stand = new double[2][StrategyTable.TOTALS][VALUES];
+    double[][][] hit = new double[2][StrategyTable.TOTALS][VALUES];
+
+    load(rankCounts);
+
+    for (int up = 1; up <= VALUES; ++up) {
+      if (this.counts[up - 1] == 0) {
+        continue;
+      }
+
+      remove(up);
+
+      for (int total = StrategyTable.MIN_HARD; total <= HandTotal.MAX_SCORE; ++total) {
+        stand[0][total][up - 1] = standValue(total, up);
+        hit[0][total][up - 1] = hitValue(total, false, up);
+      }
+
+      for (int total = StrategyTable.MIN_SOFT; total <= HandTotal.MAX_SCORE; ++total) {
+        stand[1][total][up - 1] = standValue(total, up);
+        hit[1][total][up - 1] = hitValue(total - 10, true, up);
+      }
+
+      restore(up);
+    }
+
+    return new StrategyTable(stand, hit);
+  }
+
+  /**
+    Computes the dealer's final-total distribution when showing <code>upCard</code>, with the up card already removed from <code>rankCounts</code>.
+
+    @param rankCounts the number of remaining cards of each rank, indexed by <code>Rank.ordinal()</code>.
+    @param upCard the dealer's face up card.
+    @return the probability of each final score at indexes 0-21, and of busting at <code>BUST</code>.
+  */
+  public double[] dealerDistribution(int[] rankCounts, PlayingCard.Rank upCard) {
+    load(rankCounts);
+
+    int up = upCard.getPoints();
+
+    return dealer(up, up == 1).clone();
+  }
+
+  /**
+    Drops every memoized state.
+  */
+  public void clearCache() {
+    this.dealerCache.clear();
+    this.playerCache.clear();
+  }
+
+  /**
+    Expected value of staying on <code>score</code> against the current composition.
+  */
+  private double standValue(int score, int up) {
+    double[] dist = dealer(up, up == 1);
+    double value = dist[BUST];
+
+    for (int t = 0; t <= HandTotal.MAX_SCORE; ++t) {
+      if (t < score) {
+        value += dist[t];
+      } else if (t > score) {
+        value -= dist[t];
+      }
+    }
+
+    return value;
+  }
+
+  /**
+    Expected value of taking one card and then playing the better of hitting and staying, from a hand of <code>hard</code> points that holds an Ace if <code>soft</code>.
+  */
+  private double hitValue(int hard, boolean soft, int up) {
+    if (this.remaining == 0) {
+      return standValue(score(hard, soft), up);
+    }
+
+    long key = ((this.compositionKey * (HandTotal.MAX_SCORE + 1) + hard) * 2 + (soft ? 1 : 0)) * VALUES + (up - 1);
+    Double cached = this.playerCache.get(key);
+
+    if (cached != null) {
+      return cached;
+    }
+
+    double value = 0.0;
+    double total = this.remaining;
+
+    for (int v = 1; v <= VALUES; ++v) {
+      int n = this.counts[v - 1];
+
+      if (n == 0) {
+        continue;
+      }
+
+      int nextHard = hard + v;
+      double p = n / total;
+
+      if (nextHard > HandTotal.MAX_SCORE) {
+        value -= p;
+        continue;
+      }
+
+      boolean nextSoft = soft || v == 1;
+
+      remove(v);
+
+      double best = standValue(score(nextHard, nextSoft), up);
+
+      if (score(nextHard, nextSoft) < HandTotal.MAX_SCORE) {
+        best = Math.max(best, hitValue(nextHard, nextSoft, up));
+      }
+
+      restore(v);
+      value += p * best;
+    }
+
+    this.playerCache.put(key, value);
+
+    return value;
+  }
+
+  /**
+    Distribution of the dealer's final score from a hand of <code>hard</code> points that holds an Ace if <code>soft</code>. The returned array is shared with the cache and must not be modified.
+  */
+  private double[] dealer(int hard, boolean soft) {
+    long key = (this.compositionKey * DEALER_STAND_SCORE + hard) * 2 + (soft ? 1 : 0);
+    double[] cached = this.dealerCache.get(key);
+
+    if (cached != null) {
+      return cached;
+    }
+
+    double[] dist = new double[BUST + 1];
+
+    if (this.remaining == 0) {
+      //Out of cards: the dealer has to stay where they are.
+      dist[score(hard, soft)] = 1.0;
+    } else {
+      double total = this.remaining;
+
+      for (int v = 1; v <= VALUES; ++v) {
+        int n = this.counts[v - 1];
+
+        if (n == 0) {
+          continue;
+        }
+
+        double p = n / total;
+        int nextHard = hard + v;
+        boolean nextSoft = soft || v == 1;
+        int nextScore = score(nextHard, nextSoft);
+
+        if (nextHard > HandTotal.MAX_SCORE) {
+          dist[BUST] += p;
+        } else if (nextScore >= DEALER_STAND_SCORE) {
+          dist[nextScore] += p;
+        } else {
+          remove(v);
+
+          double[] next = dealer(nextHard, nextSoft);
+
+          restore(v);
+
+          for (int i = 0; i < dist.length; ++i) {
+            dist[i] += p * next[i];
+          }
+        }
+      }
+    }
+
+    this.dealerCache.put(key, dist);
+
+    return dist;
+  }
+
+  private static int score(int hard, boolean soft) {
+    return soft && hard + 10 <= HandTotal.MAX_SCORE ? hard + 10 : hard;
+  }
+
+  /**
+    Replaces the working composition with <code>rankCounts</code>, folded by point value.
+  */
+  private void load(int[] rankCounts) {
+    PlayingCard.Rank[] ranks = PlayingCard.Rank.values();
+
+    if (rankCounts.length != ranks.length) {
+      throw buildIllegalCountsException(rankCounts.length);
+    }
+
+    Arrays.fill(this.counts, 0);
+    this.remaining = 0;
+    this.compositionKey = 0;
+
+    for (PlayingCard.Rank r : ranks) {
+      if (rankCounts[r.ordinal()] < 0) {
+        throw buildIllegalCountsException(rankCounts.length);
+      }
+
+      this.counts[r.getPoints() - 1] += rankCounts[r.ordinal()];
+      this.remaining += rankCounts[r.ordinal()];
+    }
+
+    for (int i = 0; i < VALUES; ++i) {
+      if (this.counts[i] > maxCount(i + 1)) {
+        throw buildTooManyCardsException();
+      }
+
+      this.compositionKey += this.counts[i] * WEIGHTS[i];
+    }
+  }
+
+  private void remove(int points) {
+    --this.counts[points - 1];
+    --this.remaining;
+    this.compositionKey -= WEIGHTS[points - 1];
+  }
+
+  private void restore(int points) {
+    ++this.counts[points - 1];
+    ++this.remaining;
+    this.compositionKey += WEIGHTS[points - 1];
+  }
+
+  /**
+    The most cards of a point value a full shoe can hold.
+  */
+  private static int maxCount(int points) {
+    return Shoe.MAX_DECKS * (points == 10 ? 16 : 4);
+  }
+
+  private static final IllegalArgumentException buildIllegalCacheSizeException(int num) {
+    return new IllegalArgumentException(num + " is not a valid cache size. It must be greater than 0.");
+  }
+
+  private static final IllegalArgumentException buildIllegalCountsException(int length) {
+    return new IllegalArgumentException("Rank counts must be non-negative, with one per Rank, but " + length + " were given.");
+  }
+
+  private static final IllegalArgumentException buildTooManyCardsException() {
+    return new IllegalArgumentException("The rank counts hold more cards than a " + Shoe.MAX_DECKS + " deck shoe.");
+  }
+}
@@ -0,0 +1,423 @@
+package com.braithiar.blackjack.analysis;
+
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.Rules;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+  A basic strategy chart as it is printed: one row per hard total, soft total and pair, one column per dealer up card, and a play in every cell. Charts are read from CSV, where the first line names the columns <code>Hand,2,3,4,5,6,7,8,9,10,A</code> and each following line is a row label and its ten plays. Lines starting with <code>#</code> are comments.
+  <p>
+  Row labels are <code>H</code> and a hard total, <code>S</code> and a soft total, or <code>P</code> and the rank of a pair (<code>2</code> to <code>10</code>, or <code>A</code>). A total row may cover a range, such as <code>H17-21</code>. Totals below a chart's lowest row play like its lowest row and totals above its highest play like its highest, but a gap between rows is an error. A pair with no row is played by its total.
+  <p>
+  A chart is interpreted text; <code>compile</code> turns it into a <code>CompiledStrategy</code> that decides with a single array load.
+  */
+public final class StrategyChart {
+  /**
+    The plays a chart cell can hold. A play that depends on an action the rules do not offer falls back as its name says.
+  */
+  public enum Play {
+    /**
+      Hit.
+    */
+    H,
+    /**
+      Stand.
+    */
+    S,
+    /**
+      Double if allowed, otherwise hit.
+    */
+    D,
+    /**
+      Double if allowed, otherwise stand.
+    */
+    DS,
+    /**
+      Split.
+    */
+    P,
+    /**
+      Split if doubling after a split is allowed, otherwise play the hand by its total.
+    */
+    PH,
+    /**
+      Surrender if allowed, otherwise hit.
+    */
+    RH,
+    /**
+      Surrender if allowed, otherwise stand.
+    */
+    RS,
+    /**
+      Surrender if allowed, otherwise split.
+    */
+    RP;
+
+    /**
+      Returns true if this play splits, so it only belongs in a pair row.
+
+      @return true for the splitting plays.
+    */
+    public boolean isSplit() {
+      return this == P || this == PH || this == RP;
+    }
+
+    /**
+      Returns the play written as <code>code</code>, ignoring case.
+
+      @param code the play as written in a chart.
+      @return the play, or <code>null</code> if the code is not a play.
+    */
+    public static Play fromCode(String code) {
+      for (Play play : values()) {
+        if (play.name().equalsIgnoreCase(code)) {
+          return play;
+        }
+      }
+
+      return null;
+    }
+
+    /**
+      Returns the play as it is written in a chart, such as <code>Ds</code>.
+
+      @return the play's code.
+    */
+    public String getCode() {
+      return this.name().length() == 1 ? this.name() : this.name().charAt(0) + this.name().substring(1).toLowerCase();
+    }
+  }
+
+  /**
+    The number of up card columns.
+  */
+  static final int UP_CARDS = 10;
+
+  /**
+    The column header every chart starts with.
+  */
+  private static final String HEADER = "Hand,2,3,4,5,6,7,8,9,10,A";
+
+  /**
+    Plays by [total][up card points - 1] for hard and soft totals, with every total filled in.
+  */
+  private final Play[][] hard;
+  private final Play[][] soft;
+
+  /**
+    Plays by [pair points][up card points - 1], with <code>null</code> rows for pairs the chart leaves out.
+  */
+  private final Play[][] pairs;
+
+  /**
+    The rows in chart order, one per single label, by label.
+  */
+  private final Map<String, Play[]> rows;
+
+  private StrategyChart(Map<String, Play[]> rows, Play[][] hard, Play[][] soft, Play[][] pairs) {
+    this.rows = Collections.unmodifiableMap(rows);
+    this.hard = hard;
+    this.soft = soft;
+    this.pairs = pairs;
+  }
+
+  /**
+    Returns the basic strategy chart bundled with the game, for 4 to 8 decks with the dealer standing on soft 17.
+
+    @return the bundled chart.
+  */
+  public static StrategyChart basic() {
+    try (InputStream in = StrategyChart.class.getResourceAsStream("basic-strategy.csv")) {
+      return parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+    Reads a chart from a CSV file.
+
+    @param path the chart's path.
+    @return the chart.
+    @throws IOException if the file cannot be read.
+    @throws IllegalArgumentException if the file is not a valid chart.
+  */
+  public static StrategyChart load(Path path) throws IOException {
+    try (Reader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+      return parse(in);
+    }
+  }
+
+  /**
+    Reads a chart from CSV text.
+
+    @param in the chart's text.
+    @return the chart.
+    @throws IOException if the text cannot be read.
+    @throws IllegalArgumentException if the text is not a valid chart.
+  */
+  public static StrategyChart parse(Reader in) throws IOException {
+    BufferedReader lines = new BufferedReader(in);
+    Map<String, Play[]> rows = new LinkedHashMap<>();
+    Play[][] hard = new Play[HandTotal.MAX_SCORE + 1][];
+    Play[][] soft = new Play[HandTotal.MAX_SCORE + 1][];
+    Play[][] pairs = new Play[UP_CARDS + 1][];
+    boolean header = false;
+    int number = 0;
+    String line;
+
+    while ((line = lines.readLine()) != null) {
+      ++number;
+      line = line.trim();
+
+      if (line.isEmpty() || line.startsWith("#")) {
+        continue;
+      }
+
+      String[] cells = line.split(",", -1);
+
+      for (int i = 0; i < cells.length; ++i) {
+        cells[i] = cells[i].trim();
+      }
+
+      if (!header) {
+        if (!String.join(",", cells).equalsIgnoreCase(HEADER)) {
+          throw buildMalformedChartException(number, "the first row must be " + HEADER);
+        }
+
+        header = true;
+        continue;
+      }
+
+      if (cells.length != UP_CARDS + 1) {
+        throw buildMalformedChartException(number, "a row needs a label and " + UP_CARDS + " plays");
+      }
+
+      Play[] plays = new Play[UP_CARDS];
+      String label = cells[0].toUpperCase();
+
+      for (int column = 0; column < UP_CARDS; ++column) {
+        Play play = Play.fromCode(cells[column + 1]);
+
+        if (play == null) {
+          throw buildMalformedChartException(number, "'" + cells[column + 1] + "' is not a play");
+        }
+
+        //Columns run 2-10 then Ace, the arrays run Ace-10.
+        plays[(column + 1) % UP_CARDS] = play;
+      }
+
+      if (label.startsWith("P")) {
+        int points = parsePairPoints(label.substring(1), number);
+
+        addRow(rows, "P" + pairLabel(points), plays, number);
+        pairs[points] = plays;
+      } else if (label.startsWith("H") || label.startsWith("S")) {
+        boolean isSoft = label.charAt(0) == 'S';
+        Play[][] totals = isSoft ? soft : hard;
+        String[] range = label.substring(1).split("-", -1);
+        int from = parseTotal(range[0], isSoft, number);
+        int to = range.length == 2 ? parseTotal(range[1], isSoft, number) : from;
+
+        if (range.length > 2 || to < from) {
+          throw buildMalformedChartException(number, label + " is not a valid range");
+        }
+
+        for (Play play : plays) {
+          if (play.isSplit()) {
+            throw buildMalformedChartException(number, "only pair rows can split");
+          }
+        }
+
+        for (int total = from; total <= to; ++total) {
+          addRow(rows, label.charAt(0) + Integer.toString(total), plays, number);
+          totals[total] = plays;
+        }
+      } else {
+        throw buildMalformedChartException(number, "'" + cells[0] + "' is not a row label");
+      }
+    }
+
+    if (!header) {
+      throw buildMalformedChartException(number, "the chart is empty");
+    }
+
+    fillTotals(hard, StrategyTable.MIN_HARD, "hard");
+    fillTotals(soft, StrategyTable.MIN_SOFT, "soft");
+
+    return new StrategyChart(rows, hard, soft, pairs);
+  }
+
+  /**
+    Compiles this chart into a strategy for <code>rules</code>, which decide how a <code>Ph</code> cell plays.
+
+    @param rules the rules the strategy will play by.
+    @return the compiled strategy.
+  */
+  public CompiledStrategy compile(Rules rules) {
+    return new CompiledStrategy(this, rules);
+  }
+
+  /**
+    Returns the play for a total.
+
+    @param total the hand's total.
+    @param isSoft true if the total counts an Ace as 11.
+    @param upCard the dealer's face up card.
+    @return the play.
+  */
+  public Play getPlay(int total, boolean isSoft, PlayingCard.Rank upCard) {
+    int lowest = isSoft ? StrategyTable.MIN_SOFT : StrategyTable.MIN_HARD;
+
+    if (total < lowest || total > HandTotal.MAX_SCORE) {
+      throw buildIllegalTotalException(total, isSoft);
+    }
+
+    return (isSoft ? this.soft : this.hard)[total][upCard.getPoints() - 1];
+  }
+
+  /**
+    Returns the play for a pair.
+
+    @param pair the rank of the pair.
+    @param upCard the dealer's face up card.
+    @return the play, or <code>null</code> if the chart has no row for the pair.
+  */
+  public Play getPairPlay(PlayingCard.Rank pair, PlayingCard.Rank upCard) {
+    Play[] row = this.pairs[pair.getPoints()];
+
+    return row == null ? null : row[upCard.getPoints() - 1];
+  }
+
+  /**
+    Returns a cell as it is written in the chart.
+
+    @param label the row's label, such as <code>H16</code>, <code>S18</code> or <code>P8</code>; ranges are looked up one total at a time.
+    @param upCard the dealer's face up card.
+    @return the cell's code, or <code>null</code> if the chart has no such row.
+  */
+  public String getCode(String label, PlayingCard.Rank upCard) {
+    Play[] row = this.rows.get(label);
+
+    return row == null ? null : row[upCard.getPoints() - 1].getCode();
+  }
+
+  /**
+    Converts <code>StrategyChart</code> back to CSV, one row per label.
+  */
+  @Override
+  public String toString() {
+    StringBuilder csv = new StringBuilder(HEADER).append('\n');
+
+    for (Map.Entry<String, Play[]> row : this.rows.entrySet()) {
+      csv.append(row.getKey());
+
+      for (int column = 0; column < UP_CARDS; ++column) {
+        csv.append(',').append(row.getValue()[(column + 1) % UP_CARDS].getCode());
+      }
+
+      csv.append('\n');
+    }
+
+    return csv.toString();
+  }
+
+  private static void addRow(Map<String, Play[]> rows, String label, Play[] plays, int number) {
+    if (rows.put(label, plays) != null) {
+      throw buildMalformedChartException(number, label + " is given more than once");
+    }
+  }
+
+  /**
+    Fills totals beyond either end of the chart from its nearest row, and rejects gaps.
+  */
+  private static void fillTotals(Play[][] totals, int lowest, String kind) {
+    int first = lowest;
+
+    while (first <= HandTotal.MAX_SCORE && totals[first] == null) {
+      ++first;
+    }
+
+    if (first > HandTotal.MAX_SCORE) {
+      throw buildMalformedChartException(0, "there are no " + kind + " totals");
+    }
+
+    for (int total = lowest; total < first; ++total) {
+      totals[total] = totals[first];
+    }
+
+    for (int total = first + 1; total <= HandTotal.MAX_SCORE; ++total) {
+      if (totals[total] == null) {
+        boolean gap = false;
+
+        for (int later = total + 1; later <= HandTotal.MAX_SCORE; ++later) {
+          gap |= totals[later] != null;
+        }
+
+        if (gap) {
+          throw buildMalformedChartException(0, "the " + kind + " total " + total + " is missing");
+        }
+
+        totals[total] = totals[total - 1];
+      }
+    }
+  }
+
+  private static int parseTotal(String text, boolean isSoft, int number) {
+    int lowest = isSoft ? StrategyTable.MIN_SOFT : StrategyTable.MIN_HARD;
+
+    try {
+      int total = Integer.parseInt(text);
+
+      if (total >= lowest && total <= HandTotal.MAX_SCORE) {
+        return total;
+      }
+    } catch (NumberFormatException e) {
+      //Reported below.
+    }
+
+    throw buildMalformedChartException(number, "'" + text + "' is not a " + (isSoft ? "soft" : "hard") + " total from " + lowest + " to " + HandTotal.MAX_SCORE);
+  }
+
+  private static int parsePairPoints(String text, int number) {
+    if (text.equals("A")) {
+      return 1;
+    }
+
+    try {
+      int points = Integer.parseInt(text);
+
+      if (points >= 2 && points <= UP_CARDS) {
+        return points;
+      }
+    } catch (NumberFormatException e) {
+      //Reported below.
+    }
+
+    throw buildMalformedChartException(number, "'" + text + "' is not a pair rank from 2 to 10 or A");
+  }
+
+  private static String pairLabel(int points) {
+    return points == 1 ? "A" : Integer.toString(points);
+  }
+
+  private static final IllegalArgumentException buildMalformedChartException(int line, String reason) {
+    return new IllegalArgumentException("Not a valid strategy chart" + (line > 0 ? " at line " + line : "") + ": " + reason + ".");
+  }
+
+  private static final IllegalArgumentException buildIllegalTotalException(int total, boolean isSoft) {
+    return new IllegalArgumentException(total + " is not a valid " + (isSoft ? "soft" : "hard") + " total for the chart.");
+  }
+}
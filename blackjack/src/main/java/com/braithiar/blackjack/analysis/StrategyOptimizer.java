@@ -0,0 +1,404 @@
+package com.braithiar.blackjack.analysis;
+
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import com.braithiar.blackjack.random.RandomAlgorithm;
+import com.braithiar.blackjack.sim.PlayerStrategy;
+import com.braithiar.blackjack.sim.RunningStats;
+import com.braithiar.blackjack.sim.SimulationResult;
+import com.braithiar.blackjack.sim.Table;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.LongFunction;
+
+/**
+  Races candidate strategies or rule variants against each other to find the one that pays the player the most. Every candidate plays the same tables: table <code>k</code> deals from a seeded shoe whose seed is derived from the master seed and <code>k</code>, so each candidate sees the same shuffles and the comparison is between paired results on common random numbers rather than between independent noisy runs. The difference between two close candidates then settles in a small fraction of the rounds it would otherwise take.
+  <p>
+  The race runs in stages. Each stage plays twice as many new tables as the one before for every candidate still in the race, all at once across the pool. After each stage the candidate with the best mean so far leads, and every other candidate whose paired difference from the leader is below zero by more than its confidence interval is dropped, so clearly worse candidates stop costing rounds early while close ones keep running. The race ends when one candidate is left or every survivor has played the round budget.
+*/
+public class StrategyOptimizer {
+  /**
+    The number of rounds each table plays when none is given.
+  */
+  public static final int DEFAULT_ROUNDS_PER_TABLE = 1 << 14;
+
+  /**
+    The number of tables in the first stage when none is given.
+  */
+  public static final int DEFAULT_FIRST_STAGE_TABLES = 32;
+
+  /**
+    A strategy and the rules it plays by, under a name for the standings.
+  */
+  public static final class Candidate {
+    private final String name;
+    private final PlayerStrategy strategy;
+    private final Rules rules;
+
+    /**
+      Constructs a <code>Candidate</code>.
+
+      @param name the name shown in the standings.
+      @param strategy the strategy of the candidate's one seat.
+      @param rules the rules the candidate's tables play by.
+    */
+    public Candidate(String name, PlayerStrategy strategy, Rules rules) {
+      this.name = name;
+      this.strategy = strategy;
+      this.rules = rules;
+    }
+
+    /**
+      Returns the name shown in the standings.
+
+      @return the candidate's name.
+    */
+    public String getName() {
+      return this.name;
+    }
+
+    /**
+      Returns the strategy of the candidate's one seat.
+
+      @return the candidate's strategy.
+    */
+    public PlayerStrategy getStrategy() {
+      return this.strategy;
+    }
+
+    /**
+      Returns the rules the candidate's tables play by.
+
+      @return the candidate's rules.
+    */
+    public Rules getRules() {
+      return this.rules;
+    }
+
+    @Override
+    public String toString() {
+      return this.name;
+    }
+  }
+
+  /**
+    How a candidate finished the race.
+  */
+  public static final class Standing {
+    private final Candidate candidate;
+    private final RunningStats results;
+    private final RunningStats difference;
+    private final int droppedAfterStage;
+
+    private Standing(Candidate candidate, RunningStats results, RunningStats difference, int droppedAfterStage) {
+      this.candidate = candidate;
+      this.results = results;
+      this.difference = difference;
+      this.droppedAfterStage = droppedAfterStage;
+    }
+
+    /**
+      Returns the candidate this standing is for.
+
+      @return the candidate.
+    */
+    public Candidate getCandidate() {
+      return this.candidate;
+    }
+
+    /**
+      Returns the statistics of the candidate's expected value per round, with one value per table it played.
+
+      @return the per-table results.
+    */
+    public RunningStats getResults() {
+      return this.results;
+    }
+
+    /**
+      Returns the statistics of the candidate's result minus the winner's, paired table by table over the tables the candidate played.
+
+      @return the paired differences; empty for the winner.
+    */
+    public RunningStats getDifference() {
+      return this.difference;
+    }
+
+    /**
+      Returns the stage after which the candidate was dropped, counting from 1.
+
+      @return the stage, or 0 if the candidate finished the race.
+    */
+    public int getDroppedAfterStage() {
+      return this.droppedAfterStage;
+    }
+
+    /**
+      Converts <code>Standing</code> to a one line summary of the candidate's result and its difference from the winner.
+    */
+    @Override
+    public String toString() {
+      String s = this.candidate + " | Tables: " + this.results.getCount() + " | EV: " + String.format("%.5f", this.results.getMean());
+
+      if (this.difference.getCount() == 0) {
+        return s + " | Winner";
+      }
+
+      return s + " | vs winner: " + String.format("%.5f", this.difference.getMean()) + " +/- " + String.format("%.5f", this.difference.getHalfWidth(RunningStats.Z_95)) +
+             (this.droppedAfterStage > 0 ? " | Dropped after stage " + this.droppedAfterStage : "");
+    }
+  }
+
+  private final Candidate[] candidates;
+
+  /**
+    Creates table <code>k</code>'s shoe from the seed derived for <code>k</code>.
+  */
+  private final LongFunction<Shoe> shoes;
+
+  private final long masterSeed;
+  private final ForkJoinPool pool;
+  private final int roundsPerTable;
+  private final int firstStageTables;
+
+  /**
+    Standard normal quantile a candidate must be worse than the leader by before it is dropped.
+  */
+  private final double z;
+
+  /**
+    Constructs a <code>StrategyOptimizer</code> on the common pool with the default stage sizes, dropping candidates at 99% confidence.
+
+    @param candidates the candidates to race, at least two.
+    @param shoes creates a table's shoe from its seed, e.g. <code>seed -&gt; new Shoe(6, 0.75, RandomAlgorithm.XOSHIRO, seed)</code>. The shoe must be seeded for every candidate to see the same cards.
+    @param masterSeed the seed every table's seed is derived from.
+  */
+  public StrategyOptimizer(List<Candidate> candidates, LongFunction<Shoe> shoes, long masterSeed) {
+    this(candidates, shoes, masterSeed, ForkJoinPool.commonPool(), DEFAULT_ROUNDS_PER_TABLE, DEFAULT_FIRST_STAGE_TABLES, RunningStats.Z_99);
+  }
+
+  /**
+    Constructs a <code>StrategyOptimizer</code>.
+
+    @param candidates the candidates to race, at least two.
+    @param shoes creates a table's shoe from its seed. The shoe must be seeded for every candidate to see the same cards.
+    @param masterSeed the seed every table's seed is derived from.
+    @param pool the pool to play the tables on.
+    @param roundsPerTable the number of rounds each table plays.
+    @param firstStageTables the number of tables in the first stage; each stage after it plays twice as many.
+    @param z the standard normal quantile of the confidence a candidate is dropped at, such as <code>RunningStats.Z_99</code>.
+  */
+  public StrategyOptimizer(List<Candidate> candidates, LongFunction<Shoe> shoes, long masterSeed, ForkJoinPool pool, int roundsPerTable, int firstStageTables, double z) {
+    if (candidates.size() < 2) {
+      throw buildIllegalNumberOfCandidatesException(candidates.size());
+    }
+
+    if (roundsPerTable < 1 || firstStageTables < 1) {
+      throw buildIllegalStageSizeException(roundsPerTable, firstStageTables);
+    }
+
+    this.candidates = candidates.toArray(new Candidate[0]);
+    this.shoes = shoes;
+    this.masterSeed = masterSeed;
+    this.pool = pool;
+    this.roundsPerTable = roundsPerTable;
+    this.firstStageTables = firstStageTables;
+    this.z = z;
+  }
+
+  /**
+    Runs the race.
+
+    @param maxRounds the most rounds any one candidate plays; at least one table's worth.
+    @return every candidate's standing, best first.
+  */
+  public List<Standing> run(long maxRounds) {
+    long maxTables = maxRounds / this.roundsPerTable;
+
+    if (maxTables < 1) {
+      throw buildIllegalBudgetException(maxRounds, this.roundsPerTable);
+    }
+
+    int n = this.candidates.length;
+    //Expected value per round of every table each candidate played, by [candidate][table].
+    double[][] results = new double[n][0];
+    int[] tablesPlayed = new int[n];
+    int[] droppedAfter = new int[n];
+    List<Integer> racing = new ArrayList<>();
+    int tables = 0;
+    int stageTables = this.firstStageTables;
+
+    for (int c = 0; c < n; ++c) {
+      racing.add(c);
+    }
+
+    for (int stage = 1; racing.size() > 1 && tables < maxTables; ++stage) {
+      int add = (int) Math.min(stageTables, maxTables - tables);
+      int[] playing = racing.stream().mapToInt(Integer::intValue).toArray();
+
+      for (int c : playing) {
+        results[c] = Arrays.copyOf(results[c], tables + add);
+        tablesPlayed[c] = tables + add;
+      }
+
+      this.pool.invoke(new TableTask(playing, tables, add, results, 0, playing.length * add));
+      tables += add;
+      stageTables = (int) Math.min((long) stageTables * 2, Integer.MAX_VALUE);
+
+      int leader = best(racing, results, tables);
+
+      for (int c : playing) {
+        if (c != leader) {
+          RunningStats difference = difference(results[c], results[leader], tables);
+
+          if (difference.getMean() + this.z * difference.getStandardError() < 0) {
+            racing.remove(Integer.valueOf(c));
+            droppedAfter[c] = stage;
+          }
+        }
+      }
+    }
+
+    int winner = best(racing, results, tables);
+    List<Standing> standings = new ArrayList<>(n);
+
+    for (int c = 0; c < n; ++c) {
+      RunningStats own = new RunningStats();
+
+      for (int k = 0; k < tablesPlayed[c]; ++k) {
+        own.add(results[c][k]);
+      }
+
+      standings.add(new Standing(this.candidates[c], own, c == winner ? new RunningStats() : difference(results[c], results[winner], tablesPlayed[c]), droppedAfter[c]));
+    }
+
+    standings.sort(Comparator.comparingDouble((Standing s) -> s.getResults().getMean()).reversed());
+    //The winner leads even if a dropped candidate's shorter run happened to average higher.
+    standings.sort(Comparator.comparingInt((Standing s) -> s.getDroppedAfterStage() == 0 ? 0 : 1));
+
+    return standings;
+  }
+
+  /**
+    Returns the candidate in <code>racing</code> with the highest mean over the first <code>tables</code> tables.
+  */
+  private static int best(List<Integer> racing, double[][] results, int tables) {
+    int best = racing.get(0);
+    double bestMean = Double.NEGATIVE_INFINITY;
+
+    for (int c : racing) {
+      double sum = 0;
+
+      for (int k = 0; k < tables; ++k) {
+        sum += results[c][k];
+      }
+
+      if (sum / tables > bestMean) {
+        best = c;
+        bestMean = sum / tables;
+      }
+    }
+
+    return best;
+  }
+
+  private static RunningStats difference(double[] a, double[] b, int tables) {
+    RunningStats difference = new RunningStats();
+
+    for (int k = 0; k < tables; ++k) {
+      difference.add(a[k] - b[k]);
+    }
+
+    return difference;
+  }
+
+  /**
+    Plays one stage's tables for every racing candidate, recursively halving the range of (candidate, table) jobs.
+  */
+  private final class TableTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final int[] playing;
+    private final int firstTable;
+    private final int tables;
+    private final double[][] results;
+    private final int from;
+    private final int to;
+
+    private TableTask(int[] playing, int firstTable, int tables, double[][] results, int from, int to) {
+      this.playing = playing;
+      this.firstTable = firstTable;
+      this.tables = tables;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from > 1) {
+        int mid = (this.from + this.to) >>> 1;
+
+        invokeAll(new TableTask(this.playing, this.firstTable, this.tables, this.results, this.from, mid),
+                  new TableTask(this.playing, this.firstTable, this.tables, this.results, mid, this.to));
+      } else if (this.to > this.from) {
+        int c = this.playing[this.from / this.tables];
+        int k = this.firstTable + this.from % this.tables;
+        Candidate candidate = candidates[c];
+        Shoe shoe = shoes.apply(RandomAlgorithm.deriveSeed(masterSeed, k));
+        SimulationResult result = new Table(new PlayerStrategy[] {candidate.getStrategy()}, shoe, candidate.getRules()).run(roundsPerTable);
+
+        this.results[c][k] = (double) result.getNetTenths() / ((long) roundsPerTable * Rules.TENTHS);
+      }
+    }
+  }
+
+  /**
+    Races the hit thresholds of the console game's player against the bundled basic strategy, then the dealer's stand score of <code>Blackjack.dealerTurn</code> against its neighbours, and prints the standings.
+
+    @param args the most rounds per candidate, 100 million if not given.
+  */
+  public static void main(String[] args) {
+    long maxRounds = args.length > 0 ? Long.parseLong(args[0]) : 100_000_000L;
+    LongFunction<Shoe> shoes = seed -> new Shoe(6, 0.75, RandomAlgorithm.XOSHIRO, seed);
+    List<Candidate> players = new ArrayList<>();
+    List<Candidate> dealers = new ArrayList<>();
+    PlayerStrategy basic = StrategyChart.basic().compile(Rules.CLASSIC);
+
+    for (int standOn = 12; standOn <= 18; ++standOn) {
+      players.add(new Candidate("Stand on " + standOn, PlayerStrategy.standOn(standOn), Rules.CLASSIC));
+    }
+
+    players.add(new Candidate("Basic strategy", basic, Rules.CLASSIC));
+
+    for (int standScore = 16; standScore <= 18; ++standScore) {
+      dealers.add(new Candidate("Dealer stands on " + standScore, basic, Rules.CLASSIC.withDealerStandScore(standScore)));
+    }
+
+    for (List<Candidate> race : List.of(players, dealers)) {
+      long start = System.nanoTime();
+
+      for (Standing s : new StrategyOptimizer(race, shoes, 42).run(maxRounds)) {
+        System.out.println(s);
+      }
+
+      System.out.println("Raced in " + (System.nanoTime() - start) / 1_000_000 + " ms\n");
+    }
+  }
+
+  private static final IllegalArgumentException buildIllegalNumberOfCandidatesException(int num) {
+    return new IllegalArgumentException(num + " is not a valid number of candidates. A race needs at least 2.");
+  }
+
+  private static final IllegalArgumentException buildIllegalStageSizeException(int roundsPerTable, int firstStageTables) {
+    return new IllegalArgumentException(roundsPerTable + " rounds per table and " + firstStageTables + " tables in the first stage are not valid. Both must be at least 1.");
+  }
+
+  private static final IllegalArgumentException buildIllegalBudgetException(long maxRounds, int roundsPerTable) {
+    return new IllegalArgumentException(maxRounds + " is not a valid round budget. It must cover at least one table of " + roundsPerTable + " rounds.");
+  }
+}
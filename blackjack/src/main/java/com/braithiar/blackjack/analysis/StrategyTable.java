@@ -0,0 +1,133 @@
+package com.braithiar.blackjack.analysis;
+
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.sim.PlayerStrategy;
+
+/**
+  Immutable result of <code>StrategyCalculator.analyze</code>: the expected value of hitting and of staying for every hard total from 4 and soft total from 12, against every dealer up card. It can be played directly as a <code>PlayerStrategy</code>.
+*/
+public final class StrategyTable implements PlayerStrategy {
+  /**
+    Lowest hard total in the table, a pair of Twos.
+  */
+  public static final int MIN_HARD = 4;
+
+  /**
+    Lowest soft total in the table, a pair of Aces.
+  */
+  public static final int MIN_SOFT = 12;
+
+  /**
+    Size of the total dimension of the value arrays.
+  */
+  static final int TOTALS = HandTotal.MAX_SCORE + 1;
+
+  /**
+    Up card labels in column order, Ace last as on printed charts.
+  */
+  private static final String[] UP_CARD_LABELS = {"2", "3", "4", "5", "6", "7", "8", "9", "10", "A"};
+
+  /**
+    Expected value of staying, indexed by [soft][total][up card points - 1].
+  */
+  private final double[][][] stand;
+
+  /**
+    Expected value of hitting and then playing on optimally, indexed by [soft][total][up card points - 1].
+  */
+  private final double[][][] hit;
+
+  /**
+    Constructs a <code>StrategyTable</code>. The arrays become owned by the table.
+  */
+  StrategyTable(double[][][] stand, double[][][] hit) {
+    this.stand = stand;
+    this.hit = hit;
+  }
+
+  /**
+    Returns the expected value of staying.
+
+    @param total the player's score.
+    @param soft true if the score counts an Ace as 11.
+    @param upCard the dealer's face up card.
+    @return the expected value, in bets, of staying.
+  */
+  public double getStandValue(int total, boolean soft, PlayingCard.Rank upCard) {
+    return this.stand[soft ? 1 : 0][checkTotal(total, soft)][upCard.getPoints() - 1];
+  }
+
+  /**
+    Returns the expected value of hitting and then playing on optimally.
+
+    @param total the player's score.
+    @param soft true if the score counts an Ace as 11.
+    @param upCard the dealer's face up card.
+    @return the expected value, in bets, of hitting.
+  */
+  public double getHitValue(int total, boolean soft, PlayingCard.Rank upCard) {
+    return this.hit[soft ? 1 : 0][checkTotal(total, soft)][upCard.getPoints() - 1];
+  }
+
+  @Override
+  public boolean shouldHit(int score, PlayingCard.Rank dealerUpCard) {
+    return shouldHit(score, false, dealerUpCard);
+  }
+
+  @Override
+  public boolean shouldHit(HandTotal hand, PlayingCard.Rank dealerUpCard) {
+    return shouldHit(hand.getScore(), hand.isSoft(), dealerUpCard);
+  }
+
+  private boolean shouldHit(int score, boolean soft, PlayingCard.Rank dealerUpCard) {
+    if (score < MIN_HARD) {
+      return true;
+    }
+
+    return getHitValue(score, soft, dealerUpCard) > getStandValue(score, soft, dealerUpCard);
+  }
+
+  /**
+    Converts <code>StrategyTable</code> to a printable chart of H (hit) and S (stay), hard totals first and then soft totals.
+  */
+  @Override
+  public String toString() {
+    StringBuilder chart = new StringBuilder("        ");
+
+    for (String label : UP_CARD_LABELS) {
+      chart.append(String.format("%3s", label));
+    }
+
+    chart.append('\n');
+    appendRows(chart, false, MIN_HARD, "Hard");
+    appendRows(chart, true, MIN_SOFT, "Soft");
+
+    return chart.toString();
+  }
+
+  private void appendRows(StringBuilder chart, boolean soft, int from, String label) {
+    int s = soft ? 1 : 0;
+
+    for (int total = from; total <= HandTotal.MAX_SCORE; ++total) {
+      chart.append(String.format("%s %2d ", label, total));
+
+      for (int column = 0; column < UP_CARD_LABELS.length; ++column) {
+        //Columns run 2-10 then Ace, the arrays run Ace-10.
+        int up = (column + 1) % UP_CARD_LABELS.length;
+
+        chart.append(this.hit[s][total][up] > this.stand[s][total][up] ? "  H" : "  S");
+      }
+
+      chart.append('\n');
+    }
+  }
+
+  private static int checkTotal(int total, boolean soft) {
+    if (total < (soft ? MIN_SOFT : MIN_HARD) || total > HandTotal.MAX_SCORE) {
+      throw new IllegalArgumentException(total + " is not a valid " + (soft ? "soft" : "hard") + " total for the table.");
+    }
+
+    return total;
+  }
+}
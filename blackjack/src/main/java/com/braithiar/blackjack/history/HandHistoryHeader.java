@@ -0,0 +1,264 @@
+package com.braithiar.blackjack.history;
+
+import com.braithiar.blackjack.Cards;
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import com.braithiar.blackjack.ShuffleMode;
+import com.braithiar.blackjack.random.RandomAlgorithm;
+import java.nio.ByteBuffer;
+
+/**
+  The fixed <code>BYTES</code>-byte header at the start of a hand history log: what every record after it has in common. It names the rules and the shoe the rounds were played with. When the shoe was seeded, a record needs only its shoe number and position to say where its cards came from, and <code>newShoe()</code> deals them again.
+  <pre>
+  offset size field
+       0    4 magic       "BJHH"
+       4    2 version
+       6    2 record size HandRecord.BYTES
+       8    8 seed
+      16    2 cut card
+      18    1 decks
+      19    1 dealer stand score
+      20    1 rule flags  H17, naturals, double down, double after split, surrender from the lowest bit up
+      21    1 blackjack payout numerator
+      22    1 blackjack payout denominator
+      23    1 max split hands
+      24    1 shuffle mode ShuffleMode.ordinal()
+      25    1 algorithm    RandomAlgorithm.ordinal() + 1, or 0 if the shoe was not seeded
+      26    6 reserved
+  </pre>
+  */
+public final class HandHistoryHeader {
+  /**
+    The size of the header in bytes.
+  */
+  public static final int BYTES = 32;
+
+  /**
+    "BJHH" read as a little-endian <code>int</code>.
+  */
+  static final int MAGIC = 'B' | 'J' << 8 | 'H' << 16 | 'H' << 24;
+
+  /**
+    The version of the layout written by this class.
+  */
+  static final int VERSION = 2;
+
+  private static final RandomAlgorithm[] ALGORITHMS = RandomAlgorithm.values();
+
+  private static final int H17 = 1;
+  private static final int NATURALS = 1 << 1;
+  private static final int DOUBLE_DOWN = 1 << 2;
+  private static final int DOUBLE_AFTER_SPLIT = 1 << 3;
+  private static final int SURRENDER = 1 << 4;
+
+  private final Rules rules;
+  private final int numDecks;
+  private final int cutCard;
+  private final ShuffleMode mode;
+  private final RandomAlgorithm algorithm;
+  private final long seed;
+
+  /**
+    Constructs a <code>HandHistoryHeader</code>.
+
+    @param rules the rules the rounds are played by.
+    @param numDecks the number of decks in the shoe, from 1 to 127.
+    @param cutCard the shoe's cut card position, from 0 to 65535.
+    @param mode how the shoe is shuffled.
+    @param algorithm the algorithm the shoe's shuffles are seeded with, or <code>null</code> if the shoe is not seeded.
+    @param seed the shoe's seed, if it is seeded.
+  */
+  public HandHistoryHeader(Rules rules, int numDecks, int cutCard, ShuffleMode mode, RandomAlgorithm algorithm, long seed) {
+    if (numDecks < 1 || numDecks > Byte.MAX_VALUE || cutCard < 0 || cutCard > 0xFFFF
+        || rules.getPayoutNumerator() > Byte.MAX_VALUE || rules.getPayoutDenominator() > Byte.MAX_VALUE) {
+      throw buildUnrecordableException(rules, numDecks, cutCard);
+    }
+
+    this.rules = rules;
+    this.numDecks = numDecks;
+    this.cutCard = cutCard;
+    this.mode = mode;
+    this.algorithm = algorithm;
+    this.seed = algorithm == null ? 0 : seed;
+  }
+
+  /**
+    Constructs a <code>HandHistoryHeader</code> for rounds dealt from <code>shoe</code>. Only the rounds of a seeded shoe can be replayed.
+
+    @param rules the rules the rounds are played by.
+    @param shoe the shoe the rounds are dealt from.
+  */
+  public HandHistoryHeader(Rules rules, Shoe shoe) {
+    this(rules, shoe.getNumDecks(), shoe.getCutCard(), shoe.getShuffleMode(), shoe.getRandomAlgorithm(), shoe.getSeed());
+  }
+
+  /**
+    Reads a header from the next <code>BYTES</code> bytes of a little-endian <code>buffer</code>.
+  */
+  static HandHistoryHeader read(ByteBuffer buffer) {
+    int magic = buffer.getInt();
+    int version = buffer.getShort();
+    int recordSize = buffer.getShort();
+
+    if (magic != MAGIC || version != VERSION || recordSize != HandRecord.BYTES) {
+      throw buildUnreadableException(magic, version, recordSize);
+    }
+
+    long seed = buffer.getLong();
+    int cutCard = buffer.getShort() & 0xFFFF;
+    int numDecks = buffer.get();
+    int standScore = buffer.get();
+    int flags = buffer.get();
+    int payoutNumerator = buffer.get();
+    int payoutDenominator = buffer.get();
+    int maxSplitHands = buffer.get();
+    ShuffleMode mode = ShuffleMode.values()[buffer.get()];
+    int algorithm = buffer.get();
+
+    buffer.position(buffer.position() + 6);
+
+    Rules rules = Rules.CLASSIC.withDealerStandScore(standScore)
+                               .withDealerHitsSoftStand((flags & H17) != 0)
+                               .withNaturals((flags & NATURALS) != 0)
+                               .withBlackjackPayout(payoutNumerator, payoutDenominator)
+                               .withDoubleDown((flags & DOUBLE_DOWN) != 0)
+                               .withDoubleAfterSplit((flags & DOUBLE_AFTER_SPLIT) != 0)
+                               .withMaxSplitHands(maxSplitHands)
+                               .withSurrender((flags & SURRENDER) != 0);
+
+    return new HandHistoryHeader(rules, numDecks, cutCard, mode, algorithm == 0 ? null : ALGORITHMS[algorithm - 1], seed);
+  }
+
+  /**
+    Writes this header to the next <code>BYTES</code> bytes of a little-endian <code>buffer</code>.
+  */
+  void write(ByteBuffer buffer) {
+    int flags = (this.rules.isDealerHitsSoftStand() ? H17 : 0)
+              | (this.rules.isNaturals() ? NATURALS : 0)
+              | (this.rules.isDoubleDown() ? DOUBLE_DOWN : 0)
+              | (this.rules.isDoubleAfterSplit() ? DOUBLE_AFTER_SPLIT : 0)
+              | (this.rules.isSurrender() ? SURRENDER : 0);
+
+    buffer.putInt(MAGIC);
+    buffer.putShort((short) VERSION);
+    buffer.putShort((short) HandRecord.BYTES);
+    buffer.putLong(this.seed);
+    buffer.putShort((short) this.cutCard);
+    buffer.put((byte) this.numDecks);
+    buffer.put((byte) this.rules.getDealerStandScore());
+    buffer.put((byte) flags);
+    buffer.put((byte) this.rules.getPayoutNumerator());
+    buffer.put((byte) this.rules.getPayoutDenominator());
+    buffer.put((byte) this.rules.getMaxSplitHands());
+    buffer.put((byte) this.mode.ordinal());
+    buffer.put((byte) (this.algorithm == null ? 0 : this.algorithm.ordinal() + 1));
+    buffer.putShort((short) 0);
+    buffer.putInt(0);
+  }
+
+  /**
+    Returns the rules the rounds were played by.
+
+    @return the rules.
+  */
+  public Rules getRules() {
+    return this.rules;
+  }
+
+  /**
+    Returns the number of decks in the shoe.
+
+    @return the number of decks.
+  */
+  public int getNumDecks() {
+    return this.numDecks;
+  }
+
+  /**
+    Returns the shoe's cut card position.
+
+    @return the cut card position.
+  */
+  public int getCutCard() {
+    return this.cutCard;
+  }
+
+  /**
+    Returns how the shoe was shuffled.
+
+    @return the shuffle mode.
+  */
+  public ShuffleMode getShuffleMode() {
+    return this.mode;
+  }
+
+  /**
+    Returns the algorithm the shoe's shuffles were seeded with.
+
+    @return the algorithm, or <code>null</code> if the shoe was not seeded.
+  */
+  public RandomAlgorithm getRandomAlgorithm() {
+    return this.algorithm;
+  }
+
+  /**
+    Returns the seed the shoe's shuffles were derived from.
+
+    @return the seed, or 0 if the shoe was not seeded.
+  */
+  public long getSeed() {
+    return this.seed;
+  }
+
+  /**
+    Returns true if the shoe was seeded, so its rounds can be dealt again.
+
+    @return true if the log can be replayed.
+  */
+  public boolean isReplayable() {
+    return this.algorithm != null;
+  }
+
+  /**
+    Creates a shoe that deals the same cards as the one the log was recorded from. Its first shuffle is shuffle 1; call <code>Shoe.shuffleTo</code> to deal from a later one.
+
+    @return a new seeded shoe.
+    @throws IllegalStateException if the shoe was not seeded.
+  */
+  public Shoe newShoe() {
+    if (this.algorithm == null) {
+      throw buildNotReplayableException();
+    }
+
+    int size = this.numDecks * Cards.CARD_COUNT;
+
+    //Halfway between two cards, the penetration cuts at exactly cutCard despite rounding.
+    return new Shoe(this.numDecks, (this.cutCard + 0.5) / size, this.algorithm, this.seed, this.mode);
+  }
+
+  /**
+    Converts <code>HandHistoryHeader</code> to a one line summary.
+  */
+  @Override
+  public String toString() {
+    String s = this.numDecks + " decks, cut at " + this.cutCard + ", " + this.mode + ", " + this.rules;
+
+    if (this.algorithm != null) {
+      s += ", " + this.algorithm + " seed " + this.seed;
+    }
+
+    return s;
+  }
+
+  private static final IllegalArgumentException buildUnrecordableException(Rules rules, int numDecks, int cutCard) {
+    return new IllegalArgumentException(numDecks + " decks cut at " + cutCard + " by " + rules + " cannot be recorded. A hand history holds 1 to 127 decks, a cut card up to 65535 and payouts up to 127:127.");
+  }
+
+  private static final IllegalStateException buildNotReplayableException() {
+    return new IllegalStateException("The hand history was recorded from a shoe that was not seeded, so its rounds cannot be dealt again.");
+  }
+
+  private static final IllegalStateException buildUnreadableException(int magic, int version, int recordSize) {
+    return new IllegalStateException("Not a readable hand history: magic " + Integer.toHexString(magic) + ", version " + version + ", record size " + recordSize + ". Expected magic " + Integer.toHexString(MAGIC) + ", version " + VERSION + ", record size " + HandRecord.BYTES + ".");
+  }
+}
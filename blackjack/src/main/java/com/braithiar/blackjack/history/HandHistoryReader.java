@@ -0,0 +1,203 @@
+package com.braithiar.blackjack.history;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+  Streams the records of a hand history log written by <code>HandHistoryWriter</code>. The log is read through memory-mapped windows into a <code>HandRecord</code> the caller reuses, so a log of any size is read in constant memory with no allocation per hand:
+  <pre>
+  HandRecord record = new HandRecord();
+
+  while (reader.next(record)) {
+    ...
+  }
+  </pre>
+  A log whose writer never reached <code>close()</code>, such as after a crash, ends in a zero-filled window past the last record written. The reader stops at the first of those blanks, so only the records actually written are read.
+  <p>
+  A reader is not thread-safe; give each thread its own.
+  */
+public class HandHistoryReader implements Closeable {
+  private final FileChannel channel;
+  private final HandHistoryHeader header;
+  private final long batchBytes;
+  private final long records;
+
+  /**
+    The window records are read from, or <code>null</code> before the first read.
+  */
+  private MappedByteBuffer window;
+
+  /**
+    The index of the next record to read.
+  */
+  private long next;
+
+  /**
+    Opens the log at <code>path</code>, mapping <code>HandHistoryWriter.DEFAULT_BATCH_RECORDS</code> records at a time.
+
+    @param path the log's path.
+    @throws IOException if the log cannot be opened.
+  */
+  public HandHistoryReader(Path path) throws IOException {
+    this(path, HandHistoryWriter.DEFAULT_BATCH_RECORDS);
+  }
+
+  /**
+    Opens the log at <code>path</code>.
+
+    @param path the log's path.
+    @param batchRecords the records mapped at a time.
+    @throws IOException if the log cannot be opened.
+    @throws IllegalStateException if the file is not a hand history log.
+  */
+  public HandHistoryReader(Path path, int batchRecords) throws IOException {
+    if (batchRecords < 1) {
+      throw buildIllegalBatchException(batchRecords);
+    }
+
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+
+    try {
+      ByteBuffer buffer = ByteBuffer.allocate(HandHistoryHeader.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+      while (buffer.hasRemaining()) {
+        if (this.channel.read(buffer, buffer.position()) < 0) {
+          throw buildTruncatedException(path);
+        }
+      }
+
+      buffer.flip();
+      this.header = HandHistoryHeader.read(buffer);
+      this.records = this.countRecords();
+    } catch (IOException | RuntimeException e) {
+      this.channel.close();
+      throw e;
+    }
+
+    this.batchBytes = (long) batchRecords * HandRecord.BYTES;
+    this.next = 0;
+  }
+
+  /**
+    Returns the header the log was written with.
+
+    @return the header.
+  */
+  public HandHistoryHeader getHeader() {
+    return this.header;
+  }
+
+  /**
+    Returns the number of records in the log, not counting the blank ones an unclosed writer leaves behind.
+
+    @return the number of records.
+  */
+  public long getRecords() {
+    return this.records;
+  }
+
+  /**
+    Returns the index of the next record <code>next</code> will read.
+
+    @return the reader's position, from 0 to <code>getRecords()</code>.
+  */
+  public long getPosition() {
+    return this.next;
+  }
+
+  /**
+    Moves the reader so that <code>next</code> reads record <code>index</code>, letting several readers work through separate parts of one log.
+
+    @param index the index of the next record to read, from 0 to <code>getRecords()</code>.
+  */
+  public void seek(long index) {
+    if (index < 0 || index > this.records) {
+      throw buildIllegalPositionException(index, this.records);
+    }
+
+    this.next = index;
+    this.window = null;
+  }
+
+  /**
+    Reads the next record into <code>record</code>.
+
+    @param record the record to fill.
+    @return true if a record was read, false at the end of the log.
+    @throws IOException if the next window cannot be mapped.
+  */
+  public boolean next(HandRecord record) throws IOException {
+    if (this.next == this.records) {
+      return false;
+    }
+
+    if (this.window == null || !this.window.hasRemaining()) {
+      long position = HandHistoryHeader.BYTES + this.next * HandRecord.BYTES;
+      long size = Math.min(this.batchBytes, (this.records - this.next) * HandRecord.BYTES);
+
+      this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+      this.window.order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    record.read(this.window);
+    ++this.next;
+
+    return true;
+  }
+
+  /**
+    Closes the log.
+
+    @throws IOException if the log cannot be closed.
+  */
+  @Override
+  public void close() throws IOException {
+    this.channel.close();
+  }
+
+  /**
+    Returns the number of records written. Shoe numbers start at 1, so a record with shoe 0 is a blank that was mapped but never written; records are written in order, so the blanks run to the end of the file and a binary search finds where they start.
+  */
+  private long countRecords() throws IOException {
+    long written = 0;
+    long blank = (this.channel.size() - HandHistoryHeader.BYTES) / HandRecord.BYTES;
+    ByteBuffer shoe = ByteBuffer.allocate(Integer.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    //Every record before written holds a round and every record from blank on is zero-filled.
+    while (written < blank) {
+      long mid = (written + blank) >>> 1;
+      long position = HandHistoryHeader.BYTES + mid * HandRecord.BYTES;
+
+      shoe.clear();
+
+      while (shoe.hasRemaining() && this.channel.read(shoe, position + shoe.position()) >= 0) {
+      }
+
+      if ((shoe.getInt(0) & 0xFFFFFF) == 0) {
+        blank = mid;
+      } else {
+        written = mid + 1;
+      }
+    }
+
+    return written;
+  }
+
+  private static final IllegalArgumentException buildIllegalBatchException(int batchRecords) {
+    return new IllegalArgumentException(batchRecords + " is not a valid batch size. At least 1 record must be mapped at a time.");
+  }
+
+  private static final IndexOutOfBoundsException buildIllegalPositionException(long index, long records) {
+    return new IndexOutOfBoundsException(index + " is not a valid position. The log holds " + records + " records.");
+  }
+
+  private static final IOException buildTruncatedException(Path path) {
+    return new IOException(path + " is too short to hold a hand history header.");
+  }
+}
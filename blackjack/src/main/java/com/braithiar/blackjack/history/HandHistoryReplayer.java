@@ -0,0 +1,448 @@
+package com.braithiar.blackjack.history;
+
+import com.braithiar.blackjack.Composition;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import com.braithiar.blackjack.sim.Action;
+import com.braithiar.blackjack.sim.HandRecorder;
+import com.braithiar.blackjack.sim.Outcome;
+import com.braithiar.blackjack.sim.PlayerStrategy;
+import com.braithiar.blackjack.sim.Table;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+  Audits a hand history by playing every round again through a <code>Table</code> and checking that it comes out exactly as recorded. Each seat bets and decides as its record says, the seeded shoe deals the same cards again, and the engine does the rest: the dealer's play, the outcomes and the payouts. Any difference, after a change to the engine or when replaying under different rules, shows up as a mismatch.
+  <p>
+  Since every shoe of a seeded log can be dealt again on its own, the log is cut into chunks of records that are replayed in parallel on a <code>ForkJoinPool</code>, each by its own reader, shoe and table. A chunk replays every shoe that starts inside it, reading past its end to finish the last one. A round where a seat ran out of recorded decisions cannot be played again, so it is skipped and the shoe is dealt again up to where the next round starts. Only logs recorded from a seeded shoe can be replayed.
+  */
+public class HandHistoryReplayer {
+  /**
+    Default number of records in each chunk.
+  */
+  public static final int DEFAULT_CHUNK_RECORDS = 1 << 20;
+
+  private final Path path;
+  private final Rules rules;
+  private final ForkJoinPool pool;
+  private final int chunkRecords;
+
+  /**
+    Constructs a <code>HandHistoryReplayer</code> that replays the log at <code>path</code> by the rules it was recorded with, on the common pool.
+
+    @param path the log's path.
+    @throws IOException if the log cannot be read.
+  */
+  public HandHistoryReplayer(Path path) throws IOException {
+    this(path, readHeader(path).getRules(), ForkJoinPool.commonPool(), DEFAULT_CHUNK_RECORDS);
+  }
+
+  /**
+    Constructs a <code>HandHistoryReplayer</code>.
+
+    @param path the log's path.
+    @param rules the rules to replay by, which need not be the ones the log was recorded with.
+    @param pool the pool to replay the chunks on.
+    @param chunkRecords the number of records in each chunk.
+  */
+  public HandHistoryReplayer(Path path, Rules rules, ForkJoinPool pool, int chunkRecords) {
+    if (chunkRecords < 1) {
+      throw buildIllegalChunkSizeException(chunkRecords);
+    }
+
+    this.path = path;
+    this.rules = rules;
+    this.pool = pool;
+    this.chunkRecords = chunkRecords;
+  }
+
+  /**
+    Replays the whole log and reports how it compares.
+
+    @return the combined report of every chunk.
+    @throws IOException if the log cannot be read.
+    @throws IllegalStateException if the log was not recorded from a seeded shoe.
+  */
+  public ReplayReport verify() throws IOException {
+    HandHistoryHeader header = readHeader(this.path);
+    long records;
+
+    if (!header.isReplayable()) {
+      throw buildNotReplayableException(this.path);
+    }
+
+    try (HandHistoryReader reader = new HandHistoryReader(this.path)) {
+      records = reader.getRecords();
+    }
+
+    int chunks = (int) ((records + this.chunkRecords - 1) / this.chunkRecords);
+
+    if (chunks == 0) {
+      return new ReplayReport(0, 0, 0, new ArrayList<>());
+    }
+
+    try {
+      return this.pool.invoke(new ChunkTask(header, records, 0, chunks));
+    } catch (UncheckedIOException e) {
+      throw e.getCause();
+    }
+  }
+
+  private static HandHistoryHeader readHeader(Path path) throws IOException {
+    try (HandHistoryReader reader = new HandHistoryReader(path)) {
+      return reader.getHeader();
+    }
+  }
+
+  /**
+    Recursively halves a range of chunks until a single chunk is left to replay, merging the reports in log order.
+  */
+  private final class ChunkTask extends RecursiveTask<ReplayReport> {
+    private static final long serialVersionUID = 1L;
+
+    private final HandHistoryHeader header;
+    private final long records;
+    private final int from;
+    private final int to;
+
+    private ChunkTask(HandHistoryHeader header, long records, int from, int to) {
+      this.header = header;
+      this.records = records;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected ReplayReport compute() {
+      if (this.to - this.from > 1) {
+        int mid = (this.from + this.to) >>> 1;
+        ChunkTask later = new ChunkTask(this.header, this.records, mid, this.to);
+
+        later.fork();
+
+        ReplayReport earlier = new ChunkTask(this.header, this.records, this.from, mid).compute();
+
+        return earlier.merge(later.join());
+      }
+
+      long start = (long) this.from * chunkRecords;
+      long end = Math.min(start + chunkRecords, this.records);
+
+      try (HandHistoryReader reader = new HandHistoryReader(path)) {
+        return new Chunk(this.header, reader).replay(start, end);
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+  }
+
+  /**
+    Replays the shoes starting in one chunk of the log. The table reports each replayed seat back through <code>record</code>, where it is kept to be compared once the round is over.
+  */
+  private final class Chunk implements HandRecorder {
+    private final HandHistoryReader reader;
+    private final Shoe shoe;
+
+    /**
+      The records of the round being replayed, one per seat, with room for the first record of the next round.
+    */
+    private final HandRecord[] round;
+
+    /**
+      The round as the table replayed it, one record per seat.
+    */
+    private final HandRecord[] replayed;
+
+    private final ScriptedStrategy[] scripts;
+    private Table table;
+
+    /**
+      The cursor of the last round skipped for its truncated decisions, or <code>Integer.MAX_VALUE</code> if the shoe cannot be brought back in step.
+    */
+    private int lostCursor;
+
+    private long matched;
+    private long mismatched;
+    private long skipped;
+    private final List<String> mismatches;
+
+    private Chunk(HandHistoryHeader header, HandHistoryReader reader) {
+      this.reader = reader;
+      this.shoe = header.newShoe();
+      this.round = new HandRecord[Table.MAX_SEATS + 1];
+      this.replayed = new HandRecord[Table.MAX_SEATS];
+      this.scripts = new ScriptedStrategy[Table.MAX_SEATS];
+      this.mismatches = new ArrayList<>();
+      this.lostCursor = Integer.MAX_VALUE;
+
+      for (int i = 0; i < this.round.length; ++i) {
+        this.round[i] = new HandRecord();
+      }
+
+      for (int s = 0; s < Table.MAX_SEATS; ++s) {
+        this.replayed[s] = new HandRecord();
+        this.scripts[s] = new ScriptedStrategy();
+      }
+    }
+
+    /**
+      Replays every shoe whose first record lies in <code>[start, end)</code>.
+    */
+    private ReplayReport replay(long start, long end) throws IOException {
+      HandRecord[] round = this.round;
+      int previousShoe = -1;
+
+      if (start > 0) {
+        //The shoe in play at the start of the chunk belongs to the chunk before.
+        this.reader.seek(start - 1);
+        this.reader.next(round[0]);
+        previousShoe = round[0].getShoe();
+      }
+
+      boolean more = this.reader.next(round[0]);
+
+      while (more && round[0].getShoe() == previousShoe) {
+        more = this.reader.next(round[0]);
+      }
+
+      int currentShoe = -1;
+      boolean inStep = false;
+
+      while (more) {
+        long index = this.reader.getPosition() - 1;
+
+        if (index >= end && round[0].getShoe() != currentShoe) {
+          break;
+        }
+
+        int seats = 1;
+
+        while ((more = this.reader.next(round[seats])) && round[seats].getShoe() == round[0].getShoe() && round[seats].getCursor() == round[0].getCursor()) {
+          if (++seats > Table.MAX_SEATS) {
+            throw buildMalformedRoundException(index);
+          }
+        }
+
+        if (round[0].getShoe() != currentShoe) {
+          currentShoe = round[0].getShoe();
+          inStep = this.deal(currentShoe, seats);
+        } else if (!inStep && round[0].getCursor() > this.lostCursor) {
+          this.resync(currentShoe, round[0].getCursor());
+          inStep = true;
+        }
+
+        this.lostCursor = Integer.MAX_VALUE;
+
+        if (inStep) {
+          inStep = this.replayRound(index, seats);
+        } else {
+          this.skipped += seats;
+        }
+
+        HandRecord next = round[seats];
+
+        round[seats] = round[0];
+        round[0] = next;
+      }
+
+      return new ReplayReport(this.matched, this.mismatched, this.skipped, this.mismatches);
+    }
+
+    /**
+      Shuffles the shoe to <code>shoeNumber</code>, building the table on first use.
+
+      @return false if the log's rounds cannot be played at the table.
+    */
+    private boolean deal(int shoeNumber, int seats) {
+      if (this.table == null) {
+        PlayerStrategy[] strategies = new PlayerStrategy[seats];
+
+        System.arraycopy(this.scripts, 0, strategies, 0, seats);
+        this.table = new Table(strategies, this.shoe, rules);
+        this.table.setRecorder(this);
+      }
+
+      if (this.shoe.getShuffleCount() + 1 == shoeNumber && this.shoe.isCutCardReached()) {
+        //The table's next round reshuffles into it.
+        return true;
+      }
+
+      //A shoe cut at 0 reshuffles before every round, so it must stop one shuffle short.
+      int next = this.shoe.getCutCard() == 0 ? shoeNumber - 1 : shoeNumber;
+
+      if (next < 1) {
+        return false;
+      }
+
+      this.shoe.shuffleTo(next);
+
+      return true;
+    }
+
+    /**
+      Deals the shoe again up to <code>cursor</code> after a skipped round, so the rounds after it can be verified.
+    */
+    private void resync(int shoeNumber, int cursor) {
+      this.shoe.shuffleTo(shoeNumber);
+
+      for (int c = 0; c < cursor; ++c) {
+        this.shoe.draw();
+      }
+    }
+
+    /**
+      Replays the round of <code>seats</code> records starting at record <code>index</code> and compares each seat.
+
+      @return true if the shoe is still in step with the log.
+    */
+    private boolean replayRound(long index, int seats) {
+      if (seats != this.table.getSeats()) {
+        for (int s = 0; s < seats; ++s) {
+          this.mismatch(index + s, this.round[s], "was dealt with " + seats + " seats, not " + this.table.getSeats());
+        }
+
+        return false;
+      }
+
+      for (int s = 0; s < seats; ++s) {
+        this.scripts[s].load(this.round[s]);
+      }
+
+      IllegalStateException failure = null;
+
+      try {
+        this.table.playRound();
+      } catch (IllegalStateException e) {
+        failure = e;
+      }
+
+      for (int s = 0; s < seats; ++s) {
+        //A seat ran out of recorded decisions, so how the round really went is unknown.
+        if (this.scripts[s].isLost()) {
+          this.skipped += seats;
+          //A round that ran the shoe dry reshuffled its discards, and the next one starts at a lower cursor that cannot be dealt again.
+          this.lostCursor = this.round[0].getCursor();
+          return false;
+        }
+      }
+
+      if (failure != null) {
+        for (int s = 0; s < seats; ++s) {
+          this.mismatch(index + s, this.round[s], "could not be replayed: " + failure.getMessage());
+        }
+
+        return false;
+      }
+
+      boolean inStep = true;
+
+      for (int s = 0; s < seats; ++s) {
+        HandRecord recorded = this.round[s];
+        HandRecord replayed = this.replayed[s];
+
+        if (recorded.matches(replayed)) {
+          ++this.matched;
+        } else {
+          this.mismatch(index + s, recorded, "was replayed as " + replayed);
+          inStep &= recorded.getShoe() == replayed.getShoe() && recorded.getCursor() == replayed.getCursor();
+        }
+      }
+
+      return inStep;
+    }
+
+    private void mismatch(long index, HandRecord recorded, String problem) {
+      ++this.mismatched;
+
+      if (this.mismatches.size() < ReplayReport.MAX_REPORTED_MISMATCHES) {
+        this.mismatches.add("Record " + index + ": " + recorded + " " + problem);
+      }
+    }
+
+    @Override
+    public void record(int shoe, int cursor, int seat, int bet, byte[] cards, int decisions, Outcome outcome, int hands, long netTenths) {
+      this.replayed[seat].set(shoe, cursor, seat, bet, cards, decisions, outcome, hands, netTenths);
+    }
+  }
+
+  /**
+    Bets and decides exactly as one seat's record says.
+  */
+  private static final class ScriptedStrategy implements PlayerStrategy {
+    private HandRecord record;
+    private int decisionCount;
+    private int next;
+    private boolean lost;
+
+    private void load(HandRecord record) {
+      this.record = record;
+      this.decisionCount = record.getDecisionCount();
+      this.next = 0;
+      this.lost = false;
+    }
+
+    /**
+      Returns true if the seat was asked for a decision beyond those a truncated record holds.
+    */
+    private boolean isLost() {
+      return this.lost;
+    }
+
+    @Override
+    public boolean shouldHit(int score, PlayingCard.Rank dealerUpCard) {
+      return false;
+    }
+
+    @Override
+    public int bet(Composition shoe) {
+      return this.record.getBet();
+    }
+
+    @Override
+    public Action decide(HandTotal hand, PlayingCard.Rank dealerUpCard, Composition shoe, int options) {
+      if (this.next < this.decisionCount) {
+        return this.record.getDecision(this.next++);
+      }
+
+      //Standing leaves an untruncated record's extra decision to show up as a mismatch.
+      this.lost |= this.record.isDecisionsTruncated();
+
+      return Action.STAND;
+    }
+  }
+
+  /**
+    Replays a hand history and prints the report.
+
+    @param args the log's path.
+    @throws IOException if the log cannot be read.
+  */
+  public static void main(String[] args) throws IOException {
+    long start = System.nanoTime();
+    ReplayReport report = new HandHistoryReplayer(Paths.get(args[0])).verify();
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.println(report);
+    System.out.printf("Replayed in %.2fs (%.0f records/s)%n", seconds, report.getRecords() / seconds);
+  }
+
+  private static final IllegalArgumentException buildIllegalChunkSizeException(int num) {
+    return new IllegalArgumentException(num + " is not a valid chunk size. It must be greater than 0.");
+  }
+
+  private static final IllegalStateException buildNotReplayableException(Path path) {
+    return new IllegalStateException(path + " was recorded from a shoe that was not seeded, so its rounds cannot be dealt again.");
+  }
+
+  private static final IllegalStateException buildMalformedRoundException(long index) {
+    return new IllegalStateException("The round starting at record " + index + " has more than " + Table.MAX_SEATS + " seats. The log is corrupt.");
+  }
+}
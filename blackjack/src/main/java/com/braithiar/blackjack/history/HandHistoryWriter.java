@@ -0,0 +1,185 @@
+package com.braithiar.blackjack.history;
+
+import com.braithiar.blackjack.sim.HandRecorder;
+import com.braithiar.blackjack.sim.Outcome;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+  Appends every round a <code>Table</code> records to a hand history log: a <code>HandHistoryHeader</code> followed by one fixed-width <code>HandRecord</code> per seat per round.
+  <p>
+  Records are written straight into a memory-mapped window of the file, so recording a hand is a handful of stores with no allocation and no system call. When a window fills, it is forced to disk and the next one is mapped, which batches the flushes to one per window. Closing the writer forces the last window and trims the file to the records actually written.
+  <p>
+  A writer is not thread-safe; give each table its own log.
+  */
+public class HandHistoryWriter implements HandRecorder, Closeable {
+  /**
+    The records mapped, and so flushed, at a time unless told otherwise: 1 MiB of hands.
+  */
+  public static final int DEFAULT_BATCH_RECORDS = 1 << 16;
+
+  private final FileChannel channel;
+  private final HandHistoryHeader header;
+  private final long batchBytes;
+
+  /**
+    The window records are written to.
+  */
+  private MappedByteBuffer window;
+
+  /**
+    The records written so far, including those still in the window.
+  */
+  private long records;
+
+  /**
+    Creates a log at <code>path</code>, replacing any file already there, and flushes every <code>DEFAULT_BATCH_RECORDS</code> records.
+
+    @param path the log's path.
+    @param header the header describing the rounds to be recorded.
+    @throws IOException if the log cannot be created.
+  */
+  public HandHistoryWriter(Path path, HandHistoryHeader header) throws IOException {
+    this(path, header, DEFAULT_BATCH_RECORDS);
+  }
+
+  /**
+    Creates a log at <code>path</code>, replacing any file already there.
+
+    @param path the log's path.
+    @param header the header describing the rounds to be recorded.
+    @param batchRecords the records mapped, and so flushed, at a time.
+    @throws IOException if the log cannot be created.
+  */
+  public HandHistoryWriter(Path path, HandHistoryHeader header, int batchRecords) throws IOException {
+    if (batchRecords < 1) {
+      throw buildIllegalBatchException(batchRecords);
+    }
+
+    this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                                    StandardOpenOption.READ, StandardOpenOption.WRITE);
+    this.header = header;
+    this.batchBytes = (long) batchRecords * HandRecord.BYTES;
+    this.records = 0;
+
+    ByteBuffer buffer = ByteBuffer.allocate(HandHistoryHeader.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+
+    header.write(buffer);
+    buffer.flip();
+
+    while (buffer.hasRemaining()) {
+      this.channel.write(buffer, buffer.position());
+    }
+
+    this.mapNextWindow();
+  }
+
+  /**
+    Appends one seat's round to the log.
+
+    @throws UncheckedIOException if the next window cannot be mapped.
+    @throws IllegalStateException if the log has been closed.
+  */
+  @Override
+  public void record(int shoe, int cursor, int seat, int bet, byte[] cards, int decisions, Outcome outcome, int hands, long netTenths) {
+    if (!this.channel.isOpen()) {
+      throw buildClosedException();
+    }
+
+    if (shoe > 0xFFFFFF || cursor > 0xFFFF || seat > 0xF || bet > 0xFF || hands > 0x10 || netTenths < Short.MIN_VALUE || netTenths > Short.MAX_VALUE) {
+      throw buildUnrecordableException(shoe, cursor, seat, bet, hands, netTenths);
+    }
+
+    if (!this.window.hasRemaining()) {
+      this.window.force();
+
+      try {
+        this.mapNextWindow();
+      } catch (IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    }
+
+    HandRecord.write(this.window, shoe, cursor, seat, bet, cards, decisions, outcome, hands, (int) netTenths);
+    ++this.records;
+  }
+
+  /**
+    Forces the records written so far to disk.
+
+    @throws IllegalStateException if the log has been closed.
+  */
+  public void flush() {
+    if (!this.channel.isOpen()) {
+      throw buildClosedException();
+    }
+
+    this.window.force();
+  }
+
+  /**
+    Returns the header the log was created with.
+
+    @return the header.
+  */
+  public HandHistoryHeader getHeader() {
+    return this.header;
+  }
+
+  /**
+    Returns the records written so far.
+
+    @return the number of records.
+  */
+  public long getRecords() {
+    return this.records;
+  }
+
+  /**
+    Forces the last records to disk, trims the log to the records written and closes it. The mapped window stays valid until it is garbage collected, as Java offers no way to unmap it sooner, but it reaches past the end of the trimmed file, so the writer refuses to record or flush once closed.
+
+    @throws IOException if the log cannot be trimmed or closed.
+  */
+  @Override
+  public void close() throws IOException {
+    if (!this.channel.isOpen()) {
+      return;
+    }
+
+    try {
+      this.window.force();
+      this.channel.truncate(HandHistoryHeader.BYTES + this.records * HandRecord.BYTES);
+    } finally {
+      this.channel.close();
+    }
+  }
+
+  /**
+    Maps the window starting just after the last record written, growing the file to fit it.
+  */
+  private void mapNextWindow() throws IOException {
+    long position = HandHistoryHeader.BYTES + this.records * HandRecord.BYTES;
+
+    this.window = this.channel.map(FileChannel.MapMode.READ_WRITE, position, this.batchBytes);
+    this.window.order(ByteOrder.LITTLE_ENDIAN);
+  }
+
+  private static final IllegalArgumentException buildIllegalBatchException(int batchRecords) {
+    return new IllegalArgumentException(batchRecords + " is not a valid batch size. At least 1 record must be mapped at a time.");
+  }
+
+  private static final IllegalStateException buildClosedException() {
+    return new IllegalStateException("The hand history log has been closed.");
+  }
+
+  private static final IllegalArgumentException buildUnrecordableException(int shoe, int cursor, int seat, int bet, int hands, long netTenths) {
+    return new IllegalArgumentException("Seat " + seat + " of shoe " + shoe + " at position " + cursor + " betting " + bet + " with " + hands + " hands netting " + netTenths + " tenths cannot be recorded. A hand record holds up to 16777215 shoes, positions up to 65535, seats up to 15, bets up to 255, up to 16 hands and a net of at most 3276.7 either way.");
+  }
+}
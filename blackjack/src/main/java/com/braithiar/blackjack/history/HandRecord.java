@@ -0,0 +1,261 @@
+package com.braithiar.blackjack.history;
+
+import com.braithiar.blackjack.Cards;
+import com.braithiar.blackjack.sim.Action;
+import com.braithiar.blackjack.sim.HandRecorder;
+import com.braithiar.blackjack.sim.Outcome;
+import java.nio.ByteBuffer;
+
+/**
+  One seat's round from a hand history log, in a fixed <code>BYTES</code>-byte layout:
+  <pre>
+  offset size field
+       0    3 shoe      the shoe's shuffle count when the round started
+       3    1 bet       the seat's opening bet in units
+       4    2 cursor    position in the shoe of the round's first card
+       6    1 seat      seat in the low 4 bits, hands played - 1 in the high 4
+       7    1 outcome   Outcome.ordinal() of the first hand
+       8    4 cards     player's two opening cards, dealer's up card, dealer's hole card
+      12    2 decisions packed as described in HandRecorder
+      14    2 net       net result in Rules.TENTHS
+  </pre>
+  A <code>HandHistoryReader</code> fills one reused record per read, so reading a log allocates nothing per hand.
+*/
+public final class HandRecord {
+  /**
+    The size of a record in bytes.
+  */
+  public static final int BYTES = 16;
+
+  private static final Outcome[] OUTCOMES = Outcome.values();
+  private static final Action[] ACTIONS = Action.values();
+
+  /**
+    Mask of one packed decision.
+  */
+  private static final int DECISION_MASK = (1 << HandRecorder.DECISION_BITS) - 1;
+
+  private int shoe;
+  private int bet;
+  private int cursor;
+  private int seat;
+  private int hands;
+  private int outcome;
+  private final byte[] cards;
+  private int decisions;
+  private int netTenths;
+
+  /**
+    Constructs an empty <code>HandRecord</code> to be filled by a reader.
+  */
+  public HandRecord() {
+    this.cards = new byte[4];
+  }
+
+  /**
+    Fills this record from the next <code>BYTES</code> bytes of <code>buffer</code>.
+  */
+  void read(ByteBuffer buffer) {
+    int shoeAndBet = buffer.getInt();
+
+    this.shoe = shoeAndBet & 0xFFFFFF;
+    this.bet = shoeAndBet >>> 24;
+    this.cursor = buffer.getShort() & 0xFFFF;
+
+    int seatAndHands = buffer.get();
+
+    this.seat = seatAndHands & 0xF;
+    this.hands = ((seatAndHands >> 4) & 0xF) + 1;
+    this.outcome = buffer.get();
+    buffer.get(this.cards);
+    this.decisions = buffer.getShort() & 0xFFFF;
+    this.netTenths = buffer.getShort();
+  }
+
+  /**
+    Fills this record with the given round, as a <code>HandRecorder</code> receives it.
+  */
+  void set(int shoe, int cursor, int seat, int bet, byte[] cards, int decisions, Outcome outcome, int hands, long netTenths) {
+    this.shoe = shoe;
+    this.cursor = cursor;
+    this.seat = seat;
+    this.bet = bet;
+    System.arraycopy(cards, 0, this.cards, 0, this.cards.length);
+    this.decisions = decisions;
+    this.outcome = outcome.ordinal();
+    this.hands = hands;
+    this.netTenths = (int) netTenths;
+  }
+
+  /**
+    Returns true if <code>other</code> records the same round, field for field.
+  */
+  boolean matches(HandRecord other) {
+    return this.shoe == other.shoe && this.cursor == other.cursor && this.seat == other.seat && this.bet == other.bet
+        && this.cards[0] == other.cards[0] && this.cards[1] == other.cards[1] && this.cards[2] == other.cards[2] && this.cards[3] == other.cards[3]
+        && this.decisions == other.decisions && this.outcome == other.outcome && this.hands == other.hands && this.netTenths == other.netTenths;
+  }
+
+  /**
+    Writes one record to the next <code>BYTES</code> bytes of <code>buffer</code>. The caller has checked that every field fits.
+  */
+  static void write(ByteBuffer buffer, int shoe, int cursor, int seat, int bet, byte[] cards, int decisions, Outcome outcome, int hands, int netTenths) {
+    buffer.putInt(shoe | (bet << 24));
+    buffer.putShort((short) cursor);
+    buffer.put((byte) (seat | ((hands - 1) << 4)));
+    buffer.put((byte) outcome.ordinal());
+    buffer.put(cards, 0, 4);
+    buffer.putShort((short) decisions);
+    buffer.putShort((short) netTenths);
+  }
+
+  /**
+    Returns the shoe's shuffle count when the round started.
+
+    @return the shoe number.
+  */
+  public int getShoe() {
+    return this.shoe;
+  }
+
+  /**
+    Returns the seat's opening bet, before any doubling or splitting.
+
+    @return the bet in units.
+  */
+  public int getBet() {
+    return this.bet;
+  }
+
+  /**
+    Returns the position in the shoe of the round's first card.
+
+    @return the round's starting position.
+  */
+  public int getCursor() {
+    return this.cursor;
+  }
+
+  /**
+    Returns the seat the round was played at.
+
+    @return the seat, from 0.
+  */
+  public int getSeat() {
+    return this.seat;
+  }
+
+  /**
+    Returns the number of hands the seat played: 1, or more after splitting.
+
+    @return the number of hands.
+  */
+  public int getHands() {
+    return this.hands;
+  }
+
+  /**
+    Returns the outcome of the seat's first hand.
+
+    @return the outcome.
+  */
+  public Outcome getOutcome() {
+    return OUTCOMES[this.outcome];
+  }
+
+  /**
+    Returns one of the round's recorded cards, encoded as in <code>Cards</code>: 0 and 1 are the player's opening cards, 2 is the dealer's up card and 3 the dealer's hole card.
+
+    @param index the card, from 0 to 3.
+    @return the card.
+  */
+  public byte getCard(int index) {
+    return this.cards[index];
+  }
+
+  /**
+    Returns the number of decisions recorded, at most <code>HandRecorder.MAX_DECISIONS</code>.
+
+    @return the number of decisions.
+  */
+  public int getDecisionCount() {
+    int count = 0;
+
+    while (count < HandRecorder.MAX_DECISIONS && this.getPackedDecision(count) != 0) {
+      ++count;
+    }
+
+    return count;
+  }
+
+  /**
+    Returns one of the seat's decisions, in the order they were taken.
+
+    @param index the decision, from 0 to <code>getDecisionCount() - 1</code>.
+    @return the action taken.
+  */
+  public Action getDecision(int index) {
+    return ACTIONS[this.getPackedDecision(index) - 1];
+  }
+
+  /**
+    Returns true if the seat made more decisions than were recorded.
+
+    @return true if the decisions were truncated.
+  */
+  public boolean isDecisionsTruncated() {
+    return (this.decisions & HandRecorder.DECISIONS_TRUNCATED) != 0;
+  }
+
+  /**
+    Returns the seat's packed decisions, as described in <code>HandRecorder</code>.
+
+    @return the packed decisions.
+  */
+  public int getDecisions() {
+    return this.decisions;
+  }
+
+  /**
+    Returns the seat's net result, in <code>Rules.TENTHS</code>.
+
+    @return the net result in tenths.
+  */
+  public int getNetTenths() {
+    return this.netTenths;
+  }
+
+  private int getPackedDecision(int index) {
+    return (this.decisions >> (index * HandRecorder.DECISION_BITS)) & DECISION_MASK;
+  }
+
+  /**
+    Converts <code>HandRecord</code> to a one line description of the round.
+  */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+
+    sb.append("Shoe ").append(this.shoe).append(" @").append(this.cursor).append(" seat ").append(this.seat).append(": ");
+    sb.append(Cards.getName(this.cards[0])).append(", ").append(Cards.getName(this.cards[1]));
+    sb.append(" vs ").append(Cards.getName(this.cards[2])).append(" (hole ").append(Cards.getName(this.cards[3])).append(")");
+
+    for (int i = 0, n = this.getDecisionCount(); i < n; ++i) {
+      sb.append(i == 0 ? " | " : " ").append(this.getDecision(i));
+    }
+
+    if (this.isDecisionsTruncated()) {
+      sb.append(" ...");
+    }
+
+    sb.append(" | ").append(this.getOutcome());
+
+    if (this.hands > 1) {
+      sb.append(" (").append(this.hands).append(" hands)");
+    }
+
+    sb.append(" | Bet: ").append(this.bet).append(" | Net: ").append(this.netTenths / 10.0);
+
+    return sb.toString();
+  }
+}
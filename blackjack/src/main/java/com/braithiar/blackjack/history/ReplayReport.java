@@ -0,0 +1,126 @@
+package com.braithiar.blackjack.history;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+  The result of replaying a hand history: how many records the engine reproduced exactly, how many it did not, and how many could not be checked. A record is skipped when its seat made more decisions than a record holds, or when an earlier round of its shoe already went out of step, since the cards it was dealt can no longer be known. The first <code>MAX_REPORTED_MISMATCHES</code> mismatches are kept, in log order, to show what went wrong.
+  */
+public final class ReplayReport {
+  /**
+    The most mismatches a report describes.
+  */
+  public static final int MAX_REPORTED_MISMATCHES = 100;
+
+  private final long matched;
+  private final long mismatched;
+  private final long skipped;
+  private final List<String> mismatches;
+
+  /**
+    Constructs a <code>ReplayReport</code>.
+
+    @param matched the records the replay reproduced.
+    @param mismatched the records the replay did not reproduce.
+    @param skipped the records that could not be checked.
+    @param mismatches descriptions of the first mismatches, in log order; only the first <code>MAX_REPORTED_MISMATCHES</code> are kept.
+  */
+  public ReplayReport(long matched, long mismatched, long skipped, List<String> mismatches) {
+    this.matched = matched;
+    this.mismatched = mismatched;
+    this.skipped = skipped;
+    this.mismatches = Collections.unmodifiableList(new ArrayList<>(mismatches.subList(0, Math.min(mismatches.size(), MAX_REPORTED_MISMATCHES))));
+  }
+
+  /**
+    Returns the number of records checked or skipped.
+
+    @return the records in the report.
+  */
+  public long getRecords() {
+    return this.matched + this.mismatched + this.skipped;
+  }
+
+  /**
+    Returns the number of records the replay reproduced exactly.
+
+    @return the matching records.
+  */
+  public long getMatched() {
+    return this.matched;
+  }
+
+  /**
+    Returns the number of records the replay did not reproduce.
+
+    @return the mismatching records.
+  */
+  public long getMismatched() {
+    return this.mismatched;
+  }
+
+  /**
+    Returns the number of records that could not be checked.
+
+    @return the skipped records.
+  */
+  public long getSkipped() {
+    return this.skipped;
+  }
+
+  /**
+    Returns descriptions of the first mismatches, in log order.
+
+    @return an unmodifiable list of at most <code>MAX_REPORTED_MISMATCHES</code> descriptions.
+  */
+  public List<String> getMismatches() {
+    return this.mismatches;
+  }
+
+  /**
+    Returns true if every record that was checked was reproduced.
+
+    @return true if there were no mismatches.
+  */
+  public boolean isVerified() {
+    return this.mismatched == 0;
+  }
+
+  /**
+    Combines this report with the report of the records that follow it in the log.
+
+    @param later the report of later records.
+    @return a new report covering both.
+  */
+  public ReplayReport merge(ReplayReport later) {
+    List<String> combined = new ArrayList<>(this.mismatches);
+
+    combined.addAll(later.mismatches);
+
+    return new ReplayReport(this.matched + later.matched, this.mismatched + later.mismatched, this.skipped + later.skipped, combined);
+  }
+
+  /**
+    Converts <code>ReplayReport</code> to its counts followed by one line per reported mismatch.
+  */
+  @Override
+  public String toString() {
+    StringBuilder sb = new StringBuilder();
+
+    sb.append("Records: ").append(this.getRecords());
+    sb.append(" | Matched: ").append(this.matched);
+    sb.append(" | Mismatched: ").append(this.mismatched);
+    sb.append(" | Skipped: ").append(this.skipped);
+
+    for (String mismatch : this.mismatches) {
+      sb.append('\n').append(mismatch);
+    }
+
+    if (this.mismatched > this.mismatches.size()) {
+      sb.append("\n... and ").append(this.mismatched - this.mismatches.size()).append(" more");
+    }
+
+    return sb.toString();
+  }
+}
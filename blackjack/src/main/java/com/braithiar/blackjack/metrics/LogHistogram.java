@@ -0,0 +1,175 @@
+package com.braithiar.blackjack.metrics;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+  Thread-safe, lock-free histogram of non-negative <code>long</code> values such as latencies in nanoseconds. Values from 0 to 7 have a bucket each; above that every power of two is split into 8 buckets, so a reported percentile is within 12.5% of the true value over the whole range of <code>long</code>, in the same spirit as HdrHistogram with a fixed precision. Recording finds the bucket with a leading zero count and a shift, and each bucket is a <code>LongAdder</code>, so threads recording at once do not contend on a single counter.
+*/
+public final class LogHistogram {
+  /**
+    Bits of a value kept below its leading one bit to pick a bucket.
+  */
+  private static final int SUB_BUCKET_BITS = 3;
+
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+  /**
+    Enough buckets for <code>Long.MAX_VALUE</code>.
+  */
+  private static final int BUCKETS = bucket(Long.MAX_VALUE) + 1;
+
+  private final LongAdder[] counts;
+  private final LongAdder sum;
+  private final LongAccumulator max;
+
+  /**
+    Constructs an empty <code>LogHistogram</code>.
+  */
+  public LogHistogram() {
+    this.counts = new LongAdder[BUCKETS];
+    this.sum = new LongAdder();
+    this.max = new LongAccumulator(Math::max, 0);
+
+    for (int i = 0; i < BUCKETS; ++i) {
+      this.counts[i] = new LongAdder();
+    }
+  }
+
+  /**
+    Records one value. Negative values are counted as 0.
+
+    @param value the value to record.
+  */
+  public void record(long value) {
+    long v = Math.max(value, 0);
+
+    this.counts[bucket(v)].increment();
+    this.sum.add(v);
+    this.max.accumulate(v);
+  }
+
+  /**
+    Returns the number of values recorded.
+
+    @return the count.
+  */
+  public long getCount() {
+    long count = 0;
+
+    for (LongAdder c : this.counts) {
+      count += c.sum();
+    }
+
+    return count;
+  }
+
+  /**
+    Returns the mean of the values recorded.
+
+    @return the mean, or 0 if nothing has been recorded.
+  */
+  public double getMean() {
+    long count = getCount();
+
+    return count == 0 ? 0.0 : (double) this.sum.sum() / count;
+  }
+
+  /**
+    Returns the largest value recorded, exactly.
+
+    @return the maximum, or 0 if nothing has been recorded.
+  */
+  public long getMax() {
+    return this.max.get();
+  }
+
+  /**
+    Returns the value that <code>percentile</code> percent of the recorded values are at or below, as the highest value of its bucket.
+
+    @param percentile the percentile, from 0 to 100.
+    @return the value at the percentile, or 0 if nothing has been recorded.
+  */
+  public long getValueAtPercentile(double percentile) {
+    if (!(percentile >= 0.0 && percentile <= 100.0)) {
+      throw buildIllegalPercentileException(percentile);
+    }
+
+    long[] snapshot = new long[BUCKETS];
+    long count = 0;
+
+    for (int i = 0; i < BUCKETS; ++i) {
+      snapshot[i] = this.counts[i].sum();
+      count += snapshot[i];
+    }
+
+    if (count == 0) {
+      return 0;
+    }
+
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+    long seen = 0;
+
+    for (int i = 0; i < BUCKETS; ++i) {
+      seen += snapshot[i];
+
+      if (seen >= rank) {
+        return Math.min(highestValue(i), getMax());
+      }
+    }
+
+    return getMax();
+  }
+
+  /**
+    Clears every bucket. Values recorded while the histogram is being reset may or may not be kept.
+  */
+  public void reset() {
+    for (LongAdder c : this.counts) {
+      c.reset();
+    }
+
+    this.sum.reset();
+    this.max.reset();
+  }
+
+  /**
+    Converts <code>LogHistogram</code> to a one line summary of its count, mean, median, tail percentiles and maximum.
+  */
+  @Override
+  public String toString() {
+    return "Count: " + getCount() + " | Mean: " + Math.round(getMean()) + " | P50: " + getValueAtPercentile(50) +
+           " | P99: " + getValueAtPercentile(99) + " | P99.9: " + getValueAtPercentile(99.9) + " | Max: " + getMax();
+  }
+
+  /**
+    Returns the bucket of a non-negative value.
+  */
+  private static int bucket(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+
+    int exponent = 63 - Long.numberOfLeadingZeros(value);
+
+    return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + (int) ((value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1));
+  }
+
+  /**
+    Returns the highest value that falls in <code>bucket</code>.
+  */
+  private static long highestValue(int bucket) {
+    if (bucket < SUB_BUCKETS) {
+      return bucket;
+    }
+
+    int shift = bucket / SUB_BUCKETS - 1;
+    long lowest = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+
+    return lowest + (1L << shift) - 1;
+  }
+
+  private static final IllegalArgumentException buildIllegalPercentileException(double percentile) {
+    return new IllegalArgumentException(percentile + " is not a valid percentile. It must be from 0 to 100.");
+  }
+}
@@ -0,0 +1,220 @@
+package com.braithiar.blackjack.metrics;
+
+import java.io.Closeable;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.management.JMException;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+  Counters and histograms of what the game engine spends its time on: the cards dealt in each round, how long each shuffle, player decision and dealer turn takes. Rounds, shuffles, decisions and dealer turns are counted by their histograms.
+  <p>
+  Recording is off unless the JVM is started with <code>-Dblackjack.metrics=true</code>. Every recording site is guarded by <code>ENABLED</code>, which is a constant once this class is loaded, so with metrics off the JIT removes the guard and the timing around it and the engine pays nothing. With metrics on, the metrics are registered with the platform MBean server as <code>OBJECT_NAME</code>, and <code>-Dblackjack.metrics.snapshotSeconds=n</code> prints a <code>snapshot()</code> to standard error every <code>n</code> seconds.
+*/
+public final class Metrics {
+  /**
+    True if the engine records metrics, read once from the <code>blackjack.metrics</code> system property.
+  */
+  public static final boolean ENABLED = Boolean.getBoolean("blackjack.metrics");
+
+  /**
+    The name the metrics are registered with the platform MBean server under.
+  */
+  public static final String OBJECT_NAME = "com.braithiar.blackjack:type=Metrics";
+
+  /**
+    Cards dealt in each round, counting every seat and the dealer.
+  */
+  public static final LogHistogram CARDS_PER_ROUND = new LogHistogram();
+
+  /**
+    Time taken by each full shuffle of a shoe, in nanoseconds.
+  */
+  public static final LogHistogram SHUFFLE_NANOS = new LogHistogram();
+
+  /**
+    Time taken by each player strategy decision, in nanoseconds.
+  */
+  public static final LogHistogram DECISION_NANOS = new LogHistogram();
+
+  /**
+    Time taken by each dealer turn that is played out, in nanoseconds.
+  */
+  public static final LogHistogram DEALER_TURN_NANOS = new LogHistogram();
+
+  /**
+    When the metrics were started or last reset, for the round rate.
+  */
+  private static volatile long startNanos = System.nanoTime();
+
+  static {
+    if (ENABLED) {
+      try {
+        ManagementFactory.getPlatformMBeanServer().registerMBean(new StandardMBean(new Bean(), MetricsMXBean.class, true), new ObjectName(OBJECT_NAME));
+      } catch (JMException e) {
+        //Already registered by another copy of the engine in the same JVM; its metrics are the ones served.
+      }
+
+      long seconds = Long.getLong("blackjack.metrics.snapshotSeconds", 0);
+
+      if (seconds > 0) {
+        startSnapshots(System.err, seconds, TimeUnit.SECONDS);
+      }
+    }
+  }
+
+  private Metrics() {
+  }
+
+  /**
+    Returns a few lines of text describing every metric, with the round rate since the metrics were started or last reset.
+
+    @return the snapshot.
+  */
+  public static String snapshot() {
+    return snapshot(getRoundsPerSecond());
+  }
+
+  /**
+    Prints a <code>snapshot()</code> to <code>out</code> every <code>period</code>, with the round rate over the period, on a daemon thread of its own.
+
+    @param out where to print the snapshots.
+    @param period the time between snapshots.
+    @param unit the unit of <code>period</code>.
+    @return closing it stops the snapshots.
+  */
+  public static Closeable startSnapshots(PrintStream out, long period, TimeUnit unit) {
+    ScheduledExecutorService timer = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "metrics-snapshot");
+
+      t.setDaemon(true);
+
+      return t;
+    });
+    long[] last = {CARDS_PER_ROUND.getCount(), System.nanoTime()};
+
+    timer.scheduleAtFixedRate(() -> {
+      long rounds = CARDS_PER_ROUND.getCount();
+      long now = System.nanoTime();
+      double rate = (rounds - last[0]) * 1e9 / Math.max(1, now - last[1]);
+
+      last[0] = rounds;
+      last[1] = now;
+      out.println(snapshot(rate));
+    }, period, period, unit);
+
+    return timer::shutdownNow;
+  }
+
+  /**
+    Returns the rounds played per second since the metrics were started or last reset.
+
+    @return the round rate.
+  */
+  public static double getRoundsPerSecond() {
+    return CARDS_PER_ROUND.getCount() * 1e9 / Math.max(1, System.nanoTime() - startNanos);
+  }
+
+  /**
+    Clears every metric and restarts the round rate.
+  */
+  public static void reset() {
+    CARDS_PER_ROUND.reset();
+    SHUFFLE_NANOS.reset();
+    DECISION_NANOS.reset();
+    DEALER_TURN_NANOS.reset();
+    startNanos = System.nanoTime();
+  }
+
+  private static String snapshot(double roundsPerSecond) {
+    return "Rounds: " + CARDS_PER_ROUND.getCount() + " (" + Math.round(roundsPerSecond) + "/s)\n" +
+           "Cards per round: " + CARDS_PER_ROUND + "\n" +
+           "Shuffle ns: " + SHUFFLE_NANOS + "\n" +
+           "Decision ns: " + DECISION_NANOS + "\n" +
+           "Dealer turn ns: " + DEALER_TURN_NANOS;
+  }
+
+  /**
+    Serves the metrics over JMX.
+  */
+  private static final class Bean implements MetricsMXBean {
+    @Override
+    public boolean isEnabled() {
+      return ENABLED;
+    }
+
+    @Override
+    public long getRounds() {
+      return CARDS_PER_ROUND.getCount();
+    }
+
+    @Override
+    public double getRoundsPerSecond() {
+      return Metrics.getRoundsPerSecond();
+    }
+
+    @Override
+    public double getMeanCardsPerRound() {
+      return CARDS_PER_ROUND.getMean();
+    }
+
+    @Override
+    public long getShuffles() {
+      return SHUFFLE_NANOS.getCount();
+    }
+
+    @Override
+    public double getShuffleMeanNanos() {
+      return SHUFFLE_NANOS.getMean();
+    }
+
+    @Override
+    public long getShuffleP99Nanos() {
+      return SHUFFLE_NANOS.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getDecisions() {
+      return DECISION_NANOS.getCount();
+    }
+
+    @Override
+    public double getDecisionMeanNanos() {
+      return DECISION_NANOS.getMean();
+    }
+
+    @Override
+    public long getDecisionP99Nanos() {
+      return DECISION_NANOS.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getDealerTurns() {
+      return DEALER_TURN_NANOS.getCount();
+    }
+
+    @Override
+    public double getDealerTurnMeanNanos() {
+      return DEALER_TURN_NANOS.getMean();
+    }
+
+    @Override
+    public long getDealerTurnP99Nanos() {
+      return DEALER_TURN_NANOS.getValueAtPercentile(99);
+    }
+
+    @Override
+    public String getSnapshot() {
+      return Metrics.snapshot();
+    }
+
+    @Override
+    public void reset() {
+      Metrics.reset();
+    }
+  }
+}
@@ -0,0 +1,109 @@
+package com.braithiar.blackjack.metrics;
+
+/**
+  The game engine's <code>Metrics</code> as seen over JMX, registered as <code>Metrics.OBJECT_NAME</code>. Latencies are in nanoseconds.
+*/
+public interface MetricsMXBean {
+  /**
+    Returns true if the engine is recording metrics.
+
+    @return the value of <code>Metrics.ENABLED</code>.
+  */
+  boolean isEnabled();
+
+  /**
+    Returns the rounds played since the metrics were started or last reset.
+
+    @return the number of rounds.
+  */
+  long getRounds();
+
+  /**
+    Returns the rounds played per second since the metrics were started or last reset.
+
+    @return the round rate.
+  */
+  double getRoundsPerSecond();
+
+  /**
+    Returns the mean number of cards dealt per round.
+
+    @return the mean cards per round.
+  */
+  double getMeanCardsPerRound();
+
+  /**
+    Returns the number of full shuffles timed.
+
+    @return the number of shuffles.
+  */
+  long getShuffles();
+
+  /**
+    Returns the mean time a shuffle took, in nanoseconds.
+
+    @return the mean shuffle time.
+  */
+  double getShuffleMeanNanos();
+
+  /**
+    Returns the time, in nanoseconds, that 99% of shuffles took at most, rounded up to its histogram bucket.
+
+    @return the 99th percentile shuffle time.
+  */
+  long getShuffleP99Nanos();
+
+  /**
+    Returns the number of player decisions timed.
+
+    @return the number of decisions.
+  */
+  long getDecisions();
+
+  /**
+    Returns the mean time a strategy took to decide, in nanoseconds.
+
+    @return the mean decision time.
+  */
+  double getDecisionMeanNanos();
+
+  /**
+    Returns the time, in nanoseconds, that 99% of decisions took at most, rounded up to its histogram bucket.
+
+    @return the 99th percentile decision time.
+  */
+  long getDecisionP99Nanos();
+
+  /**
+    Returns the number of dealer turns timed.
+
+    @return the number of dealer turns.
+  */
+  long getDealerTurns();
+
+  /**
+    Returns the mean time the dealer's turn took, in nanoseconds.
+
+    @return the mean dealer turn time.
+  */
+  double getDealerTurnMeanNanos();
+
+  /**
+    Returns the time, in nanoseconds, that 99% of dealer turns took at most, rounded up to its histogram bucket.
+
+    @return the 99th percentile dealer turn time.
+  */
+  long getDealerTurnP99Nanos();
+
+  /**
+    Returns the same text as <code>Metrics.snapshot()</code>.
+
+    @return the snapshot.
+  */
+  String getSnapshot();
+
+  /**
+    Clears every metric.
+  */
+  void reset();
+}
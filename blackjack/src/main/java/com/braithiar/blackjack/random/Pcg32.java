@@ -0,0 +1,57 @@
+package com.braithiar.blackjack.random;
+
+import java.util.random.RandomGenerator;
+
+/**
+  O'Neill's PCG32 (XSH RR) generator: a 64-bit linear congruential state with a permuted 32-bit output. Each output is a single multiply-add, which suits the 32-bit bounded draws a shuffle makes. Instances are not thread-safe.
+*/
+public final class Pcg32 implements RandomGenerator {
+  private static final long MULTIPLIER = 6364136223846793005L;
+
+  private long state;
+
+  /**
+    The odd increment selecting this generator's stream.
+  */
+  private final long increment;
+
+  /**
+    Constructs a <code>Pcg32</code> on a stream derived from the seed, so generators with different seeds also differ in stream.
+
+    @param seed the seed of the generator.
+  */
+  public Pcg32(long seed) {
+    this(seed, SplitMix64.mix(seed));
+  }
+
+  /**
+    Constructs a <code>Pcg32</code> on a chosen stream. Generators with the same seed but different streams produce unrelated sequences.
+
+    @param seed the seed of the generator.
+    @param stream the stream selector.
+  */
+  public Pcg32(long seed, long stream) {
+    this.increment = (stream << 1) | 1L;
+    this.state = 0L;
+    nextInt();
+    this.state += seed;
+    nextInt();
+  }
+
+  @Override
+  public int nextInt() {
+    long old = this.state;
+
+    this.state = old * MULTIPLIER + this.increment;
+
+    int xorShifted = (int) (((old >>> 18) ^ old) >>> 27);
+    int rotation = (int) (old >>> 59);
+
+    return Integer.rotateRight(xorShifted, rotation);
+  }
+
+  @Override
+  public long nextLong() {
+    return ((long) nextInt() << 32) | (nextInt() & 0xFFFFFFFFL);
+  }
+}
@@ -0,0 +1,58 @@
+package com.braithiar.blackjack.random;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+  The generators a shuffle can be driven by, so the choice can be made from configuration.
+*/
+public enum RandomAlgorithm {
+  /**
+    <code>java.util.SplittableRandom</code>.
+  */
+  SPLITTABLE {
+    @Override
+    public RandomGenerator create(long seed) {
+      return new SplittableRandom(seed);
+    }
+  },
+
+  /**
+    <code>Xoshiro256PlusPlus</code>.
+  */
+  XOSHIRO {
+    @Override
+    public RandomGenerator create(long seed) {
+      return new Xoshiro256PlusPlus(seed);
+    }
+  },
+
+  /**
+    <code>Pcg32</code>.
+  */
+  PCG {
+    @Override
+    public RandomGenerator create(long seed) {
+      return new Pcg32(seed);
+    }
+  };
+
+  /**
+    Creates a new, unshared generator of this algorithm.
+
+    @param seed the seed of the generator.
+    @return the new generator.
+  */
+  public abstract RandomGenerator create(long seed);
+
+  /**
+    Derives the seed of the <code>index</code>th of a family of generators from one master seed, so that any member can be recreated on its own without stepping through the ones before it.
+
+    @param masterSeed the seed of the family.
+    @param index the member of the family.
+    @return the member's seed.
+  */
+  public static long deriveSeed(long masterSeed, long index) {
+    return SplitMix64.mix(masterSeed + index * SplitMix64.GOLDEN_GAMMA);
+  }
+}
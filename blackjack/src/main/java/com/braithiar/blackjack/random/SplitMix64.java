@@ -0,0 +1,27 @@
+package com.braithiar.blackjack.random;
+
+/**
+  The SplitMix64 finalizer, used to turn a single <code>long</code> seed into well mixed generator state.
+*/
+final class SplitMix64 {
+  /**
+    The odd constant SplitMix64 adds between outputs.
+  */
+  static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+  private SplitMix64() {
+  }
+
+  /**
+    Scrambles <code>z</code> with the SplitMix64 output function.
+
+    @param z the value to mix.
+    @return the mixed value.
+  */
+  static long mix(long z) {
+    z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+    z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+
+    return z ^ (z >>> 31);
+  }
+}
@@ -0,0 +1,47 @@
+package com.braithiar.blackjack.random;
+
+import java.util.random.RandomGenerator;
+
+/**
+  Blackman and Vigna's xoshiro256++ generator. It keeps 256 bits of state in four longs and needs only shifts, rotations, xors and one add per output, which makes it one of the cheapest high-quality generators for shuffling. Instances are not thread-safe.
+*/
+public final class Xoshiro256PlusPlus implements RandomGenerator {
+  private long s0;
+  private long s1;
+  private long s2;
+  private long s3;
+
+  /**
+    Constructs a <code>Xoshiro256PlusPlus</code> whose state is expanded from <code>seed</code> with SplitMix64, so every seed, including 0, gives a usable state.
+
+    @param seed the seed of the generator.
+  */
+  public Xoshiro256PlusPlus(long seed) {
+    long x = seed;
+
+    this.s0 = SplitMix64.mix(x += SplitMix64.GOLDEN_GAMMA);
+    this.s1 = SplitMix64.mix(x += SplitMix64.GOLDEN_GAMMA);
+    this.s2 = SplitMix64.mix(x += SplitMix64.GOLDEN_GAMMA);
+    this.s3 = SplitMix64.mix(x + SplitMix64.GOLDEN_GAMMA);
+  }
+
+  @Override
+  public long nextLong() {
+    long result = Long.rotateLeft(this.s0 + this.s3, 23) + this.s0;
+    long t = this.s1 << 17;
+
+    this.s2 ^= this.s0;
+    this.s3 ^= this.s1;
+    this.s1 ^= this.s2;
+    this.s0 ^= this.s3;
+    this.s2 ^= t;
+    this.s3 = Long.rotateLeft(this.s3, 45);
+
+    return result;
+  }
+
+  @Override
+  public int nextInt() {
+    return (int) (nextLong() >>> 32);
+  }
+}
@@ -0,0 +1,193 @@
+package com.braithiar.blackjack.server;
+
+import com.braithiar.blackjack.Deck;
+import com.braithiar.blackjack.ObjectPool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+  Hosts the game for many players at once over TCP. Each connection gets its own table against the dealer and a <code>GameSession</code> speaking the console game's line-based commands, so the server can be played with any line-based client such as <code>telnet</code> or <code>nc</code>.
+  <p>
+  Each session runs on its own thread. On a runtime with virtual threads the server uses one virtual thread per session, so thousands of idle players cost little more than their sockets; on older runtimes it falls back to a cached pool of platform threads. The dealer's pacing waits on a single shared timer rather than sleeping on the session's thread.
+  */
+public class GameServer implements Closeable {
+  /**
+    The port the server listens on when none is given.
+  */
+  public static final int DEFAULT_PORT = 2121;
+
+  /**
+    The pause before each of the dealer's steps when none is given, the same as the console game.
+  */
+  public static final long DEFAULT_DEALER_DELAY_MILLIS = 2000;
+
+  /**
+    Connections waiting to be accepted before new ones are refused.
+  */
+  private static final int BACKLOG = 1024;
+
+  /**
+    Idle decks kept for the next sessions to connect.
+  */
+  private static final int IDLE_DECKS = 256;
+
+  private final ServerSocket serverSocket;
+  private final ExecutorService sessions;
+  private final ScheduledExecutorService timers;
+  private final long dealerDelayMillis;
+
+  /**
+    Splits off each session's shuffling generator. Only the accepting thread uses it.
+  */
+  private final SplittableRandom seeds;
+
+  /**
+    The sessions currently connected, so <code>close()</code> can end them.
+  */
+  private final Set<GameSession> open;
+
+  /**
+    Decks handed from sessions that have ended to the ones that start.
+  */
+  private final ObjectPool<Deck> decks;
+
+  /**
+    Constructs a server listening on <code>port</code>.
+
+    @param port the port to listen on, or 0 for any free port.
+    @param dealerDelayMillis the pause before each of the dealer's steps; 0 plays the dealer's turn straight through.
+    @throws IOException if the port could not be bound.
+  */
+  public GameServer(int port, long dealerDelayMillis) throws IOException {
+    if (dealerDelayMillis < 0) {
+      throw buildIllegalDelayException(dealerDelayMillis);
+    }
+
+    this.serverSocket = new ServerSocket(port, BACKLOG);
+    this.sessions = newPerTaskExecutor();
+    this.timers = Executors.newSingleThreadScheduledExecutor(r -> {
+      Thread t = new Thread(r, "dealer-timer");
+
+      t.setDaemon(true);
+
+      return t;
+    });
+    this.dealerDelayMillis = dealerDelayMillis;
+    this.seeds = new SplittableRandom();
+    this.open = ConcurrentHashMap.newKeySet();
+    this.decks = new ObjectPool<>(Deck::new, Deck::reset, IDLE_DECKS);
+  }
+
+  /**
+    Accepts players until the server is closed, starting a session for each.
+
+    @throws IOException if accepting fails for any reason other than the server closing.
+  */
+  public void serve() throws IOException {
+    while (!this.serverSocket.isClosed()) {
+      Socket socket;
+
+      try {
+        socket = this.serverSocket.accept();
+      } catch (SocketException e) {
+        if (this.serverSocket.isClosed()) {
+          break;
+        }
+
+        throw e;
+      }
+
+      socket.setTcpNoDelay(true);
+
+      GameSession session = new GameSession(socket, this.seeds.split(), this.decks, this.timers, this.sessions, this.dealerDelayMillis);
+
+      this.open.add(session);
+      this.sessions.execute(() -> {
+        try {
+          session.run();
+        } finally {
+          this.open.remove(session);
+        }
+      });
+    }
+  }
+
+  /**
+    Returns the port this server is listening on.
+
+    @return the local port.
+  */
+  public int getPort() {
+    return this.serverSocket.getLocalPort();
+  }
+
+  /**
+    Returns the number of players currently connected.
+
+    @return the number of open sessions.
+  */
+  public int getActiveSessions() {
+    return this.open.size();
+  }
+
+  /**
+    Stops accepting players and ends every open session.
+  */
+  @Override
+  public void close() throws IOException {
+    this.serverSocket.close();
+
+    for (GameSession session : this.open) {
+      session.close();
+    }
+
+    this.timers.shutdownNow();
+    this.sessions.shutdown();
+  }
+
+  /**
+    Returns an executor starting a virtual thread per task when the runtime has them, or a cached thread pool when it does not. The virtual thread executor is looked up reflectively so the server still runs on runtimes without it.
+
+    @return an executor running each task on its own thread.
+  */
+  static ExecutorService newPerTaskExecutor() {
+    try {
+      Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+
+      return (ExecutorService) factory.invoke(null);
+    } catch (ReflectiveOperationException e) {
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  /**
+    Runs the server until the process is stopped.
+
+    @param args optionally the port to listen on, then the dealer delay in milliseconds.
+    @throws IOException if the server could not listen on the port.
+  */
+  public static void main(String[] args) throws IOException {
+    int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+    long dealerDelayMillis = args.length > 1 ? Long.parseLong(args[1]) : DEFAULT_DEALER_DELAY_MILLIS;
+
+    try (GameServer server = new GameServer(port, dealerDelayMillis)) {
+      System.out.println("Dealing blackjack on port " + server.getPort() + "...");
+      server.serve();
+    }
+  }
+
+  private static final IllegalArgumentException buildIllegalDelayException(long delay) {
+    return new IllegalArgumentException(delay + " is not a valid dealer delay. It must be at least 0 milliseconds.");
+  }
+}
@@ -0,0 +1,448 @@
+package com.braithiar.blackjack.server;
+
+import com.braithiar.blackjack.Bankroll;
+import com.braithiar.blackjack.DealerTimeline;
+import com.braithiar.blackjack.Deck;
+import com.braithiar.blackjack.GameText;
+import com.braithiar.blackjack.HandRenderer;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.ObjectPool;
+import com.braithiar.blackjack.Player;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
+
+/**
+  One player's game on the <code>GameServer</code>. The session's thread reads the player's lines and answers them with the same text and commands as the console game: the menu options 1, 2 and 3, (h)it or (s)tay, and (y)es or (n)o to play again.
+  <p>
+  The dealer's turn is planned as a <code>DealerTimeline</code> and not played on the session's thread. Each of its steps waits out the dealer delay on the server's timer and is then handed back to the session executor, so a table waiting on the dealer holds no thread at all. Every change to the game happens while holding the session's lock, which keeps the reading thread and the dealer's steps from interleaving. The lock is a <code>ReentrantLock</code> rather than the session's monitor, because answers are written to the socket while holding it, and a virtual thread blocked on a write inside a monitor would pin its carrier thread and stall unrelated sessions.
+  <p>
+  The reader and writer use small buffers, since the messages are short and the server may hold thousands of sessions at once. The session's deck comes from the server's pool on the first deal, is reset and reshuffled in place every round after that, and goes back to the pool when the session closes.
+  */
+final class GameSession implements Runnable, Closeable {
+  /**
+    Size in chars of the session's input and output buffers.
+  */
+  private static final int BUFFER_SIZE = 512;
+
+  /**
+    The highest score that is not a bust.
+  */
+  private static final int MAX_SCORE = HandTotal.MAX_SCORE;
+
+  /**
+    What the session is waiting on.
+  */
+  private enum State {
+    MENU, PLAYER_TURN, DEALER_TURN, PLAY_AGAIN, CLOSED
+  }
+
+  private final Socket socket;
+  private final RandomGenerator rng;
+  private final ObjectPool<Deck> decks;
+  private final ScheduledExecutorService timers;
+  private final Executor executor;
+  private final long dealerDelayMillis;
+
+  /**
+    The dealer and the player, in the same slots as the console game.
+  */
+  private final Player[] players;
+
+  /**
+    Renders the hands into the session's output without building a string per player.
+  */
+  private final HandRenderer renderer;
+
+  /**
+    Guards the game and the output.
+  */
+  private final ReentrantLock lock;
+
+  private Writer out;
+  private Deck deck;
+  private State state;
+
+  /**
+    The dealer's turn, while it is being replayed.
+  */
+  private CompletableFuture<Void> dealerTurn;
+
+  /**
+    Constructs a session for a connected player.
+
+    @param socket the player's connection.
+    @param rng the generator shuffling this session's deck.
+    @param decks the pool this session's deck is taken from and returned to.
+    @param timers the timer the dealer's steps wait on.
+    @param executor the executor the dealer's steps run on once their delay has passed.
+    @param dealerDelayMillis the pause before each of the dealer's steps; 0 plays the dealer's turn straight through.
+  */
+  GameSession(Socket socket, RandomGenerator rng, ObjectPool<Deck> decks, ScheduledExecutorService timers, Executor executor, long dealerDelayMillis) {
+    this.socket = socket;
+    this.rng = rng;
+    this.decks = decks;
+    this.timers = timers;
+    this.executor = executor;
+    this.dealerDelayMillis = dealerDelayMillis;
+    this.players = new Player[] {
+      new Player(true, "Dealer"), new Player(false, "Player", new Bankroll(Bankroll.DEFAULT_UNITS))
+    };
+    this.renderer = new HandRenderer(StandardCharsets.UTF_8);
+    this.state = State.MENU;
+    this.lock = new ReentrantLock();
+  }
+
+  /**
+    Reads the player's lines until they exit or disconnect.
+  */
+  @Override
+  public void run() {
+    try (Socket s = this.socket;
+         BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+      this.lock.lock();
+
+      try {
+        this.out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8), BUFFER_SIZE);
+        this.println(GameText.BANNER);
+        this.promptMenu();
+        this.out.flush();
+      } finally {
+        this.lock.unlock();
+      }
+
+      String line;
+
+      while ((line = in.readLine()) != null && this.handle(line.trim())) {
+      }
+    } catch (IOException e) {
+      //The player disconnected; there is nobody left to tell.
+    } finally {
+      this.close();
+    }
+  }
+
+  /**
+    Ends the session, closing the connection, cancelling the dealer's next step and returning the deck to the pool. The connection is closed before taking the session's lock, so a write stuck on a player who stopped reading fails and gives the lock up.
+  */
+  @Override
+  public void close() {
+    try {
+      this.socket.close();
+    } catch (IOException e) {
+      //Already closed.
+    }
+
+    this.lock.lock();
+
+    try {
+      this.state = State.CLOSED;
+
+      if (this.dealerTurn != null) {
+        this.dealerTurn.cancel(false);
+      }
+
+      if (this.deck != null) {
+        this.decks.release(this.deck);
+        this.deck = null;
+      }
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  /**
+    Answers one line from the player.
+
+    @param line the player's input, trimmed.
+    @return false once the session is over.
+    @throws IOException if the answer could not be sent.
+  */
+  private boolean handle(String line) throws IOException {
+    this.lock.lock();
+
+    try {
+      return this.handleLocked(line);
+    } finally {
+      this.lock.unlock();
+    }
+  }
+
+  private boolean handleLocked(String line) throws IOException {
+    switch (this.state) {
+      case MENU:
+        this.handleMenu(line);
+        break;
+      case PLAYER_TURN:
+        this.handlePlayerTurn(line.toLowerCase());
+        break;
+      case DEALER_TURN:
+        this.println("\nPlease wait for the dealer to finish...");
+        break;
+      case PLAY_AGAIN:
+        this.handlePlayAgain(line.toLowerCase());
+        break;
+      case CLOSED:
+        break;
+    }
+
+    this.out.flush();
+
+    return this.state != State.CLOSED;
+  }
+
+  private void handleMenu(String option) throws IOException {
+    switch (option) {
+      case "1":
+        this.deal();
+        break;
+      case "2":
+        this.println(GameText.RULES);
+        this.promptMenu();
+        break;
+      case "3":
+        this.state = State.CLOSED;
+        break;
+      default:
+        this.println(GameText.INVALID_MENU_OPTION);
+        this.promptMenu();
+    }
+  }
+
+  private void handlePlayerTurn(String option) throws IOException {
+    switch (option) {
+      case "h":
+      case "hit":
+        this.println("\n" + this.players[1].getName() + " hits!");
+        this.players[1].addToHand(this.deck.draw());
+
+        if (isBust(this.players[1])) {
+          this.println("\nUh oh!\n");
+          this.printHands();
+          this.settle();
+        } else {
+          this.printHands();
+          this.promptHitOrStay();
+        }
+        break;
+      case "s":
+      case "stay":
+        this.println("\n" + this.players[1].getName() + " stays!");
+        this.state = State.DEALER_TURN;
+        this.dealerTurn = DealerTimeline.plan(this.players[0], this.deck)
+                                        .replay(this.timers, this::executeLocked, this.dealerDelayMillis, this::printDealerEvent);
+        this.dealerTurn.whenComplete(this::dealerTurnOver);
+        break;
+      default:
+        this.println(GameText.INVALID_HIT_OR_STAY);
+        this.printHands();
+        this.promptHitOrStay();
+    }
+  }
+
+  private void handlePlayAgain(String option) throws IOException {
+    switch (option) {
+      case "y":
+      case "yes":
+        this.deal();
+        break;
+      case "n":
+      case "no":
+        this.promptMenu();
+        break;
+      default:
+        this.println(GameText.INVALID_PLAY_AGAIN);
+        this.promptPlayAgain();
+    }
+  }
+
+  /**
+    Starts a round with the session's deck reset and shuffled, and gives the player their first turn. A player who can no longer cover the table bet is thanked for playing and the session ends.
+  */
+  private void deal() throws IOException {
+    if (!this.players[1].getBankroll().canCover(Bankroll.TABLE_BET)) {
+      this.println(GameText.OUT_OF_CHIPS);
+      this.state = State.CLOSED;
+      return;
+    }
+
+    this.players[1].placeBet(Bankroll.TABLE_BET);
+
+    for (Player p : this.players) {
+      p.resetHand();
+      p.resetScore();
+    }
+
+    if (this.deck == null) {
+      this.deck = this.decks.acquire();
+    } else {
+      this.deck.reset();
+    }
+
+    this.deck.shuffle(this.rng);
+
+    this.deck.deal(this.players, 2);
+    this.state = State.PLAYER_TURN;
+    this.printHands();
+    this.promptHitOrStay();
+  }
+
+  /**
+    Shows one step of the dealer's turn to the player.
+  */
+  private void printDealerEvent(DealerTimeline.Event event, Player dealer) {
+    try {
+      switch (event) {
+        case REVEAL:
+          this.println("\nDealer reveals his card...\n");
+          break;
+        case SHOW_HANDS:
+          this.printHands();
+          break;
+        case HIT:
+          this.println("\n" + dealer.getName() + " hits!");
+          break;
+        case STAY:
+          this.println("\nDealer stays!");
+          break;
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  /**
+    Settles the round once the dealer's turn is over, or ends the session if the turn was cut short.
+  */
+  private void dealerTurnOver(Void ignored, Throwable failure) {
+    this.lock.lock();
+
+    try {
+      this.dealerTurn = null;
+
+      if (failure == null && this.state == State.DEALER_TURN) {
+        this.settle();
+        return;
+      }
+    } catch (IOException e) {
+      //Fall through and close the session; the player is gone.
+    } finally {
+      this.lock.unlock();
+    }
+
+    this.close();
+  }
+
+  /**
+    Announces the winner and asks the player if they would like to play again. The caller holds the session's lock.
+  */
+  private void settle() throws IOException {
+    long stake = this.players[1].getBankroll().getStakeTenths();
+
+    if (isBust(this.players[1])) {
+      this.println("\nBust! " + this.players[1].getName() + " Loses!\n");
+      this.players[0].addWin();
+      this.players[1].settleBet(0);
+    } else if (isBust(this.players[0])) {
+      this.println("\nBust! " + this.players[0].getName() + " Loses!\n");
+      this.players[1].addWin();
+      this.players[1].settleBet(stake * 2);
+    } else if (this.players[0].getScore() > this.players[1].getScore()) {
+      this.println("\n" + this.players[0].getName() + " Wins!\n");
+      this.players[0].addWin();
+      this.players[1].settleBet(0);
+    } else if (this.players[0].getScore() < this.players[1].getScore()) {
+      this.println("\n" + this.players[1].getName() + " Wins!\n");
+      this.players[1].addWin();
+      this.players[1].settleBet(stake * 2);
+    } else {
+      this.println("\nIt's a draw!\n");
+      this.players[1].addPush();
+      this.players[1].settleBet(stake);
+    }
+
+    this.promptPlayAgain();
+  }
+
+  /**
+    Runs one of the dealer's paced steps on the session executor while holding the session's lock, then sends what it wrote. A step due after the session has closed is dropped.
+
+    @param step the dealer's next step.
+  */
+  private void executeLocked(Runnable step) {
+    try {
+      this.executor.execute(() -> this.runLocked(step));
+    } catch (RejectedExecutionException e) {
+      //The server is shutting down.
+      this.close();
+    }
+  }
+
+  private void runLocked(Runnable step) {
+    this.lock.lock();
+
+    try {
+      if (this.state == State.CLOSED) {
+        return;
+      }
+
+      step.run();
+      this.out.flush();
+      return;
+    } catch (IOException e) {
+      //Fall through and close the session; the player is gone.
+    } finally {
+      this.lock.unlock();
+    }
+
+    this.close();
+  }
+
+  private void promptMenu() throws IOException {
+    this.state = State.MENU;
+    this.println(GameText.MENU);
+    this.print(GameText.PROMPT);
+  }
+
+  private void promptHitOrStay() throws IOException {
+    this.println(GameText.HIT_OR_STAY);
+    this.print(GameText.PROMPT);
+  }
+
+  private void promptPlayAgain() throws IOException {
+    this.state = State.PLAY_AGAIN;
+    this.println(GameText.PLAY_AGAIN);
+    this.print(GameText.PROMPT);
+  }
+
+  private void printHands() throws IOException {
+    this.renderer.renderHands(this.players).writeTo(this.out);
+  }
+
+  private void print(String text) throws IOException {
+    this.out.write(text);
+  }
+
+  private void println(String text) throws IOException {
+    this.out.write(text);
+    this.out.write('\n');
+  }
+
+  private static boolean isBust(Player p) {
+    return p.getScore() > MAX_SCORE;
+  }
+}
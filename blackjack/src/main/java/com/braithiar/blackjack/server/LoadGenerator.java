@@ -0,0 +1,169 @@
+package com.braithiar.blackjack.server;
+
+import com.braithiar.blackjack.GameText;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+  Plays many simultaneous clients against a <code>GameServer</code> to see how it holds up. Each client connects, plays its rounds by answering the server's prompts, hitting or staying at random, and then exits through the menu. A client that runs out of chips first stops there, as the server ends its session.
+  */
+public class LoadGenerator {
+  /**
+    The line the server sends before ending the session of a player who can no longer cover the table bet.
+  */
+  private static final String OUT_OF_CHIPS = GameText.OUT_OF_CHIPS.strip();
+
+  private final String host;
+  private final int port;
+  private final int clients;
+  private final int roundsPerClient;
+
+  private final LongAdder rounds;
+  private final LongAdder failures;
+  private final LongAdder outOfChips;
+
+  /**
+    Constructs a load generator.
+
+    @param host the server's host.
+    @param port the server's port.
+    @param clients the number of clients connected at once.
+    @param roundsPerClient the rounds each client plays before exiting.
+  */
+  public LoadGenerator(String host, int port, int clients, int roundsPerClient) {
+    if (clients < 1 || roundsPerClient < 1) {
+      throw buildIllegalLoadException(clients, roundsPerClient);
+    }
+
+    this.host = host;
+    this.port = port;
+    this.clients = clients;
+    this.roundsPerClient = roundsPerClient;
+    this.rounds = new LongAdder();
+    this.failures = new LongAdder();
+    this.outOfChips = new LongAdder();
+  }
+
+  /**
+    Connects every client and waits for all of them to finish.
+
+    @throws InterruptedException if interrupted while waiting for the clients.
+  */
+  public void run() throws InterruptedException {
+    SplittableRandom seeds = new SplittableRandom();
+    ExecutorService executor = GameServer.newPerTaskExecutor();
+
+    for (int c = 0; c < this.clients; ++c) {
+      SplittableRandom rng = seeds.split();
+
+      executor.execute(() -> this.play(rng));
+    }
+
+    executor.shutdown();
+    executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+  }
+
+  /**
+    Returns the number of rounds the clients have finished.
+
+    @return the rounds played.
+  */
+  public long getRounds() {
+    return this.rounds.sum();
+  }
+
+  /**
+    Returns the number of clients that lost their connection before finishing.
+
+    @return the failed clients.
+  */
+  public long getFailures() {
+    return this.failures.sum();
+  }
+
+  /**
+    Returns the number of clients that ran out of chips before playing all their rounds.
+
+    @return the clients that went broke.
+  */
+  public long getOutOfChips() {
+    return this.outOfChips.sum();
+  }
+
+  /**
+    Plays one client's rounds, answering each prompt as it arrives.
+
+    @param rng the generator choosing between hit and stay.
+  */
+  private void play(SplittableRandom rng) {
+    try (Socket socket = new Socket(this.host, this.port);
+         BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+         Writer out = new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8)) {
+      int played = 0;
+      String line;
+
+      while ((line = in.readLine()) != null) {
+        if (line.contains("Select one of the following options")) {
+          send(out, played < this.roundsPerClient ? "1" : "3");
+        } else if (line.contains("(H)it or (S)tay?")) {
+          send(out, rng.nextBoolean() ? "h" : "s");
+        } else if (line.contains("Play again?")) {
+          this.rounds.increment();
+          send(out, ++played < this.roundsPerClient ? "y" : "n");
+        } else if (line.contains(OUT_OF_CHIPS)) {
+          this.outOfChips.increment();
+          return;
+        }
+      }
+
+      if (played < this.roundsPerClient) {
+        this.failures.increment();
+      }
+    } catch (IOException e) {
+      this.failures.increment();
+    }
+  }
+
+  private static void send(Writer out, String command) throws IOException {
+    out.write(command);
+    out.write('\n');
+    out.flush();
+  }
+
+  /**
+    Plays the given load against a server and reports how long it took.
+
+    @param args the host, port, number of clients and rounds per client; defaults to 1000 clients playing 10 rounds each against localhost.
+    @throws InterruptedException if interrupted while waiting for the clients.
+  */
+  public static void main(String[] args) throws InterruptedException {
+    String host = args.length > 0 ? args[0] : "localhost";
+    int port = args.length > 1 ? Integer.parseInt(args[1]) : GameServer.DEFAULT_PORT;
+    int clients = args.length > 2 ? Integer.parseInt(args[2]) : 1000;
+    int roundsPerClient = args.length > 3 ? Integer.parseInt(args[3]) : 10;
+
+    LoadGenerator load = new LoadGenerator(host, port, clients, roundsPerClient);
+    long start = System.nanoTime();
+
+    load.run();
+
+    double seconds = (System.nanoTime() - start) / 1e9;
+
+    System.out.printf("%d clients played %d rounds in %.2fs (%.0f rounds/s), %d ran out of chips, %d failed%n",
+                      clients, load.getRounds(), seconds, load.getRounds() / seconds, load.getOutOfChips(), load.getFailures());
+  }
+
+  private static final IllegalArgumentException buildIllegalLoadException(int clients, int roundsPerClient) {
+    return new IllegalArgumentException(clients + " clients playing " + roundsPerClient + " rounds is not a valid load. There must be at least 1 client playing at least 1 round.");
+  }
+}
@@ -0,0 +1,55 @@
+package com.braithiar.blackjack.sim;
+
+/**
+  Defines what a player can do with a hand on their turn. The engines offer the actions the rules allow as a bit mask of <code>bit()</code> values, and a strategy must answer with one of them; <code>HIT</code> and <code>STAND</code> are always offered.
+*/
+public enum Action {
+  /**
+    Take another card.
+  */
+  HIT,
+
+  /**
+    Keep the current hand.
+  */
+  STAND,
+
+  /**
+    Double the bet, take exactly one more card and stand.
+  */
+  DOUBLE,
+
+  /**
+    Split a pair into two hands, each with its own bet.
+  */
+  SPLIT,
+
+  /**
+    Give up the hand and half the bet.
+  */
+  SURRENDER;
+
+  /**
+    The options every hand is offered.
+  */
+  public static final int ALWAYS = HIT.bit() | STAND.bit();
+
+  /**
+    Returns this action's bit in an options mask.
+
+    @return the action's bit.
+  */
+  public int bit() {
+    return 1 << this.ordinal();
+  }
+
+  /**
+    Returns true if <code>options</code> offers this action.
+
+    @param options the actions offered, as a mask of <code>bit()</code> values.
+    @return true if this action may be taken.
+  */
+  public boolean isAllowed(int options) {
+    return (options & this.bit()) != 0;
+  }
+}
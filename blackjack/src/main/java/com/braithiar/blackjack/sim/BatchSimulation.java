@@ -0,0 +1,366 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Cards;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+  Plays many independent one-seat rounds in lockstep. Each lane is a table of its own with its own <code>Shoe</code>, and the state of every lane is kept in parallel primitive arrays (hard totals, Ace counts, up cards, outcomes) instead of a <code>Player</code> or <code>HandTotal</code> per hand. A round is played in passes over all the lanes at once: deal, then one pass per hit for every lane still hitting, then the dealer's draws, then settling. The draws and table lookups in a pass are scalar, but the scoring passes are plain counted loops over <code>int</code> arrays with no calls or branches the JIT cannot turn into conditional moves, so it can unroll and vectorize them.
+  <p>
+  The player hits or stays only; the rules' dealer play and naturals apply, but doubling, splitting and surrender are not offered. The strategy is asked <code>shouldHit(HandTotal, Rank)</code> once for every hand total and up card when the simulation is built, so a strategy that depends on the shoe plays as its base strategy here. A lane deals in the same order as a one-seat <code>Table</code>, so a single lane reproduces a <code>FastSimulationEngine</code> dealt from the same shoe.
+*/
+public class BatchSimulation implements Simulator {
+  /**
+    The number of lanes played together when none is given.
+  */
+  public static final int DEFAULT_LANES = 1024;
+
+  /**
+    Points of a natural blackjack.
+  */
+  private static final int NATURAL_POINTS = 11;
+
+  /**
+    Hard totals per half of a lookup table. No hand that is still drawing can reach 32.
+  */
+  private static final int HARDS = 32;
+
+  /**
+    Size of a lookup table: the hard total and whether the hand holds an Ace, for every up card.
+  */
+  private static final int KEYS = 2 * HARDS;
+
+  private static final int PLAYER_BUST = Outcome.PLAYER_BUST.ordinal();
+  private static final int DEALER_BUST = Outcome.DEALER_BUST.ordinal();
+  private static final int PLAYER_WIN = Outcome.PLAYER_WIN.ordinal();
+  private static final int DEALER_WIN = Outcome.DEALER_WIN.ordinal();
+  private static final int PUSH = Outcome.PUSH.ordinal();
+  private static final int BLACKJACK = Outcome.BLACKJACK.ordinal();
+
+  /**
+    Marks a lane whose outcome is not settled yet.
+  */
+  private static final int UNSETTLED = -1;
+
+  private final Shoe[] shoes;
+  private final Rules rules;
+
+  /**
+    1 where the player hits, by <code>up card points * KEYS + key</code>.
+  */
+  private final int[] playerHits;
+
+  /**
+    1 where the dealer hits, by <code>key</code>.
+  */
+  private final int[] dealerHits;
+
+  /**
+    Net result of a one unit hand, in tenths, by outcome ordinal.
+  */
+  private final long[] outcomeNetTenths;
+
+  //Lane state, one entry per lane
+  private final int[] hard;
+  private final int[] aces;
+  private final int[] up;
+  private final byte[] hole;
+  private final int[] dealerHard;
+  private final int[] dealerAces;
+  private final int[] outcomes;
+
+  /**
+    1 for a lane still taking cards in the current pass.
+  */
+  private final int[] drawing;
+
+  /**
+    Points of the card each lane drew in the current pass, or 0.
+  */
+  private final int[] drawn;
+
+  /**
+    Constructs a <code>BatchSimulation</code> of <code>DEFAULT_LANES</code> lanes playing by <code>rules</code>, with every lane's shoe made from a generator seeded from <code>rng</code>.
+
+    @param strategy the strategy making every lane's hit or stay decisions.
+    @param shoes creates a lane's shoe from its generator, e.g. <code>r -&gt; new Shoe(6, 0.75, r)</code>.
+    @param rules the rules every round is played by.
+    @param rng the generator the lanes' generators are seeded from.
+  */
+  public BatchSimulation(PlayerStrategy strategy, Function<RandomGenerator, Shoe> shoes, Rules rules, RandomGenerator rng) {
+    this(strategy, createShoes(shoes, rng, DEFAULT_LANES), rules);
+  }
+
+  /**
+    Constructs a <code>BatchSimulation</code> with one lane per shoe.
+
+    @param strategy the strategy making every lane's hit or stay decisions.
+    @param shoes the shoe of each lane. They belong to this simulation from now on.
+    @param rules the rules every round is played by.
+  */
+  public BatchSimulation(PlayerStrategy strategy, Shoe[] shoes, Rules rules) {
+    if (shoes.length < 1) {
+      throw buildIllegalNumberOfLanesException(shoes.length);
+    }
+
+    int lanes = shoes.length;
+
+    this.shoes = shoes.clone();
+    this.rules = rules;
+    this.playerHits = new int[(PlayingCard.Rank.TEN.getPoints() + 1) * KEYS];
+    this.dealerHits = new int[KEYS];
+    this.outcomeNetTenths = new long[Outcome.values().length];
+    this.hard = new int[lanes];
+    this.aces = new int[lanes];
+    this.up = new int[lanes];
+    this.hole = new byte[lanes];
+    this.dealerHard = new int[lanes];
+    this.dealerAces = new int[lanes];
+    this.outcomes = new int[lanes];
+    this.drawing = new int[lanes];
+    this.drawn = new int[lanes];
+
+    for (int key = 0; key < KEYS; ++key) {
+      HandTotal hand = handOf(key);
+
+      this.dealerHits[key] = rules.dealerHits(hand) ? 1 : 0;
+
+      for (PlayingCard.Rank rank : PlayingCard.Rank.values()) {
+        this.playerHits[rank.getPoints() * KEYS + key] = strategy.shouldHit(hand, rank) ? 1 : 0;
+      }
+    }
+
+    for (Outcome outcome : Outcome.values()) {
+      this.outcomeNetTenths[outcome.ordinal()] = outcome.getNetTenths(Rules.TENTHS, rules);
+    }
+  }
+
+  /**
+    Returns the number of lanes played together.
+
+    @return the number of lanes.
+  */
+  public int getLanes() {
+    return this.shoes.length;
+  }
+
+  @Override
+  public SimulationResult run(long rounds) {
+    long[] counts = new long[Outcome.values().length];
+    long net = 0;
+
+    for (long played = 0; played < rounds; ) {
+      int n = (int) Math.min(this.shoes.length, rounds - played);
+
+      net += this.playBatch(n, counts);
+      played += n;
+    }
+
+    return new SimulationResult(counts, rounds, net);
+  }
+
+  /**
+    Plays one round in each of the first <code>n</code> lanes and adds their outcomes to <code>counts</code>.
+
+    @return the lanes' net result, in tenths.
+  */
+  private long playBatch(int n, long[] counts) {
+    this.deal(n);
+    this.playPlayers(n);
+    this.playDealers(n);
+    this.settle(n);
+
+    long net = 0;
+
+    for (int i = 0; i < n; ++i) {
+      ++counts[this.outcomes[i]];
+      net += this.outcomeNetTenths[this.outcomes[i]];
+    }
+
+    return net;
+  }
+
+  /**
+    Deals the opening cards of every lane in the same order as <code>Table</code>, and settles naturals if the rules pay them.
+  */
+  private void deal(int n) {
+    for (int i = 0; i < n; ++i) {
+      Shoe shoe = this.shoes[i];
+
+      shoe.startRound();
+
+      //Dealer's hole card, player, dealer's up card, player.
+      this.hole[i] = shoe.draw();
+
+      int first = points(shoe.draw());
+      int upPoints = points(shoe.draw());
+      int second = points(shoe.draw());
+
+      this.hard[i] = first + second;
+      this.aces[i] = isAce(first) + isAce(second);
+      this.up[i] = upPoints;
+      this.dealerHard[i] = upPoints;
+      this.dealerAces[i] = isAce(upPoints);
+    }
+
+    for (int i = 0; i < n; ++i) {
+      this.outcomes[i] = UNSETTLED;
+      this.drawing[i] = 1;
+    }
+
+    if (this.rules.isNaturals()) {
+      for (int i = 0; i < n; ++i) {
+        int holePoints = points(this.hole[i]);
+        boolean playerNatural = this.aces[i] > 0 && this.hard[i] == NATURAL_POINTS;
+        boolean dealerNatural = (this.up[i] == 1 || holePoints == 1) && this.up[i] + holePoints == NATURAL_POINTS;
+
+        if (playerNatural || dealerNatural) {
+          this.outcomes[i] = playerNatural ? (dealerNatural ? PUSH : BLACKJACK) : DEALER_WIN;
+          this.drawing[i] = 0;
+        }
+      }
+    }
+  }
+
+  /**
+    Lets every lane hit until it stays or busts, one card per lane per pass.
+  */
+  private void playPlayers(int n) {
+    for (boolean any = true; any; ) {
+      //Decide: a table lookup per lane
+      for (int i = 0; i < n; ++i) {
+        this.drawing[i] &= this.playerHits[this.up[i] * KEYS + key(this.hard[i], this.aces[i])];
+      }
+
+      any = this.draw(n);
+
+      //Score: a lane that busts stops drawing
+      for (int i = 0; i < n; ++i) {
+        int p = this.drawn[i];
+
+        this.hard[i] += p;
+        this.aces[i] += p == 1 ? 1 : 0;
+        this.drawing[i] &= this.hard[i] <= HandTotal.MAX_SCORE ? 1 : 0;
+      }
+    }
+  }
+
+  /**
+    Plays the dealer's hand in every lane where the player stood, one card per lane per pass.
+  */
+  private void playDealers(int n) {
+    for (int i = 0; i < n; ++i) {
+      int holePoints = points(this.hole[i]);
+      int standing = this.outcomes[i] == UNSETTLED && this.hard[i] <= HandTotal.MAX_SCORE ? 1 : 0;
+
+      this.dealerHard[i] += holePoints * standing;
+      this.dealerAces[i] += isAce(holePoints) * standing;
+      this.drawing[i] = standing;
+    }
+
+    for (boolean any = true; any; ) {
+      for (int i = 0; i < n; ++i) {
+        this.drawing[i] &= this.dealerHits[key(this.dealerHard[i], this.dealerAces[i])];
+      }
+
+      any = this.draw(n);
+
+      for (int i = 0; i < n; ++i) {
+        int p = this.drawn[i];
+
+        this.dealerHard[i] += p;
+        this.dealerAces[i] += p == 1 ? 1 : 0;
+      }
+    }
+  }
+
+  /**
+    Settles every lane not already settled by a natural, in the same order as <code>Table</code>.
+  */
+  private void settle(int n) {
+    for (int i = 0; i < n; ++i) {
+      int score = HandTotal.score(this.hard[i], this.aces[i]);
+      int dealerScore = HandTotal.score(this.dealerHard[i], this.dealerAces[i]);
+      int outcome = score > HandTotal.MAX_SCORE ? PLAYER_BUST
+                    : dealerScore > HandTotal.MAX_SCORE ? DEALER_BUST
+                    : dealerScore > score ? DEALER_WIN
+                    : dealerScore < score ? PLAYER_WIN
+                    : PUSH;
+
+      this.outcomes[i] = this.outcomes[i] == UNSETTLED ? outcome : this.outcomes[i];
+    }
+  }
+
+  /**
+    Draws a card for every lane marked in <code>drawing</code> into <code>drawn</code>.
+
+    @return true if any lane drew.
+  */
+  private boolean draw(int n) {
+    boolean any = false;
+
+    for (int i = 0; i < n; ++i) {
+      if (this.drawing[i] != 0) {
+        this.drawn[i] = points(this.shoes[i].draw());
+        any = true;
+      } else {
+        this.drawn[i] = 0;
+      }
+    }
+
+    return any;
+  }
+
+  /**
+    Returns the lookup key of a hand: its hard total, plus <code>HARDS</code> if it holds an Ace.
+  */
+  private static int key(int hard, int aces) {
+    return (aces > 0 ? HARDS : 0) | Math.min(hard, HARDS - 1);
+  }
+
+  /**
+    Returns a hand with the hard total and Aces of <code>key</code>, for asking the strategy and rules once per key.
+  */
+  private static HandTotal handOf(int key) {
+    HandTotal hand = new HandTotal();
+    int rest = key & (HARDS - 1);
+
+    if (key >= HARDS && rest > 0) {
+      hand.add(1);
+      --rest;
+    }
+
+    if (rest > 0) {
+      hand.add(rest);
+    }
+
+    return hand;
+  }
+
+  private static int points(byte card) {
+    return PlayingCard.Rank.getPoints(Cards.rankOrdinal(card));
+  }
+
+  private static int isAce(int points) {
+    return points == 1 ? 1 : 0;
+  }
+
+  private static Shoe[] createShoes(Function<RandomGenerator, Shoe> shoes, RandomGenerator rng, int lanes) {
+    Shoe[] created = new Shoe[lanes];
+
+    for (int i = 0; i < lanes; ++i) {
+      created[i] = shoes.apply(new SplittableRandom(rng.nextLong()));
+    }
+
+    return created;
+  }
+
+  private static final IllegalArgumentException buildIllegalNumberOfLanesException(int num) {
+    return new IllegalArgumentException(num + " is not a valid number of lanes. There must be at least 1.");
+  }
+}
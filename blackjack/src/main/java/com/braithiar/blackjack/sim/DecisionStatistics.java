@@ -0,0 +1,214 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Cards;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.Rules;
+
+/**
+  Streaming statistics of a seat's results, overall and per decision cell. A cell is the player's opening hand (a hard total, a soft total or a pair), the dealer's up card and the first action the player took, so the expected value of, say, hitting a hard 16 against a Ten builds up with its own confidence interval as rounds are recorded. Rounds that ended before the player acted, on a natural, fall in a cell with no action.
+  <p>
+  Each round's value is its net result per unit of opening bet, so doubles and splits count in the round they were made. Statistics from separate tables <code>merge</code> exactly. Not thread-safe; give each table its own.
+*/
+public final class DecisionStatistics implements HandRecorder {
+  /**
+    Opening hand keys per kind: hard totals, then soft totals, then pairs by the points of one card.
+  */
+  private static final int TOTALS = 32;
+
+  private static final int SOFT = TOTALS;
+  private static final int PAIR = 2 * TOTALS;
+
+  private static final int UP_CARDS = PlayingCard.Rank.TEN.getPoints();
+
+  /**
+    Per cell: every action, plus no action at all.
+  */
+  private static final int FIRST_ACTIONS = Action.values().length + 1;
+
+  private static final int CELLS = 3 * TOTALS * UP_CARDS * FIRST_ACTIONS;
+
+  private static final int DECISION_MASK = (1 << DECISION_BITS) - 1;
+
+  private static final Action[] ACTIONS = Action.values();
+
+  private final RunningStats overall;
+
+  /**
+    Statistics by cell, created when the cell is first recorded.
+  */
+  private final RunningStats[] cells;
+
+  /**
+    Constructs an empty <code>DecisionStatistics</code>.
+  */
+  public DecisionStatistics() {
+    this.overall = new RunningStats();
+    this.cells = new RunningStats[CELLS];
+  }
+
+  @Override
+  public void record(int shoe, int cursor, int seat, int bet, byte[] cards, int decisions, Outcome outcome, int hands, long netTenths) {
+    this.record(cards[0], cards[1], cards[2], decisions, (double) netTenths / ((long) bet * Rules.TENTHS));
+  }
+
+  /**
+    Records one round.
+
+    @param first the player's first card, encoded as in <code>Cards</code>.
+    @param second the player's second card.
+    @param upCard the dealer's up card.
+    @param decisions the player's decisions, packed as described in <code>HandRecorder</code>.
+    @param netPerUnit the round's net result per unit of opening bet.
+  */
+  public void record(byte first, byte second, byte upCard, int decisions, double netPerUnit) {
+    int a = points(first);
+    int b = points(second);
+    int hand;
+
+    if (a == b) {
+      hand = PAIR + a;
+    } else {
+      hand = a == 1 || b == 1 ? SOFT + HandTotal.score(a + b, 1) : a + b;
+    }
+
+    int cell = this.cellIndex(hand, points(upCard), decisions & DECISION_MASK);
+
+    if (this.cells[cell] == null) {
+      this.cells[cell] = new RunningStats();
+    }
+
+    this.cells[cell].add(netPerUnit);
+    this.overall.add(netPerUnit);
+  }
+
+  /**
+    Returns the statistics of every round recorded.
+
+    @return the overall statistics. It is live, not a copy.
+  */
+  public RunningStats getOverall() {
+    return this.overall;
+  }
+
+  /**
+    Returns the statistics of a cell with a hard or soft opening total that is not a pair.
+
+    @param total the opening hand's score.
+    @param isSoft true if the score counts an Ace as 11.
+    @param upCard the dealer's up card.
+    @param firstAction the player's first action, or <code>null</code> for rounds the player did not act in.
+    @return the cell's statistics, empty if nothing was recorded in it.
+  */
+  public RunningStats getCell(int total, boolean isSoft, PlayingCard.Rank upCard, Action firstAction) {
+    if (total < 0 || total >= TOTALS) {
+      throw buildIllegalTotalException(total);
+    }
+
+    return this.cell((isSoft ? SOFT : 0) + total, upCard, firstAction);
+  }
+
+  /**
+    Returns the statistics of a cell with a pair as the opening hand.
+
+    @param pair the rank of the pair; every ten-point rank shares a cell.
+    @param upCard the dealer's up card.
+    @param firstAction the player's first action, or <code>null</code> for rounds the player did not act in.
+    @return the cell's statistics, empty if nothing was recorded in it.
+  */
+  public RunningStats getPairCell(PlayingCard.Rank pair, PlayingCard.Rank upCard, Action firstAction) {
+    return this.cell(PAIR + pair.getPoints(), upCard, firstAction);
+  }
+
+  /**
+    Returns the widest confidence interval half-width of any cell with at least <code>minCount</code> rounds, to judge whether every well-visited cell is settled.
+
+    @param z the standard normal quantile of the confidence level, such as <code>RunningStats.Z_95</code>.
+    @param minCount the fewest rounds a cell needs to be considered.
+    @return the widest half-width, or 0 if no cell has enough rounds.
+  */
+  public double getWidestHalfWidth(double z, long minCount) {
+    double widest = 0.0;
+
+    for (RunningStats c : this.cells) {
+      if (c != null && c.getCount() >= minCount) {
+        widest = Math.max(widest, c.getHalfWidth(z));
+      }
+    }
+
+    return widest;
+  }
+
+  /**
+    Adds every round <code>other</code> has recorded, cell by cell.
+
+    @param other the statistics to merge in; it is left unchanged.
+    @return this, for chaining.
+  */
+  public DecisionStatistics merge(DecisionStatistics other) {
+    this.overall.merge(other.overall);
+
+    for (int i = 0; i < CELLS; ++i) {
+      if (other.cells[i] != null) {
+        if (this.cells[i] == null) {
+          this.cells[i] = new RunningStats();
+        }
+
+        this.cells[i].merge(other.cells[i]);
+      }
+    }
+
+    return this;
+  }
+
+  /**
+    Converts <code>DecisionStatistics</code> to its overall statistics followed by one line per recorded cell, such as <code>H16 vs 10, HIT: ...</code>.
+  */
+  @Override
+  public String toString() {
+    StringBuilder s = new StringBuilder("Overall: ").append(this.overall);
+
+    for (int i = 0; i < CELLS; ++i) {
+      if (this.cells[i] != null) {
+        int action = i % FIRST_ACTIONS;
+        int up = i / FIRST_ACTIONS % UP_CARDS + 1;
+        int hand = i / FIRST_ACTIONS / UP_CARDS;
+
+        s.append('\n').append(handLabel(hand)).append(" vs ").append(up == 1 ? "A" : Integer.toString(up))
+         .append(", ").append(action == 0 ? "no action" : ACTIONS[action - 1].toString())
+         .append(": ").append(this.cells[i]);
+      }
+    }
+
+    return s.toString();
+  }
+
+  private RunningStats cell(int hand, PlayingCard.Rank upCard, Action firstAction) {
+    RunningStats c = this.cells[this.cellIndex(hand, upCard.getPoints(), firstAction == null ? 0 : firstAction.ordinal() + 1)];
+
+    return c == null ? new RunningStats() : c;
+  }
+
+  /**
+    Returns the index of a cell, where <code>action</code> is <code>Action.ordinal() + 1</code> or 0 for none, as packed in the decisions.
+  */
+  private int cellIndex(int hand, int upPoints, int action) {
+    return (hand * UP_CARDS + upPoints - 1) * FIRST_ACTIONS + action;
+  }
+
+  private static String handLabel(int hand) {
+    if (hand >= PAIR) {
+      return "P" + (hand == PAIR + 1 ? "A" : Integer.toString(hand - PAIR));
+    }
+
+    return (hand >= SOFT ? "S" + (hand - SOFT) : "H" + hand);
+  }
+
+  private static int points(byte card) {
+    return PlayingCard.Rank.getPoints(Cards.rankOrdinal(card));
+  }
+
+  private static final IllegalArgumentException buildIllegalTotalException(int total) {
+    return new IllegalArgumentException(total + " is not a valid opening total. It must be from 0 to " + (TOTALS - 1) + ".");
+  }
+}
@@ -0,0 +1,129 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Composition;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import java.util.Arrays;
+
+/**
+  Composition-dependent strategy that follows a base strategy except where a count index says otherwise. Each index names a hard total and a dealer up card; the player stays on that hand when the shoe's true count is at or above the index, and hits below it.
+*/
+public class DeviationStrategy implements PlayerStrategy {
+  /**
+    Marks a hand with no index.
+  */
+  private static final double NO_INDEX = Double.NaN;
+
+  /**
+    The strategy followed wherever there is no index.
+  */
+  private final PlayerStrategy base;
+
+  /**
+    Stay indexes by [hard total][up card points - 1], or <code>NO_INDEX</code>.
+  */
+  private final double[][] standIndexes;
+
+  /**
+    Constructs a <code>DeviationStrategy</code> with no indexes yet.
+
+    @param base the strategy followed wherever there is no index.
+  */
+  public DeviationStrategy(PlayerStrategy base) {
+    this.base = base;
+    this.standIndexes = new double[HandTotal.MAX_SCORE + 1][PlayingCard.Rank.TEN.getPoints()];
+
+    for (double[] row : this.standIndexes) {
+      Arrays.fill(row, NO_INDEX);
+    }
+  }
+
+  /**
+    Returns the common Hi-Lo hit/stay indexes (16 and 15 against a ten, 16 against a Nine, and 12 and 13 against small cards) on top of <code>base</code>.
+
+    @param base the strategy followed wherever there is no index.
+    @return the deviation strategy.
+  */
+  public static DeviationStrategy hiLo(PlayerStrategy base) {
+    return new DeviationStrategy(base)
+      .withStandIndex(16, PlayingCard.Rank.TEN, 0)
+      .withStandIndex(15, PlayingCard.Rank.TEN, 4)
+      .withStandIndex(16, PlayingCard.Rank.NINE, 5)
+      .withStandIndex(13, PlayingCard.Rank.TWO, -1)
+      .withStandIndex(13, PlayingCard.Rank.THREE, -2)
+      .withStandIndex(12, PlayingCard.Rank.TWO, 3)
+      .withStandIndex(12, PlayingCard.Rank.THREE, 2)
+      .withStandIndex(12, PlayingCard.Rank.FOUR, 0)
+      .withStandIndex(12, PlayingCard.Rank.FIVE, -2)
+      .withStandIndex(12, PlayingCard.Rank.SIX, -1);
+  }
+
+  /**
+    Sets the true count at or above which a hard <code>total</code> stays against <code>upCard</code>.
+
+    @param total the hard total.
+    @param upCard the dealer's up card.
+    @param trueCount the index.
+    @return this strategy, for chaining.
+  */
+  public DeviationStrategy withStandIndex(int total, PlayingCard.Rank upCard, double trueCount) {
+    this.standIndexes[total][upCard.getPoints() - 1] = trueCount;
+
+    return this;
+  }
+
+  @Override
+  public boolean shouldHit(int score, PlayingCard.Rank dealerUpCard) {
+    return this.base.shouldHit(score, dealerUpCard);
+  }
+
+  @Override
+  public boolean shouldHit(HandTotal hand, PlayingCard.Rank dealerUpCard) {
+    return this.base.shouldHit(hand, dealerUpCard);
+  }
+
+  @Override
+  public boolean shouldHit(HandTotal hand, PlayingCard.Rank dealerUpCard, Composition shoe) {
+    double index = this.standIndex(hand, dealerUpCard);
+
+    if (!Double.isNaN(index)) {
+      return shoe.getTrueCount() < index;
+    }
+
+    return this.base.shouldHit(hand, dealerUpCard, shoe);
+  }
+
+  /**
+    Follows <code>base</code>, except that where it would hit or stay on a hand with an index, the index decides. Doubles, splits and surrenders of the base strategy are kept as they are.
+  */
+  @Override
+  public Action decide(HandTotal hand, PlayingCard.Rank dealerUpCard, Composition shoe, int options) {
+    Action action = this.base.decide(hand, dealerUpCard, shoe, options);
+
+    if (action == Action.HIT || action == Action.STAND) {
+      double index = this.standIndex(hand, dealerUpCard);
+
+      if (!Double.isNaN(index)) {
+        return shoe.getTrueCount() < index ? Action.HIT : Action.STAND;
+      }
+    }
+
+    return action;
+  }
+
+  @Override
+  public int bet(Composition shoe) {
+    return this.base.bet(shoe);
+  }
+
+  /**
+    Returns the stay index of a hand, or <code>NO_INDEX</code> if it has none.
+  */
+  private double standIndex(HandTotal hand, PlayingCard.Rank dealerUpCard) {
+    if (hand.isSoft() || hand.isBust()) {
+      return NO_INDEX;
+    }
+
+    return this.standIndexes[hand.getScore()][dealerUpCard.getPoints() - 1];
+  }
+}
@@ -0,0 +1,62 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import java.util.random.RandomGenerator;
+
+/**
+  Allocation-free version of <code>SimulationEngine</code>: a single-seat <code>Table</code>. It plays the same rounds, dealt in the same order and scored with the same <code>HandTotal</code> as <code>Player</code>, but cards are primitive bytes drawn from a single reused <code>Shoe</code> and hands are reused <code>HandTotal</code>s, so no objects are created once the engine is constructed.
+*/
+public class FastSimulationEngine implements Simulator {
+  /**
+    The one-seat table the rounds are played at.
+  */
+  private final Table table;
+
+  /**
+    Constructs a <code>FastSimulationEngine</code> whose player follows <code>strategy</code> and that reshuffles a single deck before every round, like <code>Blackjack.playBlackjack</code>.
+
+    @param strategy the strategy making the player's decisions.
+    @param rng the generator used to shuffle the deck.
+  */
+  public FastSimulationEngine(PlayerStrategy strategy, RandomGenerator rng) {
+    this(strategy, new Shoe(1, 0.0, rng));
+  }
+
+  /**
+    Constructs a <code>FastSimulationEngine</code> whose player follows <code>strategy</code> and that deals every round from <code>shoe</code>, reshuffling only when its cut card is reached.
+
+    @param strategy the strategy making the player's decisions.
+    @param shoe the shoe to deal from. It belongs to this engine from now on.
+  */
+  public FastSimulationEngine(PlayerStrategy strategy, Shoe shoe) {
+    this(strategy, shoe, Rules.CLASSIC);
+  }
+
+  /**
+    Constructs a <code>FastSimulationEngine</code> whose player follows <code>strategy</code> and that deals every round from <code>shoe</code> by <code>rules</code>.
+
+    @param strategy the strategy making the player's decisions.
+    @param shoe the shoe to deal from. It belongs to this engine from now on.
+    @param rules the rules every round is played by.
+  */
+  public FastSimulationEngine(PlayerStrategy strategy, Shoe shoe, Rules rules) {
+    this.table = new Table(new PlayerStrategy[] {strategy}, shoe, rules);
+  }
+
+  @Override
+  public SimulationResult run(long rounds) {
+    return this.table.run(rounds);
+  }
+
+  /**
+    Plays a single round from the shoe, reshuffling first if the cut card has come out.
+
+    @return the outcome of the round's first hand.
+  */
+  public Outcome playRound() {
+    this.table.playRound();
+
+    return this.table.getOutcome(0);
+  }
+}
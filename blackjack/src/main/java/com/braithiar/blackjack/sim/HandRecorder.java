@@ -0,0 +1,36 @@
+package com.braithiar.blackjack.sim;
+
+/**
+  Receives every seat's round from a <code>Table</code> as it is settled, as primitives and reused buffers so that recording allocates nothing. The decisions are packed into an <code>int</code>: each of the first <code>MAX_DECISIONS</code> actions in the order they were taken is <code>Action.ordinal() + 1</code> in the next <code>DECISION_BITS</code> bits up from the lowest, a 0 marks the end, and <code>DECISIONS_TRUNCATED</code> is set when there were more.
+*/
+public interface HandRecorder {
+  /**
+    Bits per packed decision.
+  */
+  int DECISION_BITS = 3;
+
+  /**
+    The most decisions packed per round.
+  */
+  int MAX_DECISIONS = 5;
+
+  /**
+    Set in the packed decisions when the seat made more than <code>MAX_DECISIONS</code>.
+  */
+  int DECISIONS_TRUNCATED = 1 << 15;
+
+  /**
+    Records one seat's round.
+
+    @param shoe the shoe's <code>Shoe.getShuffleCount()</code> when the round started.
+    @param cursor the position in the shoe of the round's first card.
+    @param seat the seat, from 0.
+    @param bet the seat's opening bet in units, before any doubling or splitting.
+    @param cards the player's two opening cards, the dealer's up card and the dealer's hole card, encoded as in <code>Cards</code>. The array is reused for the next record.
+    @param decisions the seat's packed decisions.
+    @param outcome the outcome of the seat's first hand.
+    @param hands the number of hands the seat played.
+    @param netTenths the seat's net result, in <code>Rules.TENTHS</code>.
+  */
+  void record(int shoe, int cursor, int seat, int bet, byte[] cards, int decisions, Outcome outcome, int hands, long netTenths);
+}
@@ -0,0 +1,127 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Rules;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+  Thread-safe, lock-free running totals of the money wagered and won over many rounds at many tables. Every table records each seat's round as it is settled, and the totals can be read at any time, so a long run reports its house edge and variance while it is still going. The counters are <code>LongAdder</code>s, which stripe their updates across cells, so concurrent tables do not contend on a single counter.
+  <p>
+  Amounts are in <code>Rules.TENTHS</code> of a unit, from the player's side: a negative net is the house's win.
+*/
+public final class Ledger {
+  private final LongAdder rounds;
+  private final LongAdder wageredTenths;
+  private final LongAdder netTenths;
+
+  /**
+    Sum of the squared net result of every round, for the variance.
+  */
+  private final LongAdder netSquaredTenths;
+
+  /**
+    Constructs an empty <code>Ledger</code>.
+  */
+  public Ledger() {
+    this.rounds = new LongAdder();
+    this.wageredTenths = new LongAdder();
+    this.netTenths = new LongAdder();
+    this.netSquaredTenths = new LongAdder();
+  }
+
+  /**
+    Records one player's round.
+
+    @param wageredTenths everything the player bet in the round, including doubles and splits.
+    @param netTenths the player's net result for the round.
+  */
+  public void record(long wageredTenths, long netTenths) {
+    this.rounds.increment();
+    this.wageredTenths.add(wageredTenths);
+    this.netTenths.add(netTenths);
+    this.netSquaredTenths.add(netTenths * netTenths);
+  }
+
+  /**
+    Returns the number of player rounds recorded.
+
+    @return the rounds.
+  */
+  public long getRounds() {
+    return this.rounds.sum();
+  }
+
+  /**
+    Returns the total bet, in units.
+
+    @return the amount wagered.
+  */
+  public double getWagered() {
+    return (double) this.wageredTenths.sum() / Rules.TENTHS;
+  }
+
+  /**
+    Returns the players' total net result, in units.
+
+    @return the net result.
+  */
+  public double getNet() {
+    return (double) this.netTenths.sum() / Rules.TENTHS;
+  }
+
+  /**
+    Returns the house's win as a fraction of the money wagered.
+
+    @return the house edge, or 0 if nothing has been wagered.
+  */
+  public double getHouseEdge() {
+    long wagered = this.wageredTenths.sum();
+
+    return wagered == 0 ? 0.0 : (double) -this.netTenths.sum() / wagered;
+  }
+
+  /**
+    Returns the variance of a round's net result, in units squared.
+
+    @return the variance per round, or 0 if fewer than two rounds have been recorded.
+  */
+  public double getVariance() {
+    long n = this.rounds.sum();
+
+    if (n < 2) {
+      return 0.0;
+    }
+
+    double mean = (double) this.netTenths.sum() / n;
+    double meanSquare = (double) this.netSquaredTenths.sum() / n;
+
+    return (meanSquare - mean * mean) * n / (n - 1) / (Rules.TENTHS * Rules.TENTHS);
+  }
+
+  /**
+    Returns the standard deviation of a round's net result, in units.
+
+    @return the standard deviation per round.
+  */
+  public double getStandardDeviation() {
+    return Math.sqrt(getVariance());
+  }
+
+  /**
+    Clears every total.
+  */
+  public void reset() {
+    this.rounds.reset();
+    this.wageredTenths.reset();
+    this.netTenths.reset();
+    this.netSquaredTenths.reset();
+  }
+
+  /**
+    Converts <code>Ledger</code> to a one line summary of the totals. The totals are read one after another, so a summary taken while tables are still recording may be off by the rounds recorded in between.
+  */
+  @Override
+  public String toString() {
+    return "Rounds: " + getRounds() + " | Wagered: " + getWagered() + " | Net: " + getNet() +
+           " | House edge: " + getHouseEdge() + " | SD: " + getStandardDeviation();
+  }
+}
@@ -0,0 +1,84 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Rules;
+
+/**
+  Defines the possible results of a single hand, mirroring the branches of <code>Blackjack.settleGame</code> plus the outcomes only the casino <code>Rules</code> can produce.
+*/
+public enum Outcome {
+  /**
+    The player went over 21 and loses regardless of the dealer's hand.
+  */
+  PLAYER_BUST,
+
+  /**
+    The dealer went over 21 while the player stood.
+  */
+  DEALER_BUST,
+
+  /**
+    The player's score beat the dealer's score.
+  */
+  PLAYER_WIN,
+
+  /**
+    The dealer's score beat the player's score.
+  */
+  DEALER_WIN,
+
+  /**
+    Both hands finished with the same score.
+  */
+  PUSH,
+
+  /**
+    The player was dealt a natural blackjack and was paid the blackjack payout.
+  */
+  BLACKJACK,
+
+  /**
+    The player gave up the hand and half the bet.
+  */
+  SURRENDER;
+
+  /**
+    Returns the player's net result from a hand with this outcome: wins pay even money, a blackjack pays the <code>rules</code>' blackjack payout, a push returns the stake, and a surrender loses half of it.
+
+    @param stakeTenths the bet on the hand, in <code>Rules.TENTHS</code>; a whole number of units.
+    @param rules the rules the hand was played by.
+    @return the net result in tenths.
+  */
+  public long getNetTenths(long stakeTenths, Rules rules) {
+    switch (this) {
+      case PLAYER_WIN:
+      case DEALER_BUST:
+        return stakeTenths;
+      case BLACKJACK:
+        return stakeTenths * rules.getPayoutNumerator() / rules.getPayoutDenominator();
+      case PUSH:
+        return 0;
+      case SURRENDER:
+        return -stakeTenths / 2;
+      default:
+        return -stakeTenths;
+    }
+  }
+
+  /**
+    Returns true if this outcome counts as a win for the player.
+
+    @return true if the player won the round.
+  */
+  public boolean isPlayerWin() {
+    return this == PLAYER_WIN || this == DEALER_BUST || this == BLACKJACK;
+  }
+
+  /**
+    Returns true if this outcome counts as a loss for the player.
+
+    @return true if the player lost the round.
+  */
+  public boolean isPlayerLoss() {
+    return this == DEALER_WIN || this == PLAYER_BUST || this == SURRENDER;
+  }
+}
@@ -0,0 +1,137 @@
+package com.braithiar.blackjack.sim;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.function.Function;
+import java.util.random.RandomGenerator;
+
+/**
+  Monte Carlo runner that spreads rounds across a <code>ForkJoinPool</code>. The rounds are cut into fixed-size chunks, and each chunk is played by its own <code>Simulator</code> (with its own deck and hands) using a <code>SplittableRandom</code> split from a single master seed. Since the chunk boundaries and streams only depend on the seed and the number of rounds, a run is reproducible no matter how many threads execute it.
+*/
+public class ParallelSimulation {
+  /**
+    Default number of rounds played by each chunk.
+  */
+  public static final int DEFAULT_CHUNK_ROUNDS = 1 << 16;
+
+  /**
+    Creates a new simulator, with its own deck and hands, around a chunk's generator.
+  */
+  private final Function<RandomGenerator, ? extends Simulator> engines;
+
+  /**
+    The seed every chunk's generator is split from.
+  */
+  private final long masterSeed;
+
+  /**
+    The pool the chunks run on.
+  */
+  private final ForkJoinPool pool;
+
+  /**
+    The number of rounds per chunk.
+  */
+  private final int chunkRounds;
+
+  /**
+    Constructs a <code>ParallelSimulation</code> that plays <code>FastSimulationEngine</code> rounds on the common pool.
+
+    @param strategy the strategy every player follows.
+    @param masterSeed the seed that determines every shuffle of the run.
+  */
+  public ParallelSimulation(PlayerStrategy strategy, long masterSeed) {
+    this(rng -> new FastSimulationEngine(strategy, rng), masterSeed, ForkJoinPool.commonPool(), DEFAULT_CHUNK_ROUNDS);
+  }
+
+  /**
+    Constructs a <code>ParallelSimulation</code>.
+
+    @param engines creates the simulator for a chunk from that chunk's generator, e.g. <code>rng -&gt; new SimulationEngine(strategy, rng)</code>.
+    @param masterSeed the seed that determines every shuffle of the run.
+    @param pool the pool to run the chunks on.
+    @param chunkRounds the number of rounds played by each chunk. Changing it changes which stream plays which round, so it is part of what makes a run reproducible.
+  */
+  public ParallelSimulation(Function<RandomGenerator, ? extends Simulator> engines, long masterSeed, ForkJoinPool pool, int chunkRounds) {
+    if (chunkRounds < 1) {
+      throw buildIllegalChunkSizeException(chunkRounds);
+    }
+
+    this.engines = engines;
+    this.masterSeed = masterSeed;
+    this.pool = pool;
+    this.chunkRounds = chunkRounds;
+  }
+
+  /**
+    Plays <code>rounds</code> rounds across the pool and returns the merged result.
+
+    @param rounds the total number of rounds to play.
+    @return the combined result of every round.
+  */
+  public SimulationResult run(long rounds) {
+    return this.run(new SplittableRandom(this.masterSeed), rounds);
+  }
+
+  /**
+    Plays <code>rounds</code> rounds across the pool with chunk streams split from <code>master</code>, which is left ready to split the streams of the chunks that follow. Calling this repeatedly with the same <code>master</code> and whole chunks of rounds plays the same chunks as a single <code>run</code> of all the rounds.
+
+    @param master the generator the chunks' streams are split from, in chunk order.
+    @param rounds the number of rounds to play.
+    @return the combined result of every round.
+  */
+  SimulationResult run(SplittableRandom master, long rounds) {
+    int chunks = (int) ((rounds + this.chunkRounds - 1) / this.chunkRounds);
+    SplittableRandom[] streams = new SplittableRandom[chunks];
+    ResultAccumulator accumulator = new ResultAccumulator();
+
+    //Split in chunk order on this thread so every chunk always gets the same stream.
+    for (int i = 0; i < chunks; ++i) {
+      streams[i] = master.split();
+    }
+
+    this.pool.invoke(new ChunkTask(streams, 0, chunks, rounds, accumulator));
+
+    return accumulator.toResult();
+  }
+
+  /**
+    Recursively halves a range of chunks until a single chunk is left to play.
+  */
+  private final class ChunkTask extends RecursiveAction {
+    private static final long serialVersionUID = 1L;
+
+    private final SplittableRandom[] streams;
+    private final int from;
+    private final int to;
+    private final long totalRounds;
+    private final ResultAccumulator accumulator;
+
+    private ChunkTask(SplittableRandom[] streams, int from, int to, long totalRounds, ResultAccumulator accumulator) {
+      this.streams = streams;
+      this.from = from;
+      this.to = to;
+      this.totalRounds = totalRounds;
+      this.accumulator = accumulator;
+    }
+
+    @Override
+    protected void compute() {
+      if (this.to - this.from > 1) {
+        int mid = (this.from + this.to) >>> 1;
+
+        invokeAll(new ChunkTask(this.streams, this.from, mid, this.totalRounds, this.accumulator),
+                  new ChunkTask(this.streams, mid, this.to, this.totalRounds, this.accumulator));
+      } else if (this.to > this.from) {
+        long start = (long) this.from * chunkRounds;
+        long rounds = Math.min(chunkRounds, this.totalRounds - start);
+        this.accumulator.add(engines.apply(this.streams[this.from]).run(rounds));
+      }
+    }
+  }
+
+  private static final IllegalArgumentException buildIllegalChunkSizeException(int num) {
+    return new IllegalArgumentException(num + " is not a valid chunk size. It must be greater than 0.");
+  }
+}
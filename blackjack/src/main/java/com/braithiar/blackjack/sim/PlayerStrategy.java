@@ -0,0 +1,94 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Composition;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+
+/**
+  <code>PlayerStrategy</code> replaces the console hit/stay prompt when a round is played without a human at the table.
+*/
+@FunctionalInterface
+public interface PlayerStrategy {
+  /**
+    Decides whether the player takes another card.
+
+    @param score the player's current hand score.
+    @param dealerUpCard the <code>Rank</code> of the dealer's face up card.
+    @return true to hit, false to stay.
+  */
+  boolean shouldHit(int score, PlayingCard.Rank dealerUpCard);
+
+  /**
+    Decides whether the player takes another card given the full hand total. The default only looks at the score; override it to play soft hands differently.
+
+    @param hand the player's current hand total.
+    @param dealerUpCard the <code>Rank</code> of the dealer's face up card.
+    @return true to hit, false to stay.
+  */
+  default boolean shouldHit(HandTotal hand, PlayingCard.Rank dealerUpCard) {
+    return shouldHit(hand.getScore(), dealerUpCard);
+  }
+
+  /**
+    Decides whether the player takes another card with the remaining cards of the shoe in view. This is the method the engines call to hit or stay; the default ignores the shoe, so only composition-dependent strategies such as count-based deviations need to override it.
+
+    @param hand the player's current hand total.
+    @param dealerUpCard the <code>Rank</code> of the dealer's face up card.
+    @param shoe the cards left in the deck or shoe being dealt from.
+    @return true to hit, false to stay.
+  */
+  default boolean shouldHit(HandTotal hand, PlayingCard.Rank dealerUpCard, Composition shoe) {
+    return shouldHit(hand, dealerUpCard);
+  }
+
+  /**
+    Chooses the bet for the next round, before the cards are dealt. The default always bets 1 unit; counting strategies can spread their bets with the count.
+
+    @param shoe the cards left in the deck or shoe about to be dealt from.
+    @return the bet in units, at least 1.
+  */
+  default int bet(Composition shoe) {
+    return 1;
+  }
+
+  /**
+    Chooses what to do with the hand from the actions the rules offer. This is the method the <code>Table</code> calls; the default hits or stays by <code>shouldHit</code>, so only strategies that double, split or surrender need to override it.
+
+    @param hand the player's current hand total.
+    @param dealerUpCard the <code>Rank</code> of the dealer's face up card.
+    @param shoe the cards left in the deck or shoe being dealt from.
+    @param options the actions offered, as a mask of <code>Action.bit()</code> values. <code>HIT</code> and <code>STAND</code> are always offered.
+    @return one of the offered actions.
+  */
+  default Action decide(HandTotal hand, PlayingCard.Rank dealerUpCard, Composition shoe, int options) {
+    return shouldHit(hand, dealerUpCard, shoe) ? Action.HIT : Action.STAND;
+  }
+
+  /**
+    Returns a strategy that hits until the hand score reaches <code>standScore</code>.
+
+    @param standScore the lowest score the player will stay on.
+    @return a strategy that ignores the dealer's card.
+  */
+  static PlayerStrategy standOn(int standScore) {
+    return (score, dealerUpCard) -> score < standScore;
+  }
+
+  /**
+    Returns a strategy that plays the same way as the dealer in <code>Blackjack.dealerTurn</code>: hit on 16 or less.
+
+    @return a strategy that stays on 17 or greater.
+  */
+  static PlayerStrategy mimicDealer() {
+    return standOn(17);
+  }
+
+  /**
+    Returns a strategy that never takes a card after the deal.
+
+    @return a strategy that always stays.
+  */
+  static PlayerStrategy neverHit() {
+    return (score, dealerUpCard) -> false;
+  }
+}
@@ -0,0 +1,62 @@
+package com.braithiar.blackjack.sim;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+  Thread-safe, lock-free collector of <code>SimulationResult</code>s. Workers add their partial results as they finish and the totals are read once at the end.
+*/
+public final class ResultAccumulator {
+  /**
+    Outcome counters indexed by <code>Outcome.ordinal()</code>.
+  */
+  private final LongAdder[] counts;
+
+  private final LongAdder rounds;
+
+  /**
+    Net result in <code>Rules.TENTHS</code> of a bet.
+  */
+  private final LongAdder netTenths;
+
+  /**
+    Constructs an empty <code>ResultAccumulator</code>.
+  */
+  public ResultAccumulator() {
+    this.counts = new LongAdder[Outcome.values().length];
+    this.rounds = new LongAdder();
+    this.netTenths = new LongAdder();
+
+    for (int i = 0; i < this.counts.length; ++i) {
+      this.counts[i] = new LongAdder();
+    }
+  }
+
+  /**
+    Adds every count in <code>result</code> to this accumulator.
+
+    @param result the partial result to add.
+  */
+  public void add(SimulationResult result) {
+    for (Outcome o : Outcome.values()) {
+      this.counts[o.ordinal()].add(result.getCount(o));
+    }
+
+    this.rounds.add(result.getRounds());
+    this.netTenths.add(result.getNetTenths());
+  }
+
+  /**
+    Returns a snapshot of the counts added so far.
+
+    @return the accumulated result.
+  */
+  public SimulationResult toResult() {
+    long[] snapshot = new long[this.counts.length];
+
+    for (int i = 0; i < snapshot.length; ++i) {
+      snapshot[i] = this.counts[i].sum();
+    }
+
+    return new SimulationResult(snapshot, this.rounds.sum(), this.netTenths.sum());
+  }
+}
@@ -0,0 +1,144 @@
+package com.braithiar.blackjack.sim;
+
+/**
+  Streaming mean and variance of a series of values, kept with Welford's update so that it stays accurate over billions of values without storing them. Two <code>RunningStats</code> over separate parts of a series merge into the statistics of the whole, so workers can each keep their own and combine them at the end.
+  <p>
+  Not thread-safe; give each worker its own and <code>merge</code> them.
+*/
+public final class RunningStats {
+  /**
+    Standard normal quantile for a two-sided 95% confidence interval.
+  */
+  public static final double Z_95 = 1.959963984540054;
+
+  /**
+    Standard normal quantile for a two-sided 99% confidence interval.
+  */
+  public static final double Z_99 = 2.5758293035489004;
+
+  private long count;
+  private double mean;
+
+  /**
+    Sum of the squared differences from the mean.
+  */
+  private double m2;
+
+  /**
+    Constructs an empty <code>RunningStats</code>.
+  */
+  public RunningStats() {
+    this.count = 0;
+    this.mean = 0.0;
+    this.m2 = 0.0;
+  }
+
+  /**
+    Adds one value.
+
+    @param value the value to add.
+  */
+  public void add(double value) {
+    double delta = value - this.mean;
+
+    ++this.count;
+    this.mean += delta / this.count;
+    this.m2 += delta * (value - this.mean);
+  }
+
+  /**
+    Adds every value <code>other</code> has seen, as if they had been added to this one.
+
+    @param other the statistics to merge in; it is left unchanged.
+    @return this, for chaining.
+  */
+  public RunningStats merge(RunningStats other) {
+    if (other.count == 0) {
+      return this;
+    }
+
+    long total = this.count + other.count;
+    double delta = other.mean - this.mean;
+
+    this.mean += delta * other.count / total;
+    this.m2 += other.m2 + delta * delta * this.count / total * other.count;
+    this.count = total;
+
+    return this;
+  }
+
+  /**
+    Returns the number of values added.
+
+    @return the count.
+  */
+  public long getCount() {
+    return this.count;
+  }
+
+  /**
+    Returns the mean of the values added.
+
+    @return the mean, or 0 if nothing has been added.
+  */
+  public double getMean() {
+    return this.mean;
+  }
+
+  /**
+    Returns the sample variance of the values added.
+
+    @return the variance, or 0 if fewer than two values have been added.
+  */
+  public double getVariance() {
+    return this.count < 2 ? 0.0 : this.m2 / (this.count - 1);
+  }
+
+  /**
+    Returns the sample standard deviation of the values added.
+
+    @return the standard deviation.
+  */
+  public double getStandardDeviation() {
+    return Math.sqrt(getVariance());
+  }
+
+  /**
+    Returns the standard error of the mean.
+
+    @return the standard error, or infinity if fewer than two values have been added.
+  */
+  public double getStandardError() {
+    return this.count < 2 ? Double.POSITIVE_INFINITY : Math.sqrt(getVariance() / this.count);
+  }
+
+  /**
+    Returns half the width of the confidence interval around the mean, using the normal approximation.
+
+    @param z the standard normal quantile of the confidence level, such as <code>Z_95</code>.
+    @return the half-width, or infinity if fewer than two values have been added.
+  */
+  public double getHalfWidth(double z) {
+    return z * getStandardError();
+  }
+
+  /**
+    Returns true if the confidence interval around the mean is no wider than <code>2 * halfWidth</code>.
+
+    @param halfWidth the largest acceptable half-width.
+    @param z the standard normal quantile of the confidence level, such as <code>Z_95</code>.
+    @return true if the mean is known to the given precision.
+  */
+  public boolean isPrecise(double halfWidth, double z) {
+    return getHalfWidth(z) <= halfWidth;
+  }
+
+  /**
+    Converts <code>RunningStats</code> to its count, mean and 95% confidence interval.
+  */
+  @Override
+  public String toString() {
+    return "N: " + this.count + " | Mean: " + String.format("%.5f", this.mean) + " +/- " + String.format("%.5f", getHalfWidth(Z_95)) +
+           " | SD: " + String.format("%.5f", getStandardDeviation());
+  }
+}
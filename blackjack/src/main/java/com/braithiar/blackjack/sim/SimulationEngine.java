@@ -0,0 +1,163 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Deck;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.Player;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.Rules;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+
+/**
+  Headless version of the game loop in <code>Blackjack.playBlackjack</code>. Rounds are played with the same <code>Deck</code> and <code>Player</code> rules, but the player's decisions come from a <code>PlayerStrategy</code> and nothing is printed or slept on.
+*/
+public class SimulationEngine implements Simulator {
+  /**
+    Scores above this value bust.
+  */
+  private static final int MAX_SCORE = HandTotal.MAX_SCORE;
+
+  /**
+    The rules of the console game, which decide when the dealer hits.
+  */
+  private static final Rules RULES = Rules.CLASSIC;
+
+  /**
+    The strategy making the player's hit/stay decisions.
+  */
+  private final PlayerStrategy strategy;
+
+  /**
+    The dealer and the player, in the same order as <code>Blackjack.playBlackjack</code>.
+  */
+  private final Player[] players;
+
+  /**
+    The deck every round is dealt from, reset and reshuffled in place between rounds as in <code>Blackjack.playBlackjack</code>.
+  */
+  private final Deck deck;
+
+  /**
+    The generator used to shuffle each round's deck.
+  */
+  private final RandomGenerator rng;
+
+  /**
+    Constructs a <code>SimulationEngine</code> whose player follows <code>strategy</code>, shuffling with an unseeded generator.
+
+    @param strategy the strategy making the player's decisions.
+  */
+  public SimulationEngine(PlayerStrategy strategy) {
+    this(strategy, new SplittableRandom());
+  }
+
+  /**
+    Constructs a <code>SimulationEngine</code> whose player follows <code>strategy</code> and whose decks are shuffled by <code>rng</code>. An engine is not thread-safe; give each thread its own engine and generator.
+
+    @param strategy the strategy making the player's decisions.
+    @param rng the generator used to shuffle every deck.
+  */
+  public SimulationEngine(PlayerStrategy strategy, RandomGenerator rng) {
+    this.strategy = strategy;
+    this.rng = rng;
+    this.deck = new Deck();
+    this.players = new Player[] {
+      new Player(true, "Dealer"), new Player(false, "Player")
+    };
+  }
+
+  @Override
+  public SimulationResult run(long rounds) {
+    long[] counts = new long[Outcome.values().length];
+
+    for (long i = 0; i < rounds; ++i) {
+      ++counts[playRound().ordinal()];
+    }
+
+    return new SimulationResult(counts);
+  }
+
+  /**
+    Plays a single round with the engine's deck reset and reshuffled.
+
+    @return the outcome of the round.
+  */
+  public Outcome playRound() {
+    Deck deck = this.deck;
+
+    for (Player p : this.players) {
+      p.resetHand();
+      p.resetScore();
+    }
+
+    deck.reset();
+    deck.shuffle(this.rng);
+    deck.deal(this.players, 2);
+
+    playerTurn(deck);
+
+    dealerTurn(deck);
+
+    return settle();
+  }
+
+  /**
+    Lets the strategy hit until it stays or the player busts.
+
+    @param deck the deck being used for the round.
+  */
+  private void playerTurn(Deck deck) {
+    Player player = this.players[1];
+    //The dealer's first card is face down, so the second is the one the player can see.
+    PlayingCard.Rank dealerUpCard = this.players[0].getCard(1).getRank();
+
+    while (!isBust(player) && this.strategy.shouldHit(player.getHandTotal(), dealerUpCard, deck)) {
+      player.addToHand(deck.draw());
+    }
+  }
+
+  /**
+    Reveals the dealer's hidden card and hits as <code>Rules.CLASSIC</code> says, as in <code>Blackjack.dealerTurn</code>.
+
+    @param deck the deck being used for the round.
+  */
+  private void dealerTurn(Deck deck) {
+    Player dealer = this.players[0];
+
+    if (isBust(this.players[1])) {
+      return;
+    }
+
+    dealer.dealerReveal();
+
+    while (!isBust(dealer) && RULES.dealerHits(dealer.getHandTotal())) {
+      dealer.addToHand(deck.draw());
+    }
+  }
+
+  /**
+    Determines the outcome of the round in the same order as <code>Blackjack.settleGame</code>.
+
+    @return the outcome of the round.
+  */
+  private Outcome settle() {
+    Player dealer = this.players[0];
+    Player player = this.players[1];
+
+    if (isBust(player)) {
+      return Outcome.PLAYER_BUST;
+    } else if (isBust(dealer)) {
+      return Outcome.DEALER_BUST;
+    } else if (dealer.getScore() > player.getScore()) {
+      return Outcome.DEALER_WIN;
+    } else if (dealer.getScore() < player.getScore()) {
+      return Outcome.PLAYER_WIN;
+    } else {
+      return Outcome.PUSH;
+    }
+  }
+
+  private static boolean isBust(Player p) {
+    return p.getScore() > MAX_SCORE;
+  }
+}
@@ -0,0 +1,204 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Rules;
+
+/**
+  Immutable aggregate of the outcomes of a number of simulated rounds. Outcomes are counted per hand, so a round in which the player split counts more than once, while the net result and expected value are per round.
+*/
+public final class SimulationResult {
+  /**
+    Outcome counts indexed by <code>Outcome.ordinal()</code>.
+  */
+  private final long[] counts;
+
+  /**
+    The number of rounds played.
+  */
+  private final long rounds;
+
+  /**
+    The player's net result over every round, in <code>Rules.TENTHS</code> of a bet.
+  */
+  private final long netTenths;
+
+  /**
+    Constructs a <code>SimulationResult</code> from per-outcome counts of rounds played one hand each at even money, as the classic rules do.
+
+    @param counts the number of rounds for each outcome, indexed by <code>Outcome.ordinal()</code>.
+  */
+  public SimulationResult(long[] counts) {
+    this(counts, sum(counts), evenMoneyTenths(counts));
+  }
+
+  /**
+    Constructs a <code>SimulationResult</code> from per-outcome hand counts and the net result of the rounds they were played in.
+
+    @param counts the number of hands for each outcome, indexed by <code>Outcome.ordinal()</code>.
+    @param rounds the number of rounds played.
+    @param netTenths the player's net result, in <code>Rules.TENTHS</code> of a bet.
+  */
+  public SimulationResult(long[] counts, long rounds, long netTenths) {
+    if (counts.length != Outcome.values().length) {
+      throw buildIllegalCountsException(counts.length);
+    }
+
+    this.counts = counts.clone();
+    this.rounds = rounds;
+    this.netTenths = netTenths;
+  }
+
+  /**
+    Returns the number of rounds that ended with <code>outcome</code>.
+
+    @param outcome the outcome to look up.
+    @return the number of rounds with that outcome.
+  */
+  public long getCount(Outcome outcome) {
+    return this.counts[outcome.ordinal()];
+  }
+
+  /**
+    Returns the total number of rounds played.
+
+    @return the number of rounds.
+  */
+  public long getRounds() {
+    return this.rounds;
+  }
+
+  /**
+    Returns the total number of hands played, counting each hand of a split.
+
+    @return the number of hands.
+  */
+  public long getHands() {
+    return sum(this.counts);
+  }
+
+  /**
+    Returns the player's net result over every round, in <code>Rules.TENTHS</code> of a bet.
+
+    @return the net result in tenths.
+  */
+  public long getNetTenths() {
+    return this.netTenths;
+  }
+
+  /**
+    Returns the player's net result over every round, in bets.
+
+    @return the net result.
+  */
+  public double getNetUnits() {
+    return (double) this.netTenths / Rules.TENTHS;
+  }
+
+  /**
+    Returns the number of hands won by the player, including dealer busts and blackjacks.
+
+    @return the player's wins.
+  */
+  public long getWins() {
+    return getCount(Outcome.PLAYER_WIN) + getCount(Outcome.DEALER_BUST) + getCount(Outcome.BLACKJACK);
+  }
+
+  /**
+    Returns the number of hands lost by the player, including player busts and surrenders.
+
+    @return the player's losses.
+  */
+  public long getLosses() {
+    return getCount(Outcome.DEALER_WIN) + getCount(Outcome.PLAYER_BUST) + getCount(Outcome.SURRENDER);
+  }
+
+  /**
+    Returns the number of drawn rounds.
+
+    @return the number of pushes.
+  */
+  public long getPushes() {
+    return getCount(Outcome.PUSH);
+  }
+
+  /**
+    Returns the number of rounds the player went over 21.
+
+    @return the player's busts.
+  */
+  public long getPlayerBusts() {
+    return getCount(Outcome.PLAYER_BUST);
+  }
+
+  /**
+    Returns the number of rounds the dealer went over 21.
+
+    @return the dealer's busts.
+  */
+  public long getDealerBusts() {
+    return getCount(Outcome.DEALER_BUST);
+  }
+
+  /**
+    Returns the player's net result per round, in bets. Under the classic rules this counts a win as +1 and a loss as -1.
+
+    @return the player's expected value per round, or 0 if no rounds were played.
+  */
+  public double getExpectedValue() {
+    return this.rounds == 0 ? 0.0 : getNetUnits() / this.rounds;
+  }
+
+  /**
+    Combines this result with <code>other</code>.
+
+    @param other the result to add to this one.
+    @return a new result holding the summed counts.
+  */
+  public SimulationResult merge(SimulationResult other) {
+    long[] merged = this.counts.clone();
+
+    for (int i = 0; i < merged.length; ++i) {
+      merged[i] += other.counts[i];
+    }
+
+    return new SimulationResult(merged, this.rounds + other.rounds, this.netTenths + other.netTenths);
+  }
+
+  /**
+    Converts <code>SimulationResult</code> to a one line summary of the counts.
+  */
+  @Override
+  public String toString() {
+    return "Rounds: " + getRounds() + " | Wins: " + getWins() + " | Losses: " + getLosses() +
+           " | Pushes: " + getPushes() + " | Player busts: " + getPlayerBusts() +
+           " | Dealer busts: " + getDealerBusts() + " | Net: " + getNetUnits() + " | EV: " + getExpectedValue();
+  }
+
+  private static long sum(long[] counts) {
+    long total = 0;
+
+    for (long c : counts) {
+      total += c;
+    }
+
+    return total;
+  }
+
+  /**
+    Returns the net result of <code>counts</code> with every win paying 1 and every loss costing 1.
+  */
+  private static long evenMoneyTenths(long[] counts) {
+    long net = 0;
+
+    for (Outcome o : Outcome.values()) {
+      if (o.ordinal() < counts.length) {
+        net += o.isPlayerWin() ? counts[o.ordinal()] : o.isPlayerLoss() ? -counts[o.ordinal()] : 0;
+      }
+    }
+
+    return net * Rules.TENTHS;
+  }
+
+  private static final IllegalArgumentException buildIllegalCountsException(int length) {
+    return new IllegalArgumentException(length + " is not a valid number of counts. There must be one per Outcome.");
+  }
+}
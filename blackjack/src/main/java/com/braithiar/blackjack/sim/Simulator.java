@@ -0,0 +1,15 @@
+package com.braithiar.blackjack.sim;
+
+/**
+  A single-threaded source of simulated rounds. Implementations are not expected to be thread-safe.
+*/
+@FunctionalInterface
+public interface Simulator {
+  /**
+    Plays <code>rounds</code> rounds and returns the aggregate outcome counts.
+
+    @param rounds the number of rounds to play.
+    @return the combined result of every round.
+  */
+  SimulationResult run(long rounds);
+}
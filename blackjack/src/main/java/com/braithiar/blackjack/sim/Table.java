@@ -0,0 +1,568 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Cards;
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import com.braithiar.blackjack.metrics.Metrics;
+
+/**
+  A table of 1 to <code>MAX_SEATS</code> players and a dealer, all dealt from one shared <code>Shoe</code> and played by one set of <code>Rules</code>. Every seat has its own <code>PlayerStrategy</code> and is played and settled against the dealer independently, in seat order, so seat-position effects show up in the per-seat results. Cards are primitive bytes and hands are reused <code>HandTotal</code>s, so a table allocates nothing per round. A table is not thread-safe; run concurrent tables with <code>TableSimulation</code>.
+  <p>
+  Everything the rules decide is worked out when the table is built: the actions offered to a first hand and to a split hand, and the dealer's hit or stay for every score, so a round only looks the answers up.
+*/
+public class Table implements Simulator {
+  /**
+    The most players a table seats.
+  */
+  public static final int MAX_SEATS = 7;
+
+  /**
+    The points of a natural blackjack, counting the ace as 1.
+  */
+  private static final int NATURAL_POINTS = 11;
+
+  /**
+    The strategy of each seat, in seat order.
+  */
+  private final PlayerStrategy[] strategies;
+
+  /**
+    The shoe every round is dealt from.
+  */
+  private final Shoe shoe;
+
+  /**
+    The rules every round is played by.
+  */
+  private final Rules rules;
+
+  /**
+    The actions offered on a seat's first two cards, before any split, except <code>SPLIT</code>.
+  */
+  private final int firstOptions;
+
+  /**
+    The actions offered on the first two cards of a split hand, except <code>SPLIT</code>.
+  */
+  private final int splitOptions;
+
+  /**
+    Where every seat's round is recorded as it is settled, or <code>null</code>.
+  */
+  private final Ledger ledger;
+
+  /**
+    The hand totals of each seat, one per split hand, reset for every round.
+  */
+  private final HandTotal[][] hands;
+
+  /**
+    The first and second card of each split hand, to find pairs.
+  */
+  private final byte[][] firstCards;
+  private final byte[][] secondCards;
+
+  /**
+    The bet in units on each hand of each seat, doubled after doubling down.
+  */
+  private final int[][] bets;
+
+  /**
+    The number of hands each seat played in the last round.
+  */
+  private final int[] handCounts;
+
+  /**
+    The dealer's hand total, reset for every round.
+  */
+  private final HandTotal dealer;
+
+  /**
+    Buffer the opening cards are dealt into, round-major with the dealer in slot 0 as in <code>Deck.deal</code>.
+  */
+  private final byte[] opening;
+
+  /**
+    The outcome of each hand of each seat in the last round.
+  */
+  private final Outcome[][] outcomes;
+
+  /**
+    The net result of each seat in the last round, in <code>Rules.TENTHS</code>.
+  */
+  private final long[] netTenths;
+
+  /**
+    The bet each seat placed before the deal in the last round, kept apart from <code>bets</code>, which doubling changes.
+  */
+  private final int[] openingBets;
+
+  /**
+    The decisions of each seat in the last round, packed as described in <code>HandRecorder</code>.
+  */
+  private final int[] decisions;
+
+  /**
+    The number of decisions packed into <code>decisions</code> for each seat.
+  */
+  private final int[] decisionCounts;
+
+  /**
+    Buffer handed to the recorder with each seat's opening cards and the dealer's.
+  */
+  private final byte[] recordCards;
+
+  /**
+    Receives every seat's round, or <code>null</code>.
+  */
+  private HandRecorder recorder;
+
+  /**
+    Constructs a <code>Table</code> with one seat per strategy, played by <code>Rules.CLASSIC</code>.
+
+    @param seatStrategies the strategy of each seat, in the order the seats play.
+    @param shoe the shoe to deal from. It belongs to this table from now on.
+  */
+  public Table(PlayerStrategy[] seatStrategies, Shoe shoe) {
+    this(seatStrategies, shoe, Rules.CLASSIC);
+  }
+
+  /**
+    Constructs a <code>Table</code> with one seat per strategy.
+
+    @param seatStrategies the strategy of each seat, in the order the seats play.
+    @param shoe the shoe to deal from. It belongs to this table from now on.
+    @param rules the rules every round is played by.
+  */
+  public Table(PlayerStrategy[] seatStrategies, Shoe shoe, Rules rules) {
+    this(seatStrategies, shoe, rules, null);
+  }
+
+  /**
+    Constructs a <code>Table</code> with one seat per strategy that records every seat's round in <code>ledger</code>.
+
+    @param seatStrategies the strategy of each seat, in the order the seats play.
+    @param shoe the shoe to deal from. It belongs to this table from now on.
+    @param rules the rules every round is played by.
+    @param ledger where every seat's round is recorded, or <code>null</code> to record nothing. It may be shared with other tables.
+  */
+  public Table(PlayerStrategy[] seatStrategies, Shoe shoe, Rules rules, Ledger ledger) {
+    if (seatStrategies.length < 1 || seatStrategies.length > MAX_SEATS) {
+      throw buildIllegalNumberOfSeatsException(seatStrategies.length);
+    }
+
+    int seats = seatStrategies.length;
+    int maxHands = rules.getMaxSplitHands();
+
+    this.strategies = seatStrategies.clone();
+    this.shoe = shoe;
+    this.rules = rules;
+    this.firstOptions = Action.ALWAYS | (rules.isDoubleDown() ? Action.DOUBLE.bit() : 0) | (rules.isSurrender() ? Action.SURRENDER.bit() : 0);
+    this.splitOptions = Action.ALWAYS | (rules.isDoubleDown() && rules.isDoubleAfterSplit() ? Action.DOUBLE.bit() : 0);
+    this.ledger = ledger;
+    this.hands = new HandTotal[seats][maxHands];
+    this.firstCards = new byte[seats][maxHands];
+    this.secondCards = new byte[seats][maxHands];
+    this.bets = new int[seats][maxHands];
+    this.handCounts = new int[seats];
+    this.dealer = new HandTotal();
+    this.opening = new byte[(seats + 1) * 2];
+    this.outcomes = new Outcome[seats][maxHands];
+    this.netTenths = new long[seats];
+    this.openingBets = new int[seats];
+    this.decisions = new int[seats];
+    this.decisionCounts = new int[seats];
+    this.recordCards = new byte[4];
+
+    for (HandTotal[] seatHands : this.hands) {
+      for (int h = 0; h < maxHands; ++h) {
+        seatHands[h] = new HandTotal();
+      }
+    }
+  }
+
+  /**
+    Returns the number of players at this table.
+
+    @return the number of seats.
+  */
+  public int getSeats() {
+    return this.hands.length;
+  }
+
+  /**
+    Returns the rules this table plays by.
+
+    @return the table's rules.
+  */
+  public Rules getRules() {
+    return this.rules;
+  }
+
+  /**
+    Sets where every seat's round is recorded as it is settled, such as a hand history log.
+
+    @param recorder the recorder, or <code>null</code> to record nothing.
+  */
+  public void setRecorder(HandRecorder recorder) {
+    this.recorder = recorder;
+  }
+
+  /**
+    Returns the outcome of the first hand of <code>seat</code> in the last round played.
+
+    @param seat the seat, from 0.
+    @return the seat's outcome.
+  */
+  public Outcome getOutcome(int seat) {
+    return this.outcomes[seat][0];
+  }
+
+  /**
+    Returns the outcome of one hand of <code>seat</code> in the last round played.
+
+    @param seat the seat, from 0.
+    @param hand the hand, from 0 to <code>getHands(seat) - 1</code>.
+    @return the hand's outcome.
+  */
+  public Outcome getOutcome(int seat, int hand) {
+    return this.outcomes[seat][hand];
+  }
+
+  /**
+    Returns the number of hands <code>seat</code> played in the last round: 1, or more after splitting.
+
+    @param seat the seat, from 0.
+    @return the seat's number of hands.
+  */
+  public int getHands(int seat) {
+    return this.handCounts[seat];
+  }
+
+  /**
+    Returns the net result of <code>seat</code> in the last round played, in <code>Rules.TENTHS</code> of a bet.
+
+    @param seat the seat, from 0.
+    @return the seat's net result in tenths.
+  */
+  public long getNetTenths(int seat) {
+    return this.netTenths[seat];
+  }
+
+  /**
+    Plays <code>rounds</code> rounds and returns the results of every seat combined, counting one round per seat per round.
+
+    @param rounds the number of rounds to play.
+    @return the combined result of every seat.
+  */
+  @Override
+  public SimulationResult run(long rounds) {
+    SimulationResult[] seats = runSeats(rounds);
+    SimulationResult total = seats[0];
+
+    for (int s = 1; s < seats.length; ++s) {
+      total = total.merge(seats[s]);
+    }
+
+    return total;
+  }
+
+  /**
+    Plays <code>rounds</code> rounds and returns the results of each seat separately.
+
+    @param rounds the number of rounds to play.
+    @return the result of each seat, in seat order.
+  */
+  public SimulationResult[] runSeats(long rounds) {
+    int seats = this.hands.length;
+    long[][] counts = new long[seats][Outcome.values().length];
+    long[] net = new long[seats];
+
+    for (long i = 0; i < rounds; ++i) {
+      playRound();
+
+      for (int s = 0; s < seats; ++s) {
+        for (int h = 0; h < this.handCounts[s]; ++h) {
+          ++counts[s][this.outcomes[s][h].ordinal()];
+        }
+
+        net[s] += this.netTenths[s];
+      }
+    }
+
+    SimulationResult[] results = new SimulationResult[seats];
+
+    for (int s = 0; s < seats; ++s) {
+      results[s] = new SimulationResult(counts[s], rounds, net[s]);
+    }
+
+    return results;
+  }
+
+  /**
+    Plays a single round for every seat, reshuffling first if the cut card has come out. Each seat bets before the cards are dealt. The outcomes are available from <code>getOutcome</code> afterwards.
+  */
+  public void playRound() {
+    int seats = this.hands.length;
+    HandTotal dealer = this.dealer;
+
+    this.shoe.startRound();
+
+    int shoeNumber = this.shoe.getShuffleCount();
+    int roundStart = this.shoe.getRoundStart();
+
+    for (int s = 0; s < seats; ++s) {
+      int bet = this.strategies[s].bet(this.shoe);
+
+      if (bet < 1) {
+        throw buildIllegalBetException(bet);
+      }
+
+      this.bets[s][0] = bet;
+      this.openingBets[s] = bet;
+    }
+
+    this.shoe.dealRound(this.opening, seats + 1, 2);
+
+    byte hole = this.opening[0];
+    byte up = this.opening[seats + 1];
+    PlayingCard.Rank dealerUpCard = Cards.getRank(up);
+    boolean naturals = this.rules.isNaturals();
+    //With naturals, the dealer peeks: a dealer blackjack ends the round before anyone plays
+    boolean dealerNatural = naturals && isNatural(up, hole);
+    boolean anyStanding = false;
+
+    dealer.reset();
+    dealer.add(up);
+
+    //Players' turns, in seat order
+    for (int s = 0; s < seats; ++s) {
+      byte first = this.opening[s + 1];
+      byte second = this.opening[seats + 2 + s];
+      HandTotal hand = this.hands[s][0];
+
+      hand.reset();
+      hand.add(first);
+      hand.add(second);
+      this.firstCards[s][0] = first;
+      this.secondCards[s][0] = second;
+      this.outcomes[s][0] = null;
+      this.handCounts[s] = 1;
+      this.netTenths[s] = 0;
+      this.decisions[s] = 0;
+      this.decisionCounts[s] = 0;
+
+      if (naturals && isNatural(first, second)) {
+        this.outcomes[s][0] = dealerNatural ? Outcome.PUSH : Outcome.BLACKJACK;
+        this.netTenths[s] = this.outcomes[s][0].getNetTenths(this.bets[s][0] * Rules.TENTHS, this.rules);
+      } else if (dealerNatural) {
+        this.outcomes[s][0] = Outcome.DEALER_WIN;
+        this.netTenths[s] = Outcome.DEALER_WIN.getNetTenths(this.bets[s][0] * Rules.TENTHS, this.rules);
+      } else {
+        anyStanding |= playSeat(s, dealerUpCard);
+      }
+    }
+
+    //Dealer's turn, skipped when no hand is left to beat
+    if (anyStanding) {
+      long start = Metrics.ENABLED ? System.nanoTime() : 0;
+
+      dealer.add(hole);
+
+      while (this.rules.dealerHits(dealer)) {
+        dealer.add(this.shoe.draw());
+      }
+
+      if (Metrics.ENABLED) {
+        Metrics.DEALER_TURN_NANOS.record(System.nanoTime() - start);
+      }
+    }
+
+    if (Metrics.ENABLED) {
+      Metrics.CARDS_PER_ROUND.record(this.shoe.getRoundCards());
+    }
+
+    for (int s = 0; s < seats; ++s) {
+      long wageredTenths = 0;
+
+      for (int h = 0; h < this.handCounts[s]; ++h) {
+        long stakeTenths = this.bets[s][h] * Rules.TENTHS;
+
+        wageredTenths += stakeTenths;
+
+        if (this.outcomes[s][h] == null) {
+          Outcome outcome = settle(this.hands[s][h], dealer);
+
+          this.outcomes[s][h] = outcome;
+          this.netTenths[s] += outcome.getNetTenths(stakeTenths, this.rules);
+        }
+      }
+
+      if (this.ledger != null) {
+        this.ledger.record(wageredTenths, this.netTenths[s]);
+      }
+
+      if (this.recorder != null) {
+        this.recordCards[0] = this.opening[s + 1];
+        this.recordCards[1] = this.opening[seats + 2 + s];
+        this.recordCards[2] = up;
+        this.recordCards[3] = hole;
+        this.recorder.record(shoeNumber, roundStart, s, this.openingBets[s], this.recordCards, this.decisions[s], this.outcomes[s][0], this.handCounts[s], this.netTenths[s]);
+      }
+    }
+  }
+
+  /**
+    Plays every hand of <code>seat</code>, splitting into new hands as the strategy asks. A split hand is dealt its second card when its turn comes, and split aces get one card each.
+
+    @return true if any hand is left for the dealer to beat.
+  */
+  private boolean playSeat(int seat, PlayingCard.Rank dealerUpCard) {
+    PlayerStrategy strategy = this.strategies[seat];
+    HandTotal[] seatHands = this.hands[seat];
+    byte[] firsts = this.firstCards[seat];
+    byte[] seconds = this.secondCards[seat];
+    int maxHands = seatHands.length;
+    boolean anyStanding = false;
+
+    for (int h = 0; h < this.handCounts[seat]; ++h) {
+      HandTotal hand = seatHands[h];
+      int cards = 2;
+
+      if (h > 0) {
+        seconds[h] = this.shoe.draw();
+        hand.add(seconds[h]);
+      }
+
+      boolean acting = !(this.handCounts[seat] > 1 && Cards.isAce(firsts[h]));
+
+      while (acting && !hand.isBust()) {
+        int options = Action.ALWAYS;
+
+        if (cards == 2) {
+          options = this.handCounts[seat] == 1 ? this.firstOptions : this.splitOptions;
+
+          if (this.handCounts[seat] < maxHands && isPair(firsts[h], seconds[h])) {
+            options |= Action.SPLIT.bit();
+          }
+        }
+
+        long start = Metrics.ENABLED ? System.nanoTime() : 0;
+        Action action = strategy.decide(hand, dealerUpCard, this.shoe, options);
+
+        if (Metrics.ENABLED) {
+          Metrics.DECISION_NANOS.record(System.nanoTime() - start);
+        }
+
+        if (!action.isAllowed(options)) {
+          throw buildIllegalActionException(action);
+        }
+
+        packDecision(seat, action);
+
+        switch (action) {
+          case HIT:
+            hand.add(this.shoe.draw());
+            ++cards;
+            break;
+          case STAND:
+            acting = false;
+            break;
+          case DOUBLE:
+            this.bets[seat][h] *= 2;
+            hand.add(this.shoe.draw());
+            acting = false;
+            break;
+          case SPLIT:
+            int split = this.handCounts[seat]++;
+
+            firsts[split] = seconds[h];
+            this.bets[seat][split] = this.bets[seat][h];
+            this.outcomes[seat][split] = null;
+            seatHands[split].reset();
+            seatHands[split].add(firsts[split]);
+            seconds[h] = this.shoe.draw();
+            hand.reset();
+            hand.add(firsts[h]);
+            hand.add(seconds[h]);
+            acting = !Cards.isAce(firsts[h]);
+            break;
+          case SURRENDER:
+            this.outcomes[seat][h] = Outcome.SURRENDER;
+            this.netTenths[seat] += Outcome.SURRENDER.getNetTenths(this.bets[seat][h] * Rules.TENTHS, this.rules);
+            acting = false;
+            break;
+        }
+      }
+
+      anyStanding |= !hand.isBust() && this.outcomes[seat][h] == null;
+    }
+
+    return anyStanding;
+  }
+
+  /**
+    Appends <code>action</code> to the packed decisions of <code>seat</code>.
+  */
+  private void packDecision(int seat, Action action) {
+    int count = this.decisionCounts[seat];
+
+    if (count < HandRecorder.MAX_DECISIONS) {
+      this.decisions[seat] |= (action.ordinal() + 1) << (count * HandRecorder.DECISION_BITS);
+      this.decisionCounts[seat] = count + 1;
+    } else {
+      this.decisions[seat] |= HandRecorder.DECISIONS_TRUNCATED;
+    }
+  }
+
+  /**
+    Determines the outcome of one hand in the same order as <code>Blackjack.settleGame</code>.
+  */
+  private static Outcome settle(HandTotal hand, HandTotal dealer) {
+    if (hand.isBust()) {
+      return Outcome.PLAYER_BUST;
+    } else if (dealer.isBust()) {
+      return Outcome.DEALER_BUST;
+    }
+
+    int score = hand.getScore();
+    int dealerScore = dealer.getScore();
+
+    if (dealerScore > score) {
+      return Outcome.DEALER_WIN;
+    } else if (dealerScore < score) {
+      return Outcome.PLAYER_WIN;
+    } else {
+      return Outcome.PUSH;
+    }
+  }
+
+  /**
+    Returns true if the two cards are an ace and a ten-point card.
+  */
+  private static boolean isNatural(byte a, byte b) {
+    return (Cards.isAce(a) || Cards.isAce(b)) &&
+           PlayingCard.Rank.getPoints(Cards.rankOrdinal(a)) + PlayingCard.Rank.getPoints(Cards.rankOrdinal(b)) == NATURAL_POINTS;
+  }
+
+  /**
+    Returns true if the two cards can be split, i.e. are worth the same points.
+  */
+  private static boolean isPair(byte a, byte b) {
+    return PlayingCard.Rank.getPoints(Cards.rankOrdinal(a)) == PlayingCard.Rank.getPoints(Cards.rankOrdinal(b));
+  }
+
+  private static final IllegalArgumentException buildIllegalNumberOfSeatsException(int num) {
+    return new IllegalArgumentException(num + " is not a valid number of seats. It must be from 1 to " + MAX_SEATS + ".");
+  }
+
+  private static final IllegalStateException buildIllegalBetException(int bet) {
+    return new IllegalStateException(bet + " is not a valid bet. The strategy must bet at least 1 unit.");
+  }
+
+  private static final IllegalStateException buildIllegalActionException(Action action) {
+    return new IllegalStateException(action + " is not a valid action. The strategy must choose one of the actions it was offered.");
+  }
+}
@@ -0,0 +1,249 @@
+package com.braithiar.blackjack.sim;
+
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.random.RandomGenerator;
+
+/**
+  Runs many independent <code>Table</code>s concurrently and reports results per seat. Each chunk of a <code>ParallelSimulation</code> builds its own table and shoe around the chunk's generator, so the run is reproducible from the master seed and tables never share state.
+*/
+public class TableSimulation {
+  /**
+    The number of tables <code>runUntil</code> plays between checks of the statistics. It is fixed, not tied to the pool's size, so where a run stops depends only on the seed.
+  */
+  public static final int TABLES_PER_CHECK = 16;
+
+  /**
+    The strategy of each seat, in seat order.
+  */
+  private final PlayerStrategy[] strategies;
+
+  /**
+    Creates each table's shoe from its chunk's generator.
+  */
+  private final Function<RandomGenerator, Shoe> shoes;
+
+  /**
+    The rules every table plays by.
+  */
+  private final Rules rules;
+
+  /**
+    Where every table records its rounds, readable while the run is going.
+  */
+  private final Ledger ledger;
+
+  /**
+    Every seat's statistics from <code>runUntil</code>, in seat order.
+  */
+  private final DecisionStatistics[] statistics;
+
+  /**
+    The seed every table's generator is split from.
+  */
+  private final long masterSeed;
+
+  /**
+    The pool the tables run on.
+  */
+  private final ForkJoinPool pool;
+
+  /**
+    The number of rounds each table plays.
+  */
+  private final int roundsPerTable;
+
+  /**
+    Constructs a <code>TableSimulation</code> on the common pool, playing <code>ParallelSimulation.DEFAULT_CHUNK_ROUNDS</code> rounds per table.
+
+    @param seatStrategies the strategy of each seat, in the order the seats play.
+    @param shoes creates a table's shoe from its generator, e.g. <code>rng -&gt; new Shoe(6, 0.75, rng)</code>.
+    @param masterSeed the seed that determines every shuffle of the run.
+  */
+  public TableSimulation(PlayerStrategy[] seatStrategies, Function<RandomGenerator, Shoe> shoes, long masterSeed) {
+    this(seatStrategies, shoes, Rules.CLASSIC, masterSeed, ForkJoinPool.commonPool(), ParallelSimulation.DEFAULT_CHUNK_ROUNDS);
+  }
+
+  /**
+    Constructs a <code>TableSimulation</code> on the common pool whose tables play by <code>rules</code>, playing <code>ParallelSimulation.DEFAULT_CHUNK_ROUNDS</code> rounds per table.
+
+    @param seatStrategies the strategy of each seat, in the order the seats play.
+    @param shoes creates a table's shoe from its generator.
+    @param rules the rules every table plays by.
+    @param masterSeed the seed that determines every shuffle of the run.
+  */
+  public TableSimulation(PlayerStrategy[] seatStrategies, Function<RandomGenerator, Shoe> shoes, Rules rules, long masterSeed) {
+    this(seatStrategies, shoes, rules, masterSeed, ForkJoinPool.commonPool(), ParallelSimulation.DEFAULT_CHUNK_ROUNDS);
+  }
+
+  /**
+    Constructs a <code>TableSimulation</code>.
+
+    @param seatStrategies the strategy of each seat, in the order the seats play.
+    @param shoes creates a table's shoe from its generator.
+    @param rules the rules every table plays by.
+    @param masterSeed the seed that determines every shuffle of the run.
+    @param pool the pool to run the tables on.
+    @param roundsPerTable the number of rounds each table plays before it is retired.
+  */
+  public TableSimulation(PlayerStrategy[] seatStrategies, Function<RandomGenerator, Shoe> shoes, Rules rules, long masterSeed, ForkJoinPool pool, int roundsPerTable) {
+    if (seatStrategies.length < 1 || seatStrategies.length > Table.MAX_SEATS) {
+      throw buildIllegalNumberOfSeatsException(seatStrategies.length);
+    }
+
+    this.strategies = seatStrategies.clone();
+    this.shoes = shoes;
+    this.rules = rules;
+    this.ledger = new Ledger();
+    this.statistics = new DecisionStatistics[seatStrategies.length];
+    this.masterSeed = masterSeed;
+    this.pool = pool;
+    this.roundsPerTable = roundsPerTable;
+
+    for (int s = 0; s < this.statistics.length; ++s) {
+      this.statistics[s] = new DecisionStatistics();
+    }
+  }
+
+  /**
+    Plays <code>rounds</code> rounds spread over as many tables as needed and returns the combined result of each seat.
+
+    @param rounds the total number of rounds to play.
+    @return the result of each seat, in seat order.
+  */
+  public SimulationResult[] run(long rounds) {
+    ResultAccumulator[] seats = newAccumulators();
+
+    new ParallelSimulation(this.tables(seats, false), this.masterSeed, this.pool, this.roundsPerTable).run(rounds);
+
+    return toResults(seats);
+  }
+
+  /**
+    Plays rounds <code>TABLES_PER_CHECK</code> tables at a time, streaming every seat's rounds into its <code>DecisionStatistics</code>, until <code>settled</code> accepts the statistics or <code>maxRounds</code> rounds have been played. A question whose answer is clear early stops early, instead of playing out a fixed number of rounds. The tables are dealt the same as the first tables of <code>run</code>, so for the same seed each check sees the same rounds however many threads play them.
+
+    @param settled given every seat's statistics so far, in seat order, returns true once they are precise enough.
+    @param maxRounds the most rounds to play.
+    @return the combined result of each seat, in seat order.
+  */
+  public SimulationResult[] runUntil(Predicate<DecisionStatistics[]> settled, long maxRounds) {
+    ResultAccumulator[] seats = newAccumulators();
+    ParallelSimulation tables = new ParallelSimulation(this.tables(seats, true), this.masterSeed, this.pool, this.roundsPerTable);
+    SplittableRandom master = new SplittableRandom(this.masterSeed);
+    long perCheck = (long) TABLES_PER_CHECK * this.roundsPerTable;
+
+    for (long played = 0; played < maxRounds && !settled.test(this.statistics.clone()); ) {
+      long rounds = Math.min(perCheck, maxRounds - played);
+
+      tables.run(master, rounds);
+      played += rounds;
+    }
+
+    return toResults(seats);
+  }
+
+  /**
+    Plays until the mean result of every seat is known to within <code>halfWidth</code> units per round at the confidence of <code>z</code>, or <code>maxRounds</code> rounds have been played.
+
+    @param halfWidth the largest acceptable half-width of each seat's confidence interval, in units per round.
+    @param z the standard normal quantile of the confidence level, such as <code>RunningStats.Z_95</code>.
+    @param maxRounds the most rounds to play.
+    @return the combined result of each seat, in seat order.
+  */
+  public SimulationResult[] runUntil(double halfWidth, double z, long maxRounds) {
+    return this.runUntil(stats -> {
+      for (DecisionStatistics s : stats) {
+        if (!s.getOverall().isPrecise(halfWidth, z)) {
+          return false;
+        }
+      }
+
+      return true;
+    }, maxRounds);
+  }
+
+  /**
+    Returns the statistics <code>runUntil</code> has gathered for <code>seat</code>. They keep adding up across runs and are not updated by <code>run</code>.
+
+    @param seat the seat, from 0.
+    @return the seat's statistics. They are live, not a copy, so do not read them while a run is going.
+  */
+  public DecisionStatistics getStatistics(int seat) {
+    return this.statistics[seat];
+  }
+
+  /**
+    Returns the ledger every table records its rounds in. It can be read from another thread while <code>run</code> is going for a live house edge and variance, and it keeps adding up across runs until it is reset.
+
+    @return the simulation's ledger.
+  */
+  public Ledger getLedger() {
+    return this.ledger;
+  }
+
+  /**
+    Returns the factory of each chunk's table, which adds the table's per-seat results to <code>seats</code> and, if asked to, its per-seat statistics to this simulation's.
+  */
+  private Function<RandomGenerator, Simulator> tables(ResultAccumulator[] seats, boolean withStatistics) {
+    return rng -> {
+      Table table = new Table(this.strategies, this.shoes.apply(rng), this.rules, this.ledger);
+      DecisionStatistics[] local = new DecisionStatistics[seats.length];
+
+      if (withStatistics) {
+        for (int s = 0; s < local.length; ++s) {
+          local[s] = new DecisionStatistics();
+        }
+
+        table.setRecorder((shoe, cursor, seat, bet, cards, decisions, outcome, hands, netTenths) ->
+          local[seat].record(shoe, cursor, seat, bet, cards, decisions, outcome, hands, netTenths));
+      }
+
+      return tableRounds -> {
+        SimulationResult[] results = table.runSeats(tableRounds);
+
+        for (int s = 0; s < results.length; ++s) {
+          seats[s].add(results[s]);
+        }
+
+        if (withStatistics) {
+          synchronized (this.statistics) {
+            for (int s = 0; s < local.length; ++s) {
+              this.statistics[s].merge(local[s]);
+            }
+          }
+        }
+
+        //The per-seat accumulators hold the real totals; ParallelSimulation's own merge is not used.
+        return results[0];
+      };
+    };
+  }
+
+  private ResultAccumulator[] newAccumulators() {
+    ResultAccumulator[] seats = new ResultAccumulator[this.strategies.length];
+
+    for (int s = 0; s < seats.length; ++s) {
+      seats[s] = new ResultAccumulator();
+    }
+
+    return seats;
+  }
+
+  private static SimulationResult[] toResults(ResultAccumulator[] seats) {
+    SimulationResult[] results = new SimulationResult[seats.length];
+
+    for (int s = 0; s < seats.length; ++s) {
+      results[s] = seats[s].toResult();
+    }
+
+    return results;
+  }
+
+  private static final IllegalArgumentException buildIllegalNumberOfSeatsException(int num) {
+    return new IllegalArgumentException(num + " is not a valid number of seats. It must be from 1 to " + Table.MAX_SEATS + ".");
+  }
+}
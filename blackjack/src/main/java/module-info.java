@@ -0,0 +1,19 @@
+/**
+ * 
+ */
+/**
+ * @author justi
+ *
+ */
+module BJ
+{
+  requires java.management;
+
+  exports com.braithiar.blackjack;
+  exports com.braithiar.blackjack.analysis;
+  exports com.braithiar.blackjack.history;
+  exports com.braithiar.blackjack.metrics;
+  exports com.braithiar.blackjack.random;
+  exports com.braithiar.blackjack.server;
+  exports com.braithiar.blackjack.sim;
+}
\ No newline at end of file
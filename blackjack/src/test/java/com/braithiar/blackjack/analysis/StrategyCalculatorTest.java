@@ -0,0 +1,110 @@
+package com.braithiar.blackjack.analysis;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.braithiar.blackjack.HandTotal;
+import com.braithiar.blackjack.PlayingCard;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+/**
+  Checks the calculator's dealer distributions and decisions against published single-deck figures and the bundled basic strategy chart.
+*/
+class StrategyCalculatorTest {
+  private static final PlayingCard.Rank[] RANKS = PlayingCard.Rank.values();
+
+  /**
+    The dealer's chance of busting by up card points, Ace through 10, from a single deck with the dealer standing on soft 17 and not peeking for blackjack.
+  */
+  private static final double[] SINGLE_DECK_BUST = {
+    0.1165, 0.3530, 0.3756, 0.4028, 0.4289, 0.4208, 0.2599, 0.2386, 0.2334, 0.2143
+  };
+
+  private final StrategyCalculator calculator = new StrategyCalculator();
+
+  @Test
+  void dealerDistributionsSumToOne() {
+    for (int decks : new int[] {1, 6, 8}) {
+      for (PlayingCard.Rank up : RANKS) {
+        double[] dist = this.calculator.dealerDistribution(withoutUpCard(decks, up), up);
+        double sum = 0.0;
+
+        for (int score = 0; score < StrategyCalculator.DEALER_STAND_SCORE; ++score) {
+          assertEquals(0.0, dist[score], up + " with " + decks + " decks");
+        }
+
+        for (double p : dist) {
+          assertTrue(p >= 0.0);
+          sum += p;
+        }
+
+        assertEquals(1.0, sum, 1e-12, up + " with " + decks + " decks");
+      }
+    }
+  }
+
+  @Test
+  void singleDeckBustProbabilities() {
+    for (PlayingCard.Rank up : RANKS) {
+      double[] dist = this.calculator.dealerDistribution(withoutUpCard(1, up), up);
+
+      assertEquals(SINGLE_DECK_BUST[up.getPoints() - 1], dist[StrategyCalculator.BUST], 5e-5, up.toString());
+    }
+  }
+
+  @Test
+  void singleDeckHardSixteenAgainstTen() {
+    PlayingCard.Rank ten = PlayingCard.Rank.TEN;
+    StrategyTable table = this.calculator.analyze(decks(1));
+    double stand = table.getStandValue(16, false, ten);
+    double hit = table.getHitValue(16, false, ten);
+
+    //Standing on 16 wins only when the dealer busts.
+    assertEquals(2 * SINGLE_DECK_BUST[9] - 1, stand, 1e-4);
+    assertEquals(-0.5715, stand, 1e-4);
+    assertEquals(-0.5590, hit, 1e-4);
+    assertTrue(table.shouldHit(16, ten));
+  }
+
+  @Test
+  void agreesWithBasicStrategy() {
+    StrategyTable table = this.calculator.analyze(decks(6));
+    StrategyChart chart = StrategyChart.basic();
+
+    for (int total = StrategyTable.MIN_HARD; total <= HandTotal.MAX_SCORE; ++total) {
+      for (PlayingCard.Rank up : RANKS) {
+        assertEquals(hits(chart.getPlay(total, false, up)), table.getHitValue(total, false, up) > table.getStandValue(total, false, up), "hard " + total + " against " + up);
+      }
+    }
+
+    for (int total = StrategyTable.MIN_SOFT; total <= HandTotal.MAX_SCORE; ++total) {
+      for (PlayingCard.Rank up : RANKS) {
+        assertEquals(hits(chart.getPlay(total, true, up)), table.getHitValue(total, true, up) > table.getStandValue(total, true, up), "soft " + total + " against " + up);
+      }
+    }
+  }
+
+  /**
+    Returns true if <code>play</code> hits when neither doubling nor surrender is allowed.
+  */
+  private static boolean hits(StrategyChart.Play play) {
+    return play == StrategyChart.Play.H || play == StrategyChart.Play.D || play == StrategyChart.Play.RH;
+  }
+
+  private static int[] decks(int decks) {
+    int[] counts = new int[RANKS.length];
+
+    Arrays.fill(counts, 4 * decks);
+
+    return counts;
+  }
+
+  private static int[] withoutUpCard(int decks, PlayingCard.Rank up) {
+    int[] counts = decks(decks);
+
+    --counts[up.ordinal()];
+
+    return counts;
+  }
+}
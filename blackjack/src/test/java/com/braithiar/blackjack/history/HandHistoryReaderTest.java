@@ -0,0 +1,166 @@
+package com.braithiar.blackjack.history;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import com.braithiar.blackjack.analysis.StrategyChart;
+import com.braithiar.blackjack.random.RandomAlgorithm;
+import com.braithiar.blackjack.sim.HandRecorder;
+import com.braithiar.blackjack.sim.Outcome;
+import com.braithiar.blackjack.sim.PlayerStrategy;
+import com.braithiar.blackjack.sim.Table;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+  Records seeded rounds at a <code>Table</code> and checks that a <code>HandHistoryReader</code> reads back exactly what was recorded.
+*/
+class HandHistoryReaderTest {
+  static final int SEATS = 3;
+  private static final int ROUNDS = 500;
+
+  /**
+    Small enough that the rounds cross many windows, and not a multiple of the seats so that rounds straddle them.
+  */
+  private static final int BATCH_RECORDS = 64;
+
+  @TempDir
+  Path dir;
+
+  @Test
+  void readsBackEveryRecordFieldByField() throws IOException {
+    Path path = this.dir.resolve("hands.log");
+    Shoe shoe = newShoe();
+    List<HandRecord> recorded;
+
+    try (HandHistoryWriter writer = new HandHistoryWriter(path, new HandHistoryHeader(Rules.STANDARD, shoe), BATCH_RECORDS)) {
+      recorded = record(shoe, writer, ROUNDS);
+    }
+
+    try (HandHistoryReader reader = new HandHistoryReader(path, BATCH_RECORDS - 1)) {
+      HandHistoryHeader header = reader.getHeader();
+
+      assertEquals(Rules.STANDARD, header.getRules());
+      assertEquals(shoe.getNumDecks(), header.getNumDecks());
+      assertEquals(shoe.getCutCard(), header.getCutCard());
+      assertEquals(shoe.getShuffleMode(), header.getShuffleMode());
+      assertEquals(RandomAlgorithm.XOSHIRO, header.getRandomAlgorithm());
+      assertEquals(shoe.getSeed(), header.getSeed());
+      assertEquals(recorded.size(), reader.getRecords());
+
+      assertReadsBack(recorded, reader);
+    }
+  }
+
+  @Test
+  void stopsAtTheBlanksAnUnclosedWriterLeaves() throws IOException {
+    Path path = this.dir.resolve("unclosed.log");
+    Shoe shoe = newShoe();
+
+    try (HandHistoryWriter writer = new HandHistoryWriter(path, new HandHistoryHeader(Rules.STANDARD, shoe), BATCH_RECORDS)) {
+      List<HandRecord> recorded = record(shoe, writer, ROUNDS);
+
+      writer.flush();
+
+      //The writer is still open, so the file runs on to the end of its last window.
+      assertTrue(Files.size(path) > HandHistoryHeader.BYTES + (long) recorded.size() * HandRecord.BYTES);
+
+      try (HandHistoryReader reader = new HandHistoryReader(path, BATCH_RECORDS)) {
+        assertEquals(recorded.size(), reader.getRecords());
+        assertReadsBack(recorded, reader);
+      }
+    }
+  }
+
+  @Test
+  void seeksToARecord() throws IOException {
+    Path path = this.dir.resolve("seek.log");
+    Shoe shoe = newShoe();
+    List<HandRecord> recorded;
+
+    try (HandHistoryWriter writer = new HandHistoryWriter(path, new HandHistoryHeader(Rules.STANDARD, shoe), BATCH_RECORDS)) {
+      recorded = record(shoe, writer, ROUNDS);
+    }
+
+    try (HandHistoryReader reader = new HandHistoryReader(path, BATCH_RECORDS)) {
+      HandRecord record = new HandRecord();
+      int index = recorded.size() - BATCH_RECORDS - 1;
+
+      reader.seek(index);
+      assertTrue(reader.next(record));
+      assertSameRecord(recorded.get(index), record);
+      assertEquals(index + 1, reader.getPosition());
+    }
+  }
+
+  static Shoe newShoe() {
+    return new Shoe(6, 0.75, RandomAlgorithm.XOSHIRO, 7L);
+  }
+
+  /**
+    Plays <code>rounds</code> rounds of basic strategy on <code>shoe</code>, recording them to <code>writer</code>.
+
+    @return a copy of every record, in the order written.
+  */
+  static List<HandRecord> record(Shoe shoe, HandHistoryWriter writer, int rounds) {
+    List<HandRecord> recorded = new ArrayList<>();
+    PlayerStrategy basic = StrategyChart.basic().compile(Rules.STANDARD);
+    PlayerStrategy[] strategies = new PlayerStrategy[SEATS];
+
+    for (int s = 0; s < SEATS; ++s) {
+      strategies[s] = basic;
+    }
+
+    Table table = new Table(strategies, shoe, Rules.STANDARD);
+
+    table.setRecorder(new HandRecorder() {
+      @Override
+      public void record(int shoe, int cursor, int seat, int bet, byte[] cards, int decisions, Outcome outcome, int hands, long netTenths) {
+        HandRecord copy = new HandRecord();
+
+        copy.set(shoe, cursor, seat, bet, cards, decisions, outcome, hands, netTenths);
+        recorded.add(copy);
+        writer.record(shoe, cursor, seat, bet, cards, decisions, outcome, hands, netTenths);
+      }
+    });
+    table.run(rounds);
+
+    assertEquals(recorded.size(), writer.getRecords());
+
+    return recorded;
+  }
+
+  private static void assertReadsBack(List<HandRecord> recorded, HandHistoryReader reader) throws IOException {
+    HandRecord record = new HandRecord();
+
+    for (HandRecord expected : recorded) {
+      assertTrue(reader.next(record));
+      assertSameRecord(expected, record);
+    }
+
+    assertFalse(reader.next(record));
+  }
+
+  private static void assertSameRecord(HandRecord expected, HandRecord actual) {
+    assertEquals(expected.getShoe(), actual.getShoe());
+    assertEquals(expected.getCursor(), actual.getCursor());
+    assertEquals(expected.getSeat(), actual.getSeat());
+    assertEquals(expected.getBet(), actual.getBet());
+    assertArrayEquals(
+      new byte[] {expected.getCard(0), expected.getCard(1), expected.getCard(2), expected.getCard(3)},
+      new byte[] {actual.getCard(0), actual.getCard(1), actual.getCard(2), actual.getCard(3)});
+    assertEquals(expected.getDecisions(), actual.getDecisions());
+    assertEquals(expected.getOutcome(), actual.getOutcome());
+    assertEquals(expected.getHands(), actual.getHands());
+    assertEquals(expected.getNetTenths(), actual.getNetTenths());
+  }
+}
@@ -0,0 +1,97 @@
+package com.braithiar.blackjack.history;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.braithiar.blackjack.Rules;
+import com.braithiar.blackjack.Shoe;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+/**
+  Replays a seeded log of basic strategy rounds and checks that it verifies, however it is cut into chunks, and that it does not under other rules.
+*/
+class HandHistoryReplayerTest {
+  /**
+    Enough rounds for some seats to run past the decisions a record holds.
+  */
+  private static final int ROUNDS = 3000;
+
+  @TempDir
+  static Path dir;
+
+  private static Path path;
+  private static List<HandRecord> recorded;
+  private static ForkJoinPool pool;
+
+  @BeforeAll
+  static void recordLog() throws IOException {
+    Shoe shoe = HandHistoryReaderTest.newShoe();
+
+    path = dir.resolve("hands.log");
+
+    try (HandHistoryWriter writer = new HandHistoryWriter(path, new HandHistoryHeader(Rules.STANDARD, shoe))) {
+      recorded = HandHistoryReaderTest.record(shoe, writer, ROUNDS);
+    }
+
+    pool = new ForkJoinPool(4);
+  }
+
+  @AfterAll
+  static void shutDownPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  void verifiesInSmallChunks() throws IOException {
+    //Chunks of 7 records cut through rounds and shoes alike.
+    assertVerifies(new HandHistoryReplayer(path, Rules.STANDARD, pool, 7).verify());
+  }
+
+  @Test
+  void verifiesInOneChunk() throws IOException {
+    assertVerifies(new HandHistoryReplayer(path, Rules.STANDARD, pool, HandHistoryReplayer.DEFAULT_CHUNK_RECORDS).verify());
+  }
+
+  @Test
+  void verifiesByTheRecordedRules() throws IOException {
+    assertVerifies(new HandHistoryReplayer(path).verify());
+  }
+
+  @Test
+  void reportsMismatchesUnderOtherRules() throws IOException {
+    ReplayReport report = new HandHistoryReplayer(path, Rules.STANDARD.withDealerHitsSoftStand(true), pool, 1000).verify();
+
+    assertFalse(report.isVerified());
+    assertTrue(report.getMismatched() > 0);
+    assertFalse(report.getMismatches().isEmpty());
+  }
+
+  /**
+    Checks that every record matched, apart from the rounds where a seat's decisions were truncated.
+  */
+  private static void assertVerifies(ReplayReport report) {
+    Set<Long> truncated = new HashSet<>();
+
+    for (HandRecord record : recorded) {
+      if (record.isDecisionsTruncated()) {
+        truncated.add(((long) record.getShoe() << 32) | record.getCursor());
+      }
+    }
+
+    assertFalse(truncated.isEmpty());
+    assertEquals(0, report.getMismatched(), () -> report.getMismatches().toString());
+    assertEquals(recorded.size(), report.getRecords());
+    assertEquals((long) truncated.size() * HandHistoryReaderTest.SEATS, report.getSkipped());
+    assertTrue(report.isVerified());
+  }
+}
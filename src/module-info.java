@@ -1,10 +0,0 @@
-/**
- * 
- */
-/**
- * @author justi
- *
- */
-module BJ
-{
-}
\ No newline at end of file